@@ -0,0 +1,77 @@
+package online.strongnation.business.cache;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import online.strongnation.business.model.entity.CategoryUnitsConverter;
+import online.strongnation.business.model.event.StatisticReplacedEvent;
+import online.strongnation.business.model.statistic.CategoryDictionary;
+import online.strongnation.business.model.statistic.CategoryKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+//CategoryDictionary keeps an id of every category it was asked for, and names come from requests.
+//It is cut down to the stored categories when statistics are replaced and when it reaches max-size,
+//in the second case after the transaction that filled it, so the query doesn't flush or join it
+@Component
+public class CategoryDictionaryRefresher {
+
+    private static final String STORED_CATEGORIES = "SELECT name, units FROM post_category_amount" +
+            " UNION SELECT name, units FROM region_category_amount" +
+            " UNION SELECT name, units FROM country_category_amount" +
+            " UNION SELECT name, COALESCE(units, '') FROM statistic_rollup";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    private final TransactionTemplate readTransaction;
+    private final CategoryUnitsConverter units = new CategoryUnitsConverter();
+
+    public CategoryDictionaryRefresher(PlatformTransactionManager transactionManager,
+                                       @Value("${statistic.category-dictionary.max-size:10000}") int maxSize) {
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        limit(maxSize);
+    }
+
+    public void limit(int maxSize) {
+        CategoryDictionary.limit(maxSize, this::refreshAfterCompletion);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatisticReplaced(StatisticReplacedEvent event) {
+        refresh();
+    }
+
+    //returns the number of categories left in the dictionary
+    public int refresh() {
+        List<CategoryKey> stored = readTransaction.execute(status -> {
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = entityManager.createNativeQuery(STORED_CATEGORIES).getResultList();
+            return rows.stream()
+                    .map(row -> new CategoryKey((String) row[0], units.convertToEntityAttribute((String) row[1])))
+                    .toList();
+        });
+        return CategoryDictionary.retain(stored);
+    }
+
+    private void refreshAfterCompletion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                refresh();
+            }
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package online.strongnation.business.cache;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import online.strongnation.business.config.NameProperties;
+import online.strongnation.business.model.dto.CacheMetrics;
+import online.strongnation.business.model.dto.CountryDTO;
+import online.strongnation.business.model.dto.RegionDTO;
+import online.strongnation.business.model.event.CountryChangedEvent;
+import online.strongnation.business.model.event.CountryStatisticChangedEvent;
+import online.strongnation.business.model.event.StatisticReplacedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//read-through cache of country and region DTOs for the public endpoints, entries are dropped after commit of a change
+@Component
+@Getter
+public class DtoCache {
+
+    private final LruTtlCache<String, CountryDTO> countryByName;
+    private final LruTtlCache<String, List<CountryDTO>> allCountries;
+    private final LruTtlCache<String, RegionDTO> regionByNames;
+    private final LruTtlCache<Long, RegionDTO> regionById;
+    private final LruTtlCache<String, List<RegionDTO>> regionsOfCountry;
+    @Getter(AccessLevel.NONE)
+    private final List<LruTtlCache<?, ?>> caches;
+
+    public DtoCache(@Value("${cache.dto.max-size:1000}") int maxSize,
+                    @Value("${cache.dto.ttl-seconds:60}") long ttlSeconds) {
+        countryByName = new LruTtlCache<>("countryByName", maxSize, ttlSeconds, TimeUnit.SECONDS);
+        allCountries = new LruTtlCache<>("allCountries", 1, ttlSeconds, TimeUnit.SECONDS);
+        regionByNames = new LruTtlCache<>("regionByNames", maxSize, ttlSeconds, TimeUnit.SECONDS);
+        regionById = new LruTtlCache<>("regionById", maxSize, ttlSeconds, TimeUnit.SECONDS);
+        regionsOfCountry = new LruTtlCache<>("regionsOfCountry", maxSize, ttlSeconds, TimeUnit.SECONDS);
+        caches = List.of(countryByName, allCountries, regionByNames, regionById, regionsOfCountry);
+    }
+
+    public static String key(String... names) {//names are compared ignoring case
+        return NameProperties.toLookupName(String.join("\n", names));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountryChanged(CountryChangedEvent event) {
+        if (event.countryId() == null) {
+            caches.forEach(LruTtlCache::invalidateAll);
+        } else {
+            caches.forEach(cache -> cache.invalidate(event.countryId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountryStatisticChanged(CountryStatisticChangedEvent event) {
+        caches.forEach(cache -> cache.invalidate(event.countryId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatisticReplaced(StatisticReplacedEvent event) {
+        caches.forEach(LruTtlCache::invalidateAll);
+    }
+
+    public List<CacheMetrics> metrics() {
+        return caches.stream().map(cache -> {
+            final long hits = cache.hits();
+            final long requests = hits + cache.misses();
+            return CacheMetrics.builder()
+                    .name(cache.name())
+                    .size(cache.size())
+                    .hits(hits)
+                    .misses(cache.misses())
+                    .invalidations(cache.invalidations())
+                    .hitRate(requests == 0 ? 0 : (double) hits / requests)
+                    .build();
+        }).toList();
+    }
+}
@@ -0,0 +1,100 @@
+package online.strongnation.business.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+//bounded map in access order with a time to live. Every entry has a tag (id of the country it depends on),
+//entries with the null tag depend on all countries. A load that overlaps an invalidation is not stored
+public final class LruTtlCache<K, V> {
+
+    public record Tagged<V>(Long tag, V value) {
+    }
+
+    private record Entry<V>(Long tag, V value, long expiresAt) {
+    }
+
+    private final String name;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;//guarded by this
+    private long generation;//guarded by this, changed by every invalidation
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public LruTtlCache(String name, int maxSize, long ttl, TimeUnit unit) {
+        this(name, maxSize, ttl, unit, System::nanoTime);
+    }
+
+    public LruTtlCache(String name, int maxSize, long ttl, TimeUnit unit, LongSupplier clock) {
+        this.name = name;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public V get(K key, Supplier<Tagged<V>> loader) {
+        final long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt - clock.getAsLong() > 0) {
+                    hits.increment();
+                    return entry.value;
+                }
+                entries.remove(key);
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        Tagged<V> loaded = loader.get();
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.put(key, new Entry<>(loaded.tag(), loaded.value(), clock.getAsLong() + ttlNanos));
+            }
+        }
+        return loaded.value();
+    }
+
+    public synchronized void invalidate(Long tag) {//entries of the country and entries of all countries
+        generation++;
+        invalidations.increment();
+        entries.values().removeIf(entry -> entry.tag == null || Objects.equals(entry.tag, tag));
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations.increment();
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long invalidations() {
+        return invalidations.sum();
+    }
+}
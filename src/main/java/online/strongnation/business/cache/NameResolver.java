@@ -0,0 +1,193 @@
+package online.strongnation.business.cache;
+
+import online.strongnation.business.model.LocationName;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.repository.RegionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static online.strongnation.business.config.NameProperties.toLookupName;
+
+//Lookup names of countries and regions mapped to their ids, so name based calls fetch by primary keys.
+//All names are loaded when the application is ready, a name that is not known yet is read from the database
+//and kept after the commit of the reading transaction, names that are not found are not kept.
+//Removed and renamed countries and regions are evicted, so a name is not resolved to an id of another entity
+@Component
+public class NameResolver {
+
+    private record Country(Long id, Map<String, Long> regions) {
+    }
+
+    private record RegionName(String country, String region) {
+    }
+
+    private final CountryRepository countryRepository;
+    private final RegionRepository regionRepository;
+    private final TransactionTemplate readTransaction;
+
+    private final Object lock = new Object();//orders changes, resolving reads the maps without it
+    private final Map<String, Country> countries = new ConcurrentHashMap<>();
+    private final Map<Long, String> countryNames = new ConcurrentHashMap<>();
+    private final Map<Long, RegionName> regionNames = new ConcurrentHashMap<>();
+
+    public NameResolver(CountryRepository countryRepository,
+                        RegionRepository regionRepository,
+                        PlatformTransactionManager transactionManager) {
+        this.countryRepository = countryRepository;
+        this.regionRepository = regionRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public Optional<Long> countryId(String name) {
+        final String lookupName = toLookupName(name);
+        Country country = countries.get(lookupName);
+        if (country != null) {
+            return Optional.of(country.id);
+        }
+        Optional<Long> id = countryRepository.getIdByLookupName(lookupName);
+        id.ifPresent(found -> afterCommit(() -> putCountry(lookupName, found)));
+        return id;
+    }
+
+    public Optional<Long> regionId(String countryName, String regionName) {
+        final String countryLookupName = toLookupName(countryName);
+        final String regionLookupName = toLookupName(regionName);
+        Country country = countries.get(countryLookupName);
+        if (country != null) {
+            Long id = country.regions.get(regionLookupName);
+            if (id != null) {
+                return Optional.of(id);
+            }
+        }
+        return countryId(countryName).flatMap(countryId -> {
+            Optional<Long> id = regionRepository.getIdByCountryIdAndLookupName(countryId, regionLookupName);
+            id.ifPresent(found -> afterCommit(() -> putRegion(countryLookupName, countryId, regionLookupName, found)));
+            return id;
+        });
+    }
+
+    public int size() {
+        return countryNames.size() + regionNames.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        synchronized (lock) {
+            countries.clear();
+            countryNames.clear();
+            regionNames.clear();
+            List<LocationName> names = readTransaction.execute(status -> countryRepository.findAllLocationNames());
+            names.forEach(name -> {
+                final String country = toLookupName(name.country());
+                putCountry(country, name.countryId());
+                if (name.regionId() != null) {
+                    putRegion(country, name.countryId(), toLookupName(name.region()), name.regionId());
+                }
+            });
+        }
+    }
+
+    //evicted at once and after the commit, a name read before the commit could be kept again in between
+    public void evictCountry(Long id) {
+        removeCountry(id);
+        afterCommit(() -> removeCountry(id));
+    }
+
+    public void evictRegion(Long id) {
+        removeRegion(id);
+        afterCommit(() -> removeRegion(id));
+    }
+
+    void countryUpdated(Long id, String name) {
+        String known = countryNames.get(id);
+        if (known != null && !known.equals(toLookupName(name))) {
+            evictCountry(id);
+        }
+    }
+
+    void regionUpdated(Long id, String name) {
+        RegionName known = regionNames.get(id);
+        if (known != null && !known.region.equals(toLookupName(name))) {
+            evictRegion(id);
+        }
+    }
+
+    private void putCountry(String lookupName, Long id) {
+        synchronized (lock) {
+            Country known = countries.get(lookupName);
+            if (known != null && known.id.equals(id)) {
+                return;
+            }
+            if (known != null) {
+                removeCountry(known.id);
+            }
+            removeCountry(id);//the country could be known by another name
+            countries.put(lookupName, new Country(id, new ConcurrentHashMap<>()));
+            countryNames.put(id, lookupName);
+        }
+    }
+
+    private void putRegion(String countryLookupName, Long countryId, String lookupName, Long id) {
+        synchronized (lock) {
+            putCountry(countryLookupName, countryId);
+            removeRegion(id);
+            Long replaced = countries.get(countryLookupName).regions.put(lookupName, id);
+            if (replaced != null && !replaced.equals(id)) {
+                regionNames.remove(replaced);
+            }
+            regionNames.put(id, new RegionName(countryLookupName, lookupName));
+        }
+    }
+
+    private void removeCountry(Long id) {
+        synchronized (lock) {
+            String lookupName = countryNames.remove(id);
+            if (lookupName == null) {
+                return;
+            }
+            Country country = countries.remove(lookupName);
+            if (country != null) {
+                country.regions.values().forEach(regionNames::remove);
+            }
+        }
+    }
+
+    private void removeRegion(Long id) {
+        synchronized (lock) {
+            RegionName name = regionNames.remove(id);
+            if (name == null) {
+                return;
+            }
+            Country country = countries.get(name.country);
+            if (country != null) {
+                country.regions.remove(name.region, id);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package online.strongnation.business.cache;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.model.entity.Region;
+import org.springframework.beans.factory.ObjectProvider;
+
+//countries and regions changed through their entities leave the resolver, repository slices have no resolver
+public class NameResolverListener {
+
+    private final ObjectProvider<NameResolver> resolver;
+
+    public NameResolverListener(ObjectProvider<NameResolver> resolver) {
+        this.resolver = resolver;
+    }
+
+    @PostUpdate
+    public void onUpdated(Object entity) {
+        resolver.ifAvailable(names -> {
+            if (entity instanceof Country country) {
+                names.countryUpdated(country.getId(), country.getName());
+            } else if (entity instanceof Region region) {
+                names.regionUpdated(region.getId(), region.getName());
+            }
+        });
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        resolver.ifAvailable(names -> {
+            if (entity instanceof Country country) {
+                names.evictCountry(country.getId());
+            } else if (entity instanceof Region region) {
+                names.evictRegion(region.getId());
+            }
+        });
+    }
+}
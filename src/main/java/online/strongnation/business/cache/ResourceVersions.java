@@ -0,0 +1,93 @@
+package online.strongnation.business.cache;
+
+import online.strongnation.business.config.NameProperties;
+import online.strongnation.business.model.dto.CountryDTO;
+import online.strongnation.business.model.event.CountryChangedEvent;
+import online.strongnation.business.model.event.CountryStatisticChangedEvent;
+import online.strongnation.business.model.event.StatisticReplacedEvent;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+//versions of public resources for ETags, bumped after commit of every change.
+//The version of a country is the number of the change that touched it last, so versions never go back.
+//Names are mapped to ids only from responses, an unknown name falls back to the global version
+@Component
+public class ResourceVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);//versions restart with the application
+    private final AtomicLong changes = new AtomicLong();
+    private volatile long floor;//number of the last change of all countries
+    private final Map<Long, Long> countries = new ConcurrentHashMap<>();
+    private final Map<String, Long> countryIds = new ConcurrentHashMap<>();
+
+    public String etagOfAll() {
+        return '"' + epoch + "-g" + changes.get() + '"';
+    }
+
+    public String etagOfCountry(String countryName) {
+        Long id = countryName == null ? null : countryIds.get(key(countryName));
+        if (id == null) {
+            return etagOfAll();
+        }
+        long version = Math.max(countries.getOrDefault(id, 0L), floor);
+        return '"' + epoch + "-c" + id + '-' + version + '"';
+    }
+
+    public void register(CountryDTO country) {
+        if (country != null && country.getId() != null && country.getName() != null) {
+            countryIds.put(key(country.getName()), country.getId());
+        }
+    }
+
+    public void register(List<CountryDTO> countries) {
+        countries.forEach(this::register);
+    }
+
+    //the version is taken before loading, so a change committed during the load makes the tag stale, not the body
+    public <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> loader) {
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(loader.get());
+    }
+
+    private static String key(String countryName) {
+        return NameProperties.toLookupName(StringUtils.normalizeSpace(countryName));
+    }
+
+    private void changed(Long countryId) {
+        long version = changes.incrementAndGet();
+        if (countryId == null) {
+            floor = version;
+            countries.clear();
+            countryIds.clear();
+        } else {
+            countries.put(countryId, version);
+            countryIds.values().removeIf(countryId::equals);//the country can be renamed or deleted, the name is mapped again on read
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountryChanged(CountryChangedEvent event) {
+        changed(event.countryId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountryStatisticChanged(CountryStatisticChangedEvent event) {
+        changed(event.countryId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatisticReplaced(StatisticReplacedEvent event) {
+        changed(null);
+    }
+}
@@ -12,6 +12,11 @@ import org.springframework.stereotype.Component;
 public class Constants {
 
     public static int MAX_NUMBER_OF_CATEGORIES_OF_POST = 100;
+    public static int MAX_NUMBER_OF_POSTS_IN_BATCH = 1000;
+    public static int MAX_NUMBER_OF_IDS_IN_BULK_DELETE = 1000;
+    public static int MAX_NUMBER_OF_ROLLUP_BUCKETS = 1000;
+    public static int DEFAULT_SIZE_OF_POST_PAGE = 20;
+    public static int MAX_SIZE_OF_POST_PAGE = 100;
     public static String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
 
     @Value("${directory.photo}")
@@ -1,5 +1,7 @@
 package online.strongnation.business.config;
 
+import java.util.Locale;
+
 public interface NameProperties {
     int COUNTRY_NAME_LENGTH = 255;
     int REGION_NAME_LENGTH = 255;
@@ -9,4 +11,9 @@ public interface NameProperties {
     int EMAIL_LENGTH = 300;
 
     int ROLE_LENGTH = 50;
+
+    //normalized names of countries and regions are compared by this form, it is stored next to the name and indexed
+    static String toLookupName(final String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
 }
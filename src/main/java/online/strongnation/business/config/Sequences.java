@@ -0,0 +1,6 @@
+package online.strongnation.business.config;
+
+public interface Sequences {
+    //ids taken by one nextval, increments of the sequences in the database are kept equal to it by db/sequences.sql
+    int ALLOCATION_SIZE = 50;
+}
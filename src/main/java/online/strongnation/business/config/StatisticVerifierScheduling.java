@@ -0,0 +1,28 @@
+package online.strongnation.business.config;
+
+import lombok.AllArgsConstructor;
+import online.strongnation.business.exception.IllegalStatisticException;
+import online.strongnation.business.service.StatisticVerifierService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "statistic.verifier.enabled", havingValue = "true")
+@AllArgsConstructor
+public class StatisticVerifierScheduling {
+
+    private final StatisticVerifierService verifier;
+
+    @Scheduled(initialDelayString = "${statistic.verifier.initial-delay:60000}",
+            fixedDelayString = "${statistic.verifier.delay:600000}")
+    public void verify() {
+        try {
+            verifier.verify();
+        } catch (IllegalStatisticException e) {
+            //a run started by hand is in progress, this one is skipped
+        }
+    }
+}
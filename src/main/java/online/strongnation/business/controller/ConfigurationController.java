@@ -1,7 +1,9 @@
 package online.strongnation.business.controller;
 
 import lombok.AllArgsConstructor;
+import online.strongnation.business.cache.DtoCache;
 import online.strongnation.business.config.Constants;
+import online.strongnation.business.model.dto.CacheMetrics;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -9,11 +11,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("api/v2/config")
 @AllArgsConstructor
 public class ConfigurationController {
     Constants constants;
+    DtoCache cache;
 
     @GetMapping("/get/constants")
     @PreAuthorize("hasAuthority('properties:read')")
@@ -21,4 +26,10 @@ public class ConfigurationController {
         var photo = "PATH_TO_POST_PHOTO_DIRECTORY: " + constants.PATH_TO_PHOTO_DIRECTORY;
         return new ResponseEntity<>(photo, HttpStatus.OK);
     }
+
+    @GetMapping("/get/cache/metrics")
+    @PreAuthorize("hasAuthority('logs:read')")
+    public ResponseEntity<List<CacheMetrics>> cacheMetrics() {
+        return new ResponseEntity<>(cache.metrics(), HttpStatus.OK);
+    }
 }
@@ -1,12 +1,16 @@
 package online.strongnation.business.controller;
 
 import lombok.AllArgsConstructor;
+import online.strongnation.business.cache.ResourceVersions;
+import online.strongnation.business.model.dto.CategoryDTO;
 import online.strongnation.business.service.CountryService;
+import online.strongnation.business.service.GlobalStatisticService;
 import online.strongnation.business.model.dto.CountryDTO;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,6 +20,8 @@ import java.util.List;
 public class CountryController {
 
     CountryService service;
+    GlobalStatisticService globalStatistic;
+    ResourceVersions versions;
 
     @PostMapping("/add/{name}")
     @PreAuthorize("hasAuthority('country:write')")
@@ -25,15 +31,26 @@ public class CountryController {
     }
 
     @GetMapping("/get/{name}")
-    public ResponseEntity<CountryDTO> get(@PathVariable("name") String countryName) {
-        var response = service.get(countryName);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<CountryDTO> get(@PathVariable("name") String countryName, WebRequest request) {
+        return versions.conditional(request, versions.etagOfCountry(countryName), () -> {
+            var response = service.get(countryName);
+            versions.register(response);
+            return response;
+        });
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<CountryDTO>> getAll() {
-        var response = service.getAll();
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<List<CountryDTO>> getAll(WebRequest request) {
+        return versions.conditional(request, versions.etagOfAll(), () -> {
+            var response = service.getAll();
+            versions.register(response);
+            return response;
+        });
+    }
+
+    @GetMapping("/total")
+    public ResponseEntity<List<CategoryDTO>> getTotal(WebRequest request) {
+        return versions.conditional(request, versions.etagOfAll(), globalStatistic::totals);
     }
 
     @PutMapping("/update/{oldName}/{newName}")
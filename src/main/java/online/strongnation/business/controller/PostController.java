@@ -1,14 +1,25 @@
 package online.strongnation.business.controller;
 
 import lombok.AllArgsConstructor;
+import online.strongnation.business.cache.ResourceVersions;
+import online.strongnation.business.model.dto.GetImportantPostResponse;
 import online.strongnation.business.model.dto.GetPostResponse;
 import online.strongnation.business.model.dto.GetPostResponseByCountryDTO;
 import online.strongnation.business.model.dto.PostDTO;
+import online.strongnation.business.model.dto.PostPage;
+import online.strongnation.business.model.dto.PostQueryRequest;
+import online.strongnation.business.model.dto.PostSearchBenchmark;
+import online.strongnation.business.service.ImportantPostService;
+import online.strongnation.business.service.PostExportService;
+import online.strongnation.business.service.PostSearchService;
 import online.strongnation.business.service.PostService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,6 +29,10 @@ import java.util.List;
 @AllArgsConstructor
 public class PostController {
     private final PostService service;
+    private final PostExportService exportService;
+    private final PostSearchService searchService;
+    private final ImportantPostService importantPostService;
+    private final ResourceVersions versions;
 
     @PostMapping("/add/{country}/{region}")
     @PreAuthorize("hasAuthority('post:write')")
@@ -36,23 +51,98 @@ public class PostController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/add-all/{country}")
+    @PreAuthorize("hasAuthority('post:write')")
+    public ResponseEntity<List<PostDTO>> createAll(@RequestBody List<PostDTO> posts,
+                                                   @PathVariable("country") String countryName) {
+        final var response = service.createAll(posts, countryName);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
     @GetMapping("/all/{country}")
-    public ResponseEntity<List<GetPostResponseByCountryDTO>> all(@PathVariable("country") String countryName) {
-        final var response = service.all(countryName);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<List<GetPostResponseByCountryDTO>> all(@PathVariable("country") String countryName,
+                                                                 WebRequest request) {
+        return versions.conditional(request, versions.etagOfCountry(countryName), () -> service.all(countryName));
     }
 
     @GetMapping("/all/{country}/{region}")
     public ResponseEntity<List<GetPostResponse>> all(@PathVariable("country") String countryName,
-                                                     @PathVariable("region") String regionName) {
-        final var response = service.all(countryName, regionName);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+                                                     @PathVariable("region") String regionName,
+                                                     WebRequest request) {
+        return versions.conditional(request, versions.etagOfCountry(countryName),
+                () -> service.all(countryName, regionName));
     }
 
 
     @GetMapping("/all-by-region-id/{id}")
-    public ResponseEntity<List<GetPostResponse>> all(@PathVariable("id") Long id) {
-        final var response = service.all(id);
+    public ResponseEntity<List<GetPostResponse>> all(@PathVariable("id") Long id, WebRequest request) {
+        return versions.conditional(request, versions.etagOfAll(), () -> service.all(id));
+    }
+
+    @GetMapping(value = "/export/{country}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable("country") String countryName) {
+        final var response = exportService.exportOfCountry(countryName);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping({"/page/{country}/{size}", "/page/{country}/{size}/{cursor}"})
+    public ResponseEntity<PostPage<GetPostResponseByCountryDTO>> page(
+            @PathVariable("country") String countryName,
+            @PathVariable("size") Integer size,
+            @PathVariable(value = "cursor", required = false) String cursor,
+            WebRequest request) {
+        return versions.conditional(request, versions.etagOfCountry(countryName),
+                () -> service.page(countryName, size, cursor));
+    }
+
+    @GetMapping({"/page-by-region/{country}/{region}/{size}", "/page-by-region/{country}/{region}/{size}/{cursor}"})
+    public ResponseEntity<PostPage<GetPostResponse>> page(@PathVariable("country") String countryName,
+                                                          @PathVariable("region") String regionName,
+                                                          @PathVariable("size") Integer size,
+                                                          @PathVariable(value = "cursor", required = false) String cursor,
+                                                          WebRequest request) {
+        return versions.conditional(request, versions.etagOfCountry(countryName),
+                () -> service.page(countryName, regionName, size, cursor));
+    }
+
+    @GetMapping({"/page-by-region-id/{id}/{size}", "/page-by-region-id/{id}/{size}/{cursor}"})
+    public ResponseEntity<PostPage<GetPostResponse>> page(@PathVariable("id") Long id,
+                                                          @PathVariable("size") Integer size,
+                                                          @PathVariable(value = "cursor", required = false) String cursor,
+                                                          WebRequest request) {
+        return versions.conditional(request, versions.etagOfAll(), () -> service.page(id, size, cursor));
+    }
+
+    @GetMapping("/query")
+    public ResponseEntity<PostPage<GetPostResponseByCountryDTO>> query(PostQueryRequest query, WebRequest request) {
+        return versions.conditional(request, versions.etagOfCountry(query.getCountry()), () -> service.query(query));
+    }
+
+    @GetMapping({"/important/{size}", "/important/{size}/{cursor}"})
+    public ResponseEntity<PostPage<GetImportantPostResponse>> important(
+            @PathVariable("size") Integer size,
+            @PathVariable(value = "cursor", required = false) String cursor,
+            WebRequest request) {
+        return versions.conditional(request, versions.etagOfAll(), () -> importantPostService.page(size, cursor));
+    }
+
+    @GetMapping("/search/{country}")
+    public ResponseEntity<List<GetPostResponseByCountryDTO>> search(
+            @PathVariable("country") String countryName,
+            @RequestParam("query") String query,
+            @RequestParam(value = "region", required = false) String regionName,
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        final var response = searchService.search(countryName, regionName, query, from, to, limit);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping("/search/benchmark/{country}")
+    @PreAuthorize("hasAuthority('logs:read')")
+    public ResponseEntity<PostSearchBenchmark> searchBenchmark(@PathVariable("country") String countryName,
+                                                               @RequestParam("query") String query) {
+        final var response = searchService.benchmark(countryName, query);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
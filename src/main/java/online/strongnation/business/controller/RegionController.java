@@ -1,12 +1,14 @@
 package online.strongnation.business.controller;
 
 import lombok.AllArgsConstructor;
+import online.strongnation.business.cache.ResourceVersions;
 import online.strongnation.business.service.RegionService;
 import online.strongnation.business.model.dto.RegionDTO;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,6 +19,7 @@ import java.util.List;
 public class RegionController {
 
     private final RegionService service;
+    private final ResourceVersions versions;
 
     @PostMapping("/add/{country}/{name}")
     @PreAuthorize("hasAuthority('region:write')")
@@ -36,21 +39,20 @@ public class RegionController {
 
     @GetMapping("/get/{country}/{name}")
     public ResponseEntity<RegionDTO> get(@PathVariable("country") String countryName,
-                                         @PathVariable("name") String name) {
-        final var response = service.get(countryName, name);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+                                         @PathVariable("name") String name,
+                                         WebRequest request) {
+        return versions.conditional(request, versions.etagOfCountry(countryName),
+                () -> service.get(countryName, name));
     }
 
     @GetMapping("/get-by-id/{id}")
-    public ResponseEntity<RegionDTO> get(@PathVariable("id") Long id) {
-        final var response = service.get(id);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<RegionDTO> get(@PathVariable("id") Long id, WebRequest request) {
+        return versions.conditional(request, versions.etagOfAll(), () -> service.get(id));
     }
 
     @GetMapping("/all/{country}")
-    public ResponseEntity<List<RegionDTO>> all(@PathVariable("country") String countryName) {
-        final var response = service.all(countryName);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<List<RegionDTO>> all(@PathVariable("country") String countryName, WebRequest request) {
+        return versions.conditional(request, versions.etagOfCountry(countryName), () -> service.all(countryName));
     }
 
     @PutMapping("/update/{country}/{oldName}/{newName}")
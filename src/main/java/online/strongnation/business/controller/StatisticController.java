@@ -0,0 +1,83 @@
+package online.strongnation.business.controller;
+
+import lombok.AllArgsConstructor;
+import online.strongnation.business.model.dto.CategoryMigrationReport;
+import online.strongnation.business.model.dto.StatisticRebuildReport;
+import online.strongnation.business.model.dto.StatisticRollupDTO;
+import online.strongnation.business.model.dto.StatisticVerificationReport;
+import online.strongnation.business.model.dto.StatisticVerifierMetrics;
+import online.strongnation.business.service.CategoryMigrationService;
+import online.strongnation.business.service.StatisticRebuildService;
+import online.strongnation.business.service.StatisticRollupService;
+import online.strongnation.business.service.StatisticVerifierService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("api/v2/statistic")
+@AllArgsConstructor
+public class StatisticController {
+
+    private final StatisticRebuildService rebuildService;
+    private final StatisticVerifierService verifierService;
+    private final StatisticRollupService rollupService;
+    private final CategoryMigrationService categoryMigrationService;
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasAuthority('statistic:rebuild')")
+    public ResponseEntity<StatisticRebuildReport> rebuild() {
+        final var response = rebuildService.rebuild(false);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping("/rebuild/dry-run")
+    @PreAuthorize("hasAuthority('statistic:rebuild')")
+    public ResponseEntity<StatisticRebuildReport> dryRun() {
+        final var response = rebuildService.rebuild(true);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @PostMapping("/categories/migrate")
+    @PreAuthorize("hasAuthority('statistic:rebuild')")
+    public ResponseEntity<CategoryMigrationReport> migrateCategories() {
+        final var response = categoryMigrationService.migrate();
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @PostMapping("/verify")
+    @PreAuthorize("hasAuthority('statistic:rebuild')")
+    public ResponseEntity<StatisticVerificationReport> verify() {
+        final var response = verifierService.verify();
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping("/verifier/metrics")
+    @PreAuthorize("hasAuthority('logs:read')")
+    public ResponseEntity<StatisticVerifierMetrics> verifierMetrics() {
+        final var response = verifierService.metrics();
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping("/rollup/{country}/{granularity}/{from}/{to}")
+    public ResponseEntity<List<StatisticRollupDTO>> rollupOfCountry(@PathVariable String country,
+                                                                    @PathVariable String granularity,
+                                                                    @PathVariable String from,
+                                                                    @PathVariable String to) {
+        final var response = rollupService.seriesOfCountry(country, granularity, from, to);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping("/rollup/{country}/{region}/{granularity}/{from}/{to}")
+    public ResponseEntity<List<StatisticRollupDTO>> rollupOfRegion(@PathVariable String country,
+                                                                   @PathVariable String region,
+                                                                   @PathVariable String granularity,
+                                                                   @PathVariable String from,
+                                                                   @PathVariable String to) {
+        final var response = rollupService.seriesOfRegion(country, region, granularity, from, to);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
@@ -1,4 +1,14 @@
 package online.strongnation.business.exception;
 
 public class IllegalStatisticException extends IllegalOperationException {
+    public IllegalStatisticException() {
+    }
+
+    public IllegalStatisticException(String message) {
+        super(message);
+    }
+
+    public IllegalStatisticException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -1,5 +1,7 @@
 package online.strongnation.business.model;
 
+import online.strongnation.business.model.statistic.CategoryDictionary;
+
 import java.math.BigDecimal;
 
 public interface Category {
@@ -8,4 +10,8 @@ public interface Category {
     BigDecimal getNumber();
 
     String getUnits();
+
+    default int keyId() {//id of name and units in CategoryDictionary
+        return CategoryDictionary.idOf(getName(), getUnits());
+    }
 }
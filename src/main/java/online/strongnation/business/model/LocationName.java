@@ -0,0 +1,5 @@
+package online.strongnation.business.model;
+
+//names of a country and one of its regions, region fields are null for a country without regions
+public record LocationName(Long countryId, String country, Long regionId, String region) {
+}
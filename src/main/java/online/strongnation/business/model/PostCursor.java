@@ -0,0 +1,32 @@
+package online.strongnation.business.model;
+
+import online.strongnation.business.exception.IllegalPostException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+//position after the last post of a page, posts are ordered by date and id, both descending
+public record PostCursor(LocalDateTime date, Long id) {
+    private static final char SEPARATOR = '_';
+
+    public String encode() {
+        String raw = date.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PostCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator == -1) {
+                throw new IllegalPostException("Wrong cursor of page: " + token);
+            }
+            return new PostCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalPostException("Wrong cursor of page: " + token);
+        }
+    }
+}
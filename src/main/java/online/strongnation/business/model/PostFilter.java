@@ -0,0 +1,9 @@
+package online.strongnation.business.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+//checked filters of a post query, null means that the filter is not applied, from is inclusive, to is exclusive
+public record PostFilter(Long countryId, Long regionId, LocalDateTime from, LocalDateTime to, Boolean important,
+                         String category, BigDecimal minAmount) {
+}
@@ -0,0 +1,18 @@
+package online.strongnation.business.model.dto;
+
+import lombok.*;
+
+@Builder(toBuilder = true)
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheMetrics {
+    private String name;
+    private Integer size;
+    private Long hits;
+    private Long misses;
+    private Long invalidations;
+    private Double hitRate;
+}
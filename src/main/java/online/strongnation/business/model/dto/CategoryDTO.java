@@ -3,19 +3,38 @@ package online.strongnation.business.model.dto;
 import lombok.*;
 import online.strongnation.business.model.BigDecimalEquals;
 import online.strongnation.business.model.Category;
+import online.strongnation.business.model.statistic.Cents;
 
 import java.math.BigDecimal;
 import java.util.Objects;
 
 @Getter
 @ToString
-@Builder(toBuilder = true)
-@AllArgsConstructor
 @NoArgsConstructor
 public class CategoryDTO implements Category {
     private String name;
     private BigDecimal number;
     private String units;
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient int keyId;//cached id of CategoryDictionary, 0 until it is asked
+
+    @Builder(toBuilder = true)
+    public CategoryDTO(String name, BigDecimal number, String units) {
+        this.name = name;
+        this.number = number;
+        this.units = units;
+    }
+
+    @Override
+    public int keyId() {
+        int id = keyId;
+        if (id == 0) {
+            id = Category.super.keyId();
+            keyId = id;
+        }
+        return id;
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -39,7 +58,7 @@ public class CategoryDTO implements Category {
     public CategoryDTO addNumber(CategoryDTO category) {
         return new CategoryDTO(
                 this.getName(),
-                this.getNumber().add(category.getNumber()),
+                Cents.toBigDecimal(Cents.add(Cents.of(this.getNumber()), Cents.of(category.getNumber()))),
                 this.getUnits()
         );
     }
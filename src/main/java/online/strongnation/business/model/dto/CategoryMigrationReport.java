@@ -0,0 +1,18 @@
+package online.strongnation.business.model.dto;
+
+import lombok.*;
+
+@Builder(toBuilder = true)
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryMigrationReport {
+    private Boolean oldSchemaFound;
+    private Boolean alreadyMigrated;//the copy was done by an earlier run, nothing is copied again
+    private Integer postCategories;//rows copied into post_category_amount
+    private Integer regionCategories;
+    private Integer countryCategories;
+    private Long totalMillis;
+}
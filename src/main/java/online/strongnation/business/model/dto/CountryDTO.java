@@ -1,10 +1,11 @@
 package online.strongnation.business.model.dto;
 
 import lombok.*;
-import online.strongnation.business.model.entity.CountryCategory;
+import online.strongnation.business.model.entity.CategoryEntity;
 import online.strongnation.business.model.statistic.StatisticModel;
 import online.strongnation.business.model.entity.Country;
 
+import java.util.Collection;
 import java.util.List;
 
 @Builder(toBuilder = true)
@@ -21,9 +22,8 @@ public class CountryDTO implements StatisticModel<CountryDTO> {
     public CountryDTO(Country entity) {
         this.id = entity.getId();
         this.name = entity.getName();
-        List<CountryCategory> entityCategories = entity.getCategories();
+        Collection<CategoryEntity> entityCategories = entity.getCategories();
         this.categories = (entityCategories == null) ? List.of() : entityCategories
-                .stream().map(CountryCategory::getCategoryEntity)
-                .map(CategoryDTO::new).toList();
+                .stream().map(CategoryDTO::new).toList();
     }
 }
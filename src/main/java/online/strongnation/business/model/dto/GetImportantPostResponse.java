@@ -0,0 +1,21 @@
+package online.strongnation.business.model.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Builder(toBuilder = true)
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class GetImportantPostResponse {
+    private Long id;
+    private String description;
+    private String link;
+    private LocalDateTime date;
+
+    private String region;
+    private String country;
+}
@@ -1,8 +1,8 @@
 package online.strongnation.business.model.dto;
 
 import lombok.*;
+import online.strongnation.business.model.entity.CategoryEntity;
 import online.strongnation.business.model.entity.Post;
-import online.strongnation.business.model.entity.PostCategory;
 import online.strongnation.business.model.statistic.StatisticModel;
 
 import java.time.LocalDateTime;
@@ -31,8 +31,8 @@ public class PostDTO implements StatisticModel<RegionDTO> {
         setPostCategories(post.getCategories());
     }
 
-    public void setPostCategories(List<PostCategory> list) {
-        this.categories = list.stream().map(PostCategory::getCategoryEntity).map(CategoryDTO::new).toList();
+    public void setPostCategories(List<CategoryEntity> list) {
+        this.categories = list.stream().map(CategoryDTO::new).toList();
     }
 
     public GetPostResponse toGetResponse() {
@@ -0,0 +1,16 @@
+package online.strongnation.business.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Builder(toBuilder = true)
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostPage<T> {
+    private List<T> posts;
+    private String next;//cursor of the next page, null if this page is the last one
+}
@@ -0,0 +1,24 @@
+package online.strongnation.business.model.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Builder(toBuilder = true)
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostQueryRequest {
+    private String country;
+    private String region;
+    private String from;//yyyy-MM-dd, inclusive
+    private String to;//yyyy-MM-dd, inclusive
+    private Boolean important;
+    private String category;
+    private BigDecimal min;//minimal number of the category, any category if the name is not given
+    private Integer size;
+    private String cursor;
+}
@@ -0,0 +1,18 @@
+package online.strongnation.business.model.dto;
+
+import lombok.*;
+
+@Builder(toBuilder = true)
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostSearchBenchmark {
+    private String query;
+    private Integer indexedPosts;
+    private Integer indexHits;
+    private Integer scanHits;
+    private Long indexMicros;//lookup in the inverted index
+    private Long scanMicros;//LIKE scan of descriptions in the database
+}
@@ -1,10 +1,12 @@
 package online.strongnation.business.model.dto;
 
 import lombok.*;
+import online.strongnation.business.model.entity.CategoryEntity;
 import online.strongnation.business.model.entity.Region;
 import online.strongnation.business.model.statistic.StatisticModel;
-import online.strongnation.business.model.entity.RegionCategory;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Builder(toBuilder = true)
@@ -17,14 +19,19 @@ public class RegionDTO implements StatisticModel<CountryDTO> {
     private Long id;
     private String name;
     private List<CategoryDTO> categories;
+    @EqualsAndHashCode.Exclude
+    private Long postCount;
+    @EqualsAndHashCode.Exclude
+    private LocalDateTime latestPostDate;
 
     public RegionDTO(Region entity) {
         this.id = entity.getId();
         this.name = entity.getName();
-        List<RegionCategory> entityCategories = entity.getCategories();
+        this.postCount = entity.getPostCount();
+        this.latestPostDate = entity.getLatestPostDate();
+        Collection<CategoryEntity> entityCategories = entity.getCategories();
         this.categories =
                 (entityCategories == null || entityCategories.isEmpty()) ? List.of() : entityCategories
-                        .stream().map(RegionCategory::getCategoryEntity)
-                        .map(CategoryDTO::new).toList();
+                        .stream().map(CategoryDTO::new).toList();
     }
 }
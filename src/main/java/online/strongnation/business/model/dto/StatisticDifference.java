@@ -0,0 +1,21 @@
+package online.strongnation.business.model.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Builder(toBuilder = true)
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class StatisticDifference {
+    private String scope;//region or country
+    private Long id;
+    private String owner;
+    private String name;
+    private String units;
+    private BigDecimal stored;
+    private BigDecimal computed;
+}
@@ -0,0 +1,25 @@
+package online.strongnation.business.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Builder(toBuilder = true)
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class StatisticRebuildReport {
+    private Boolean dryRun;
+    private Integer countries;
+    private Integer regions;
+    private Long posts;
+    private Integer changedRegions;
+    private Integer changedCountries;
+    private Integer changedRollups;//daily and monthly buckets of regions and countries that differed from the posts
+    private Long aggregationMillis;
+    private Long totalMillis;
+    private Double postsPerSecond;//throughput of the parallel aggregation
+    private List<StatisticDifference> differences;
+}
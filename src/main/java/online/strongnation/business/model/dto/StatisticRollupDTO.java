@@ -0,0 +1,17 @@
+package online.strongnation.business.model.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder(toBuilder = true)
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class StatisticRollupDTO {
+    private LocalDate bucket;
+    private List<CategoryDTO> categories;
+}
@@ -0,0 +1,24 @@
+package online.strongnation.business.model.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Builder(toBuilder = true)
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class StatisticVerificationReport {
+    private LocalDateTime date;
+    private Integer regionsChecked;
+    private Integer countriesChecked;
+    private Integer mismatchedRegions;
+    private Integer mismatchedCountries;
+    private Integer repaired;
+    private Boolean budgetExhausted;//true when the time budget ended the run before the whole sample was checked
+    private Long millis;
+    private List<StatisticDifference> differences;
+}
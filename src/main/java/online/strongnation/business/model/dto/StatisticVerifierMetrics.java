@@ -0,0 +1,21 @@
+package online.strongnation.business.model.dto;
+
+import lombok.*;
+
+@Builder(toBuilder = true)
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class StatisticVerifierMetrics {//counters since the start of the application
+    private Long runs;
+    private Long regionsChecked;
+    private Long countriesChecked;
+    private Long mismatchedRegions;
+    private Long mismatchedCountries;
+    private Long repaired;
+    private Long budgetExhaustedRuns;
+    private Boolean autoRepair;
+    private StatisticVerificationReport lastReport;
+}
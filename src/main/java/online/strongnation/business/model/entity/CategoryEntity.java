@@ -1,6 +1,7 @@
 package online.strongnation.business.model.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -12,30 +13,23 @@ import online.strongnation.business.model.dto.CategoryDTO;
 import java.math.BigDecimal;
 import java.util.Objects;
 
-@Entity
+//one row of post_category_amount, region_category_amount or country_category_amount, keyed only by its owner
+@Embeddable
 @Getter
 @Setter
 @RequiredArgsConstructor
-@Table(name = "category")
 public class CategoryEntity implements Category {
-    @Id
-    @SequenceGenerator(
-            name = "category_sequence",
-            sequenceName = "category_sequence",
-            allocationSize = 1
-    )
-    @GeneratedValue(
-            strategy = GenerationType.SEQUENCE,
-            generator = "category_sequence"
-    )
-    @Column(name = "id")
-    private Long id;
     @Column(length = NameProperties.CATEGORY_NAME_LENGTH, nullable = false)
     private String name;
     @Column(nullable = false, scale = Floats.CATEGORY_SCALE, columnDefinition = "Decimal(38,2) default '0.00'")
     private BigDecimal number;
     @Column(length = NameProperties.CATEGORY_UNITS_LENGTH)
+    @Convert(converter = CategoryUnitsConverter.class)
     private String units;
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int keyId;//cached id of CategoryDictionary, reset when name or units change, not part of equality
 
     public CategoryEntity(String name, BigDecimal number, String units) {
         this.name = name;
@@ -47,12 +41,32 @@ public class CategoryEntity implements Category {
         this(categoryDTO.getName(), categoryDTO.getNumber(), categoryDTO.getUnits());
     }
 
+    public void setName(String name) {
+        this.name = name;
+        this.keyId = 0;
+    }
+
+    public void setUnits(String units) {
+        this.units = units;
+        this.keyId = 0;
+    }
+
+    @Override
+    public int keyId() {
+        int id = keyId;
+        if (id == 0) {
+            id = Category.super.keyId();
+            keyId = id;
+        }
+        return id;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         CategoryEntity categoryEntity = (CategoryEntity) o;
-        return name.equals(categoryEntity.name) && Objects.equals(units, categoryEntity.units);
+        return Objects.equals(name, categoryEntity.name) && Objects.equals(units, categoryEntity.units);
     }
 
     @Override
@@ -0,0 +1,31 @@
+package online.strongnation.business.model.entity;
+
+import online.strongnation.business.model.statistic.CategoryKey;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+//totals of a region or a country by name and units, so every entry of a delta is one lookup,
+//the owner builds it from its collection on the first lookup and keeps it in step with the collection
+class CategoryIndex {
+
+    private final Map<CategoryKey, CategoryEntity> categories;
+
+    CategoryIndex(Collection<CategoryEntity> categories) {
+        this.categories = new HashMap<>(categories.size() * 2);
+        categories.forEach(this::put);
+    }
+
+    CategoryEntity get(CategoryKey key) {
+        return categories.get(key);
+    }
+
+    void put(CategoryEntity category) {
+        categories.putIfAbsent(CategoryKey.of(category), category);
+    }
+
+    void remove(CategoryEntity category) {
+        categories.remove(CategoryKey.of(category), category);
+    }
+}
@@ -0,0 +1,22 @@
+package online.strongnation.business.model.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+//categories without units are stored with '' so that (owner, name, units) can be a unique key of the totals,
+//a null never equals another null in a unique constraint
+@Converter
+public class CategoryUnitsConverter implements AttributeConverter<String, String> {
+
+    public static final String NO_UNITS = "";
+
+    @Override
+    public String convertToDatabaseColumn(String units) {
+        return units == null ? NO_UNITS : units;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String column) {
+        return column == null || column.isEmpty() ? null : column;
+    }
+}
@@ -1,19 +1,25 @@
 package online.strongnation.business.model.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import online.strongnation.business.cache.NameResolverListener;
 import online.strongnation.business.model.dto.CountryDTO;
+import online.strongnation.business.model.statistic.CategoryKey;
 import online.strongnation.business.model.statistic.StatisticEntity;
 import online.strongnation.business.config.NameProperties;
+import online.strongnation.business.config.Sequences;
 import online.strongnation.business.model.dto.CategoryDTO;
 import online.strongnation.business.model.dto.RegionDTO;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Getter
@@ -21,13 +27,14 @@ import java.util.stream.Collectors;
 @ToString
 @RequiredArgsConstructor
 @Entity
+@EntityListeners(NameResolverListener.class)
 @Table(name = "country")
 public class Country implements StatisticEntity {
     @Id
     @SequenceGenerator(
             name = "country_sequence",
             sequenceName = "country_sequence",
-            allocationSize = 1
+            allocationSize = Sequences.ALLOCATION_SIZE
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -37,11 +44,21 @@ public class Country implements StatisticEntity {
     private Long id;
     @Column(unique = true, nullable = false, length = NameProperties.COUNTRY_NAME_LENGTH)
     private String name;
-
-    @OneToMany(targetEntity = CountryCategory.class, cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "country_id", referencedColumnName = "id", nullable = false)
+    @Column(name = "lookup_name", unique = true, length = NameProperties.COUNTRY_NAME_LENGTH)
+    private String lookupName;//lower case form of the name, case-insensitive lookups seek it by its index
+
+    @ElementCollection
+    @CollectionTable(name = "country_category_amount",
+            joinColumns = @JoinColumn(name = "country_id"),
+            uniqueConstraints = @UniqueConstraint(name = "country_category_amount_key",
+                    columnNames = {"country_id", "name", "units"}))
+    @ToString.Exclude
+    private Set<CategoryEntity> categories = new LinkedHashSet<>();//totals are unique by name and units
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
     @ToString.Exclude
-    private List<CountryCategory> categories = new ArrayList<>(0);
+    private CategoryIndex categoryIndex;//built on the first lookup, dropped when the categories are replaced
 
     @OneToMany(
             mappedBy = "country",
@@ -52,7 +69,33 @@ public class Country implements StatisticEntity {
     private List<Region> regions = new ArrayList<>(0);
 
     public void addCategory(CategoryDTO category) {
-        categories.add(new CountryCategory(category));
+        CategoryEntity added = new CategoryEntity(category);
+        categories.add(added);
+        if (categoryIndex != null) {
+            categoryIndex.put(added);
+        }
+    }
+
+    @Override
+    public CategoryEntity getCategory(CategoryKey key) {
+        if (categoryIndex == null) {
+            categoryIndex = new CategoryIndex(categories);
+        }
+        return categoryIndex.get(key);
+    }
+
+    @Override
+    public void removeCategory(CategoryEntity category) {
+        categories.remove(category);
+        if (categoryIndex != null) {
+            categoryIndex.remove(category);
+        }
+    }
+
+    @Override
+    public void clearCategories() {
+        categories.clear();
+        categoryIndex = null;
     }
 
     public void setRegions(List<Region> regions) {
@@ -78,9 +121,21 @@ public class Country implements StatisticEntity {
         setCategoriesDTO(dto.getCategories());
     }
 
+    public void setCategories(Set<CategoryEntity> categories) {
+        this.categories = categories;
+        this.categoryIndex = null;
+    }
+
     public void setCategoriesDTO(List<CategoryDTO> categories) {
-        this.categories = categories.stream().map(CategoryEntity::new).map(CountryCategory::new)
-                .collect(Collectors.toCollection(ArrayList::new));
+        this.categories = categories.stream().map(CategoryEntity::new)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        this.categoryIndex = null;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateLookupName() {
+        lookupName = NameProperties.toLookupName(name);
     }
 
     @Override
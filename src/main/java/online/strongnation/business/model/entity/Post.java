@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import online.strongnation.business.model.statistic.StatisticEntity;
 import online.strongnation.business.config.NameProperties;
+import online.strongnation.business.config.Sequences;
 import online.strongnation.business.model.dto.CategoryDTO;
 import online.strongnation.business.model.dto.PostDTO;
 
@@ -18,13 +19,17 @@ import java.util.stream.Collectors;
 @Setter
 @ToString
 @RequiredArgsConstructor
-@Table(name = "post")
+@Table(name = "post", indexes = {
+        @Index(name = "post_region_date_id_index", columnList = "region_id, date, id"),
+        @Index(name = "post_date_id_index", columnList = "date, id"),
+        @Index(name = "post_important_date_index", columnList = "important, date")
+})
 public class Post implements StatisticEntity {
     @Id
     @SequenceGenerator(
             name = "post_sequence",
             sequenceName = "post_sequence",
-            allocationSize = 1
+            allocationSize = Sequences.ALLOCATION_SIZE
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -47,10 +52,16 @@ public class Post implements StatisticEntity {
     @Column(nullable = false, columnDefinition = "boolean default false")
     private Boolean important = false;
 
-    @OneToMany(targetEntity = PostCategory.class, cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "post_id", referencedColumnName = "id", nullable = false)
+    @ElementCollection
+    @CollectionTable(name = "post_category_amount",
+            joinColumns = @JoinColumn(name = "post_id"),
+            indexes = {
+                    @Index(name = "post_category_amount_post_index", columnList = "post_id"),
+                    @Index(name = "post_category_amount_name_number_index", columnList = "name, number")
+            })
+    @OrderColumn(name = "category_order")
     @ToString.Exclude
-    private List<PostCategory> categories = new ArrayList<>(0);
+    private List<CategoryEntity> categories = new ArrayList<>(0);//rows are keyed by post and position, a change rewrites only its rows
 
     @ManyToOne(fetch = FetchType.LAZY)
     @ToString.Exclude
@@ -66,7 +77,7 @@ public class Post implements StatisticEntity {
 
     public void setCategoriesDTO(List<CategoryDTO> categories) {
         if (categories != null && !categories.isEmpty()) {
-            this.categories = categories.stream().map(PostCategory::new)
+            this.categories = categories.stream().map(CategoryEntity::new)
                     .collect(Collectors.toCollection(ArrayList::new));
         }
     }
@@ -86,6 +97,6 @@ public class Post implements StatisticEntity {
 
     @Override
     public void addCategory(CategoryDTO category) {
-        categories.add(new PostCategory(category));
+        categories.add(new CategoryEntity(category));
     }
 }
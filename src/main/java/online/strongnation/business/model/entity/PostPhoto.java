@@ -2,6 +2,7 @@ package online.strongnation.business.model.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import online.strongnation.business.config.Sequences;
 
 import java.util.Objects;
 
@@ -16,7 +17,7 @@ public class PostPhoto {
     @SequenceGenerator(
             name = "post_photo_sequence",
             sequenceName = "post_photo_sequence",
-            allocationSize = 1
+            allocationSize = Sequences.ALLOCATION_SIZE
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -1,34 +1,43 @@
 package online.strongnation.business.model.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import online.strongnation.business.cache.NameResolverListener;
+import online.strongnation.business.model.statistic.CategoryKey;
 import online.strongnation.business.model.statistic.StatisticEntity;
 import online.strongnation.business.config.NameProperties;
+import online.strongnation.business.config.Sequences;
 import online.strongnation.business.model.dto.CategoryDTO;
 import online.strongnation.business.model.dto.PostDTO;
 import online.strongnation.business.model.dto.RegionDTO;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Entity
+@EntityListeners(NameResolverListener.class)
 @Getter
 @Setter
 @ToString
 @RequiredArgsConstructor
 @Table(name = "region",
-        uniqueConstraints = {@UniqueConstraint(columnNames = {"name", "country_id"})})
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"name", "country_id"}),
+                @UniqueConstraint(columnNames = {"country_id", "lookup_name"})})
 public class Region implements StatisticEntity {
     @Id
     @SequenceGenerator(
             name = "region_sequence",
             sequenceName = "region_sequence",
-            allocationSize = 1
+            allocationSize = Sequences.ALLOCATION_SIZE
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -38,11 +47,30 @@ public class Region implements StatisticEntity {
     private Long id;
     @Column(nullable = false, length = NameProperties.REGION_NAME_LENGTH)
     private String name;
+    @Column(name = "lookup_name", length = NameProperties.REGION_NAME_LENGTH)
+    private String lookupName;//lower case form of the name, unique in the country
 
-    @OneToMany(targetEntity = RegionCategory.class, cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "region_id", referencedColumnName = "id", nullable = false)
+    @Column(name = "post_count", nullable = false, columnDefinition = "bigint default 0")
+    private Long postCount = 0L;
+    @Column(name = "latest_post_date")
+    private LocalDateTime latestPostDate;//date of the newest post, null if there are no posts
+    @Setter(AccessLevel.NONE)
+    @Column(name = "post_writes", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private Long postWrites;//bumped by SQL in every transaction that writes posts of the region, never by the entity
+
+    @ElementCollection
+    @CollectionTable(name = "region_category_amount",
+            joinColumns = @JoinColumn(name = "region_id"),
+            uniqueConstraints = @UniqueConstraint(name = "region_category_amount_key",
+                    columnNames = {"region_id", "name", "units"}))
+    @ToString.Exclude
+    private Set<CategoryEntity> categories = new LinkedHashSet<>();//totals are unique by name and units
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
     @ToString.Exclude
-    private List<RegionCategory> categories = new ArrayList<>(0);
+    private CategoryIndex categoryIndex;//built on the first lookup, dropped when the categories are replaced
 
     @OneToMany(
             mappedBy = "region",
@@ -75,17 +103,62 @@ public class Region implements StatisticEntity {
         setCategoriesDTO(dto.getCategories());
     }
 
+    public void setCategories(Set<CategoryEntity> categories) {
+        this.categories = categories;
+        this.categoryIndex = null;
+    }
+
     public void setCategoriesDTO(List<CategoryDTO> categories) {
-        this.categories = categories.stream().map(CategoryEntity::new).map(RegionCategory::new)
-                .collect(Collectors.toCollection(ArrayList::new));
+        this.categories = categories.stream().map(CategoryEntity::new)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        this.categoryIndex = null;
     }
 
     public Region(String name) {
         this.name = name;
     }
 
+    @PrePersist
+    @PreUpdate
+    void updateLookupName() {
+        lookupName = NameProperties.toLookupName(name);
+    }
+
+    public void countNewPosts(long count, LocalDateTime latestDate) {
+        postCount += count;
+        if (latestPostDate == null || latestDate.isAfter(latestPostDate)) {
+            latestPostDate = latestDate;
+        }
+    }
+
     public void addCategory(CategoryDTO category) {
-        categories.add(new RegionCategory(category));
+        CategoryEntity added = new CategoryEntity(category);
+        categories.add(added);
+        if (categoryIndex != null) {
+            categoryIndex.put(added);
+        }
+    }
+
+    @Override
+    public CategoryEntity getCategory(CategoryKey key) {
+        if (categoryIndex == null) {
+            categoryIndex = new CategoryIndex(categories);
+        }
+        return categoryIndex.get(key);
+    }
+
+    @Override
+    public void removeCategory(CategoryEntity category) {
+        categories.remove(category);
+        if (categoryIndex != null) {
+            categoryIndex.remove(category);
+        }
+    }
+
+    @Override
+    public void clearCategories() {
+        categories.clear();
+        categoryIndex = null;
     }
 
     @Override
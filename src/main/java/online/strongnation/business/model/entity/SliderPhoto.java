@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import online.strongnation.business.config.Sequences;
 
 import java.util.Objects;
 
@@ -21,7 +22,7 @@ public class SliderPhoto {
     @SequenceGenerator(
             name = sequence,
             sequenceName = sequence,
-            allocationSize = 1
+            allocationSize = Sequences.ALLOCATION_SIZE
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -0,0 +1,73 @@
+package online.strongnation.business.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import online.strongnation.business.config.Floats;
+import online.strongnation.business.config.NameProperties;
+import online.strongnation.business.config.Sequences;
+import online.strongnation.business.model.Category;
+import online.strongnation.business.model.statistic.CategoryKey;
+import online.strongnation.business.model.statistic.Cents;
+import online.strongnation.business.model.statistic.RollupBucket;
+import online.strongnation.business.model.statistic.RollupGranularity;
+import online.strongnation.business.model.statistic.RollupScope;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Getter
+@Setter
+@ToString
+@RequiredArgsConstructor
+@Table(name = "statistic_rollup", indexes = {
+        @Index(name = "statistic_rollup_bucket_index",
+                columnList = "scope, owner_id, granularity, bucket, name, units", unique = true)
+})
+public class StatisticRollup implements Category {
+    @Id
+    @SequenceGenerator(
+            name = "statistic_rollup_sequence",
+            sequenceName = "statistic_rollup_sequence",
+            allocationSize = Sequences.ALLOCATION_SIZE
+    )
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "statistic_rollup_sequence"
+    )
+    @Column(name = "id")
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RollupScope scope;
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;//id of the region or the country, depends on scope
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RollupGranularity granularity;
+    @Column(nullable = false)
+    private LocalDate bucket;//first day of the day or the month
+    @Column(length = NameProperties.CATEGORY_NAME_LENGTH, nullable = false)
+    private String name;
+    @Column(nullable = false, scale = Floats.CATEGORY_SCALE, columnDefinition = "Decimal(38,2) default '0.00'")
+    private BigDecimal number;
+    @Column(length = NameProperties.CATEGORY_UNITS_LENGTH)
+    private String units;
+
+    public StatisticRollup(RollupBucket bucket, CategoryKey key, long cents) {
+        this.scope = bucket.scope();
+        this.ownerId = bucket.ownerId();
+        this.granularity = bucket.granularity();
+        this.bucket = bucket.bucket();
+        this.name = key.name();
+        this.units = key.units();
+        this.number = Cents.toBigDecimal(cents);
+    }
+
+    public RollupBucket rollupBucket() {
+        return new RollupBucket(scope, ownerId, granularity, bucket);
+    }
+}
@@ -0,0 +1,5 @@
+package online.strongnation.business.model.event;
+
+//published when a country, its regions or their posts are changed, null id means that all countries are changed
+public record CountryChangedEvent(Long countryId) {
+}
@@ -0,0 +1,7 @@
+package online.strongnation.business.model.event;
+
+import online.strongnation.business.model.statistic.StatisticDelta;
+
+//published when a delta is applied to the statistic of a country, listeners get it after commit
+public record CountryStatisticChangedEvent(Long countryId, StatisticDelta delta) {
+}
@@ -0,0 +1,7 @@
+package online.strongnation.business.model.event;
+
+import java.util.List;
+
+//published when posts are created, updated, moved or deleted, listeners read their committed state by ids
+public record PostsChangedEvent(List<Long> postIds) {
+}
@@ -0,0 +1,6 @@
+package online.strongnation.business.model.event;
+
+//published when regions are deleted together with their posts,
+//null region id means all regions of the country, null country id means all countries
+public record RegionsRemovedEvent(Long countryId, Long regionId) {
+}
@@ -0,0 +1,5 @@
+package online.strongnation.business.model.event;
+
+//published when statistics are rewritten without a delta, e.g. by rebuild, repair or deletion of all countries
+public record StatisticReplacedEvent() {
+}
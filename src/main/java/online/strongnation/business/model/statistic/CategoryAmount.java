@@ -0,0 +1,10 @@
+package online.strongnation.business.model.statistic;
+
+import java.math.BigDecimal;
+
+//scalar projection of one category of a post, no entities are loaded
+public record CategoryAmount(String name, String units, BigDecimal number) {
+    public int keyId() {
+        return CategoryDictionary.idOf(name, units);
+    }
+}
@@ -0,0 +1,145 @@
+package online.strongnation.business.model.statistic;
+
+import online.strongnation.business.model.Category;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+//interns (name, units) pairs of categories into small positive ints for the primitive maps of statistics,
+//lookups use find, which doesn't intern. An id is just a cache of its key, categories are equal by their name and units.
+//Names come from requests, so the table is bounded: once max-size keys were added since the last retain,
+//the owner is told to retain the stored categories. Retain keeps them and every key asked for since the previous
+//retain, so the table holds the stored categories and at most twice max-size others. The rest are dropped
+//and their ids are given to new keys, so an id must not be kept from one retain to the one after it
+public final class CategoryDictionary {
+
+    public static final int NONE = 0;//id of a category that was never interned
+
+    private static final class Entry {
+        private final int id;
+        private final CategoryKey key;
+        private volatile int used;//generation of the last lookup
+
+        private Entry(int id, CategoryKey key, int used) {
+            this.id = id;
+            this.key = key;
+            this.used = used;
+        }
+    }
+
+    private static final Map<CategoryKey, Entry> entries = new ConcurrentHashMap<>();
+    private static volatile CategoryKey[] keys = new CategoryKey[64];
+    private static final ArrayDeque<Integer> freeIds = new ArrayDeque<>();//guarded by the class lock
+    private static int lastId;//guarded by the class lock
+    private static volatile int generation;//incremented by retain
+    private static int limit = Integer.MAX_VALUE;//guarded by the class lock
+    private static int maxSize = Integer.MAX_VALUE;//guarded by the class lock
+    private static Runnable whenFull;//guarded by the class lock
+
+    private CategoryDictionary() {
+    }
+
+    public static int idOf(Category category) {
+        return idOf(category.getName(), category.getUnits());
+    }
+
+    public static int idOf(String name, String units) {
+        return idOf(new CategoryKey(name, units));
+    }
+
+    public static int idOf(CategoryKey key) {
+        Entry entry = entries.get(key);
+        return entry != null ? touch(entry) : intern(key);
+    }
+
+    public static int find(CategoryKey key) {
+        Entry entry = entries.get(key);
+        return entry != null ? touch(entry) : NONE;
+    }
+
+    private static int touch(Entry entry) {
+        int current = generation;
+        if (entry.used != current) {
+            entry.used = current;
+        }
+        return entry.id;
+    }
+
+    private static int intern(CategoryKey key) {
+        Runnable full = null;
+        int id;
+        synchronized (CategoryDictionary.class) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                return touch(entry);
+            }
+            id = freeIds.isEmpty() ? newId() : freeIds.poll();
+            keys[id] = key;
+            entries.put(key, new Entry(id, key, generation));//publishes the key written above
+            if (entries.size() >= limit && whenFull != null) {
+                limit = Integer.MAX_VALUE;//once until the next retain
+                full = whenFull;
+            }
+        }
+        if (full != null) {
+            full.run();
+        }
+        return id;
+    }
+
+    private static int newId() {
+        int newId = lastId + 1;
+        if (newId == keys.length) {
+            keys = Arrays.copyOf(keys, keys.length * 2);
+        }
+        lastId = newId;
+        return newId;
+    }
+
+    //whenFull is run by the thread that interned the key which filled the table, outside the lock
+    public static synchronized void limit(int maxSize, Runnable whenFull) {
+        CategoryDictionary.maxSize = maxSize;
+        CategoryDictionary.whenFull = whenFull;
+        limit = nextLimit();
+    }
+
+    //stored categories are kept, so ids in the totals stay valid
+    public static synchronized int retain(Collection<CategoryKey> stored) {
+        final Set<CategoryKey> kept = new HashSet<>(stored);
+        final int current = generation;
+        final CategoryKey[] table = keys;
+        entries.values().removeIf(entry -> {
+            if (entry.used == current || kept.contains(entry.key)) {
+                return false;
+            }
+            table[entry.id] = null;
+            freeIds.push(entry.id);
+            return true;
+        });
+        generation = current + 1;
+        limit = nextLimit();
+        return entries.size();
+    }
+
+    private static int nextLimit() {
+        return (int) Math.min(Integer.MAX_VALUE, (long) entries.size() + maxSize);
+    }
+
+    public static CategoryKey keyOf(int id) {
+        CategoryKey[] current = keys;
+        CategoryKey key = id > 0 && id < current.length ? current[id] : null;
+        if (key == null) {
+            throw new IllegalArgumentException("There is no category with id: " + id);
+        }
+        return key;
+    }
+
+    public static int size() {
+        return entries.size();
+    }
+}
@@ -1,8 +0,0 @@
-package online.strongnation.business.model.statistic;
-
-
-import online.strongnation.business.model.entity.CategoryEntity;
-
-public interface CategoryHolder {
-    CategoryEntity getCategoryEntity();
-}
@@ -0,0 +1,9 @@
+package online.strongnation.business.model.statistic;
+
+import online.strongnation.business.model.Category;
+
+public record CategoryKey(String name, String units) {
+    public static CategoryKey of(Category category) {
+        return new CategoryKey(category.getName(), category.getUnits());
+    }
+}
@@ -0,0 +1,58 @@
+package online.strongnation.business.model.statistic;
+
+import online.strongnation.business.config.Floats;
+import online.strongnation.business.exception.IllegalStatisticException;
+
+import java.math.BigDecimal;
+
+//fixed-point amounts of categories: a number with CATEGORY_SCALE digits after the point kept as unscaled long,
+//BigDecimal is used only when numbers come from or go to DTOs and entities
+public final class Cents {
+
+    private Cents() {
+    }
+
+    public static long of(BigDecimal number) {
+        if (number == null) {
+            return 0L;
+        }
+        try {
+            return number.setScale(Floats.CATEGORY_SCALE, Floats.CATEGORY_ROUNDING).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalStatisticException("Number of category is too big: " + number, e);
+        }
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, Floats.CATEGORY_SCALE);
+    }
+
+    public static long add(long one, long two) {
+        try {
+            return Math.addExact(one, two);
+        } catch (ArithmeticException e) {
+            throw overflow(one, two, e);
+        }
+    }
+
+    public static long subtract(long one, long two) {
+        try {
+            return Math.subtractExact(one, two);
+        } catch (ArithmeticException e) {
+            throw overflow(one, -two, e);
+        }
+    }
+
+    public static long negate(long cents) {
+        try {
+            return Math.negateExact(cents);
+        } catch (ArithmeticException e) {
+            throw overflow(0, cents, e);
+        }
+    }
+
+    private static IllegalStatisticException overflow(long one, long two, ArithmeticException e) {
+        String message = "Sum of categories is too big: " + toBigDecimal(one) + " + " + toBigDecimal(two);
+        return new IllegalStatisticException(message, e);
+    }
+}
@@ -0,0 +1,11 @@
+package online.strongnation.business.model.statistic;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+//scalar projection of one category of a post with the date of the post, rollups are summed from it
+public record DatedCategoryAmount(LocalDateTime date, String name, String units, BigDecimal number) {
+    public int keyId() {
+        return CategoryDictionary.idOf(name, units);
+    }
+}
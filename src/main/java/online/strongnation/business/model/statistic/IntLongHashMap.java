@@ -0,0 +1,165 @@
+package online.strongnation.business.model.statistic;
+
+import java.util.Arrays;
+
+//open addressing map of positive int keys to long values without boxing, iterates in insertion order
+public final class IntLongHashMap {
+
+    @FunctionalInterface
+    public interface IntLongConsumer {
+        void accept(int key, long value);
+    }
+
+    private static final int REMOVED = 0;
+
+    private int[] keys;//insertion ordered, REMOVED marks a removed entry
+    private long[] values;
+    private int[] slots;//position in keys + 1, 0 is an empty slot
+    private int end;
+    private int size;
+
+    public IntLongHashMap() {
+        this(8);
+    }
+
+    public IntLongHashMap(int expectedSize) {
+        allocate(Math.max(expectedSize, 4));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new long[capacity];
+        slots = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];//at least twice as many slots as positions
+        end = 0;
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int findSlot(int key) {//slot of the key or (-empty slot - 1)
+        int mask = slots.length - 1;
+        int i = hash(key) & mask;
+        while (true) {
+            int position = slots[i];
+            if (position == 0) {
+                return -i - 1;
+            }
+            if (keys[position - 1] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(int key) {
+        return findSlot(key) >= 0;
+    }
+
+    public long get(int key, long defaultValue) {
+        int slot = findSlot(key);
+        return slot < 0 ? defaultValue : values[slots[slot] - 1];
+    }
+
+    public void put(int key, long value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Key must be positive: " + key);
+        }
+        int slot = findSlot(key);
+        if (slot >= 0) {
+            values[slots[slot] - 1] = value;
+            return;
+        }
+        if (end == keys.length) {
+            rehash();
+            slot = findSlot(key);
+        }
+        keys[end] = key;
+        values[end] = value;
+        slots[-slot - 1] = ++end;
+        size++;
+    }
+
+    public long remove(int key, long defaultValue) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return defaultValue;
+        }
+        int position = slots[slot] - 1;
+        keys[position] = REMOVED;
+        size--;
+        shiftBack(slot);
+        return values[position];
+    }
+
+    //backward shift deletion, probe sequences stay valid without tombstones
+    private void shiftBack(int slot) {
+        int mask = slots.length - 1;
+        int hole = slot;
+        int i = slot;
+        while (true) {
+            i = (i + 1) & mask;
+            int position = slots[i];
+            if (position == 0) {
+                break;
+            }
+            int home = hash(keys[position - 1]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                slots[hole] = position;
+                hole = i;
+            }
+        }
+        slots[hole] = 0;
+    }
+
+    private void rehash() {//compacts removed entries, grows only when at least half of the positions are alive
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        int oldEnd = end;
+        allocate(size * 2 > oldKeys.length ? oldKeys.length * 2 : oldKeys.length);
+        for (int i = 0; i < oldEnd; i++) {
+            int key = oldKeys[i];
+            if (key != REMOVED) {
+                keys[end] = key;
+                values[end] = oldValues[i];
+                slots[-findSlot(key) - 1] = ++end;
+            }
+        }
+    }
+
+    public void forEach(IntLongConsumer action) {//the map must not be changed by the action
+        for (int i = 0; i < end; i++) {
+            if (keys[i] != REMOVED) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public boolean anyValueLessThan(long bound) {
+        for (int i = 0; i < end; i++) {
+            if (keys[i] != REMOVED && values[i] < bound) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public IntLongHashMap copy() {
+        IntLongHashMap copy = new IntLongHashMap(1);
+        copy.keys = Arrays.copyOf(keys, keys.length);
+        copy.values = Arrays.copyOf(values, values.length);
+        copy.slots = Arrays.copyOf(slots, slots.length);
+        copy.end = end;
+        copy.size = size;
+        return copy;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
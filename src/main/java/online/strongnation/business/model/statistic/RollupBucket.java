@@ -0,0 +1,6 @@
+package online.strongnation.business.model.statistic;
+
+import java.time.LocalDate;
+
+public record RollupBucket(RollupScope scope, Long ownerId, RollupGranularity granularity, LocalDate bucket) {
+}
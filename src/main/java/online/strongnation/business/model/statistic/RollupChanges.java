@@ -0,0 +1,55 @@
+package online.strongnation.business.model.statistic;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+//pending changes of daily and monthly rollups, merged by bucket so each bucket is written once
+public final class RollupChanges {
+    private final Map<RollupBucket, StatisticDelta> changes = new LinkedHashMap<>();
+
+    public RollupChanges add(Long regionId, Long countryId, LocalDateTime date, StatisticDelta delta) {
+        if (delta.isEmpty()) {
+            return this;
+        }
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            LocalDate bucket = granularity.bucketOf(date);
+            add(new RollupBucket(RollupScope.REGION, regionId, granularity, bucket), delta);
+            add(new RollupBucket(RollupScope.COUNTRY, countryId, granularity, bucket), delta);
+        }
+        return this;
+    }
+
+    public RollupChanges add(RollupBucket bucket, StatisticDelta delta) {
+        changes.computeIfAbsent(bucket, b -> StatisticDelta.empty()).merge(delta);
+        return this;
+    }
+
+    public RollupChanges add(RollupBucket bucket, int keyId, long cents) {
+        changes.computeIfAbsent(bucket, b -> StatisticDelta.empty()).add(keyId, cents);
+        return this;
+    }
+
+    //changes of the buckets of a region, added to the same buckets of its country as well
+    public RollupChanges addOfRegion(Long countryId, RollupChanges ofRegion) {
+        ofRegion.changes.forEach((bucket, delta) -> {
+            add(bucket, delta);
+            add(new RollupBucket(RollupScope.COUNTRY, countryId, bucket.granularity(), bucket.bucket()), delta);
+        });
+        return this;
+    }
+
+    public void forEach(BiConsumer<RollupBucket, StatisticDelta> action) {
+        changes.forEach((bucket, delta) -> {
+            if (!delta.isEmpty()) {
+                action.accept(bucket, delta);
+            }
+        });
+    }
+
+    public boolean isEmpty() {
+        return changes.values().stream().allMatch(StatisticDelta::isEmpty);
+    }
+}
@@ -0,0 +1,27 @@
+package online.strongnation.business.model.statistic;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum RollupGranularity {
+    DAY(ChronoUnit.DAYS), MONTH(ChronoUnit.MONTHS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public LocalDate bucketOf(LocalDateTime date) {
+        return bucketOf(date.toLocalDate());
+    }
+
+    public LocalDate bucketOf(LocalDate date) {//first day of the bucket that contains the date
+        return this == MONTH ? date.withDayOfMonth(1) : date;
+    }
+
+    public long bucketsBetween(LocalDate from, LocalDate to) {
+        return unit.between(bucketOf(from), bucketOf(to)) + 1;
+    }
+}
@@ -0,0 +1,5 @@
+package online.strongnation.business.model.statistic;
+
+public enum RollupScope {
+    REGION, COUNTRY
+}
@@ -0,0 +1,113 @@
+package online.strongnation.business.model.statistic;
+
+import online.strongnation.business.model.Category;
+import online.strongnation.business.model.dto.CategoryDTO;
+
+import java.util.Collection;
+import java.util.function.ObjLongConsumer;
+
+public final class StatisticDelta {
+    //signed change in cents by id of the category in CategoryDictionary, zero changes are not kept
+    private final IntLongHashMap changes;
+
+    private StatisticDelta(IntLongHashMap changes) {
+        this.changes = changes;
+    }
+
+    public static StatisticDelta empty() {
+        return new StatisticDelta(new IntLongHashMap());
+    }
+
+    public static StatisticDelta of(Collection<? extends Category> categories) {
+        StatisticDelta delta = new StatisticDelta(new IntLongHashMap(capacity(categories)));
+        if (categories != null) {
+            categories.forEach(delta::add);
+        }
+        return delta;
+    }
+
+    public static StatisticDelta negated(Collection<? extends Category> categories) {
+        StatisticDelta delta = new StatisticDelta(new IntLongHashMap(capacity(categories)));
+        if (categories != null) {
+            categories.forEach(delta::subtract);
+        }
+        return delta;
+    }
+
+    private static int capacity(Collection<?> categories) {
+        return categories == null ? 0 : categories.size();
+    }
+
+    public StatisticDelta add(Category category) {
+        return add(category.keyId(), Cents.of(category.getNumber()));
+    }
+
+    public StatisticDelta subtract(Category category) {
+        return add(category.keyId(), Cents.negate(Cents.of(category.getNumber())));
+    }
+
+    public StatisticDelta add(CategoryKey key, long cents) {
+        return add(CategoryDictionary.idOf(key), cents);
+    }
+
+    public StatisticDelta add(int keyId, long cents) {
+        if (cents == 0) {
+            return this;
+        }
+        long sum = Cents.add(changes.get(keyId, 0L), cents);
+        if (sum == 0) {
+            changes.remove(keyId, 0L);
+        } else {
+            changes.put(keyId, sum);
+        }
+        return this;
+    }
+
+    public StatisticDelta merge(StatisticDelta other) {
+        other.changes.forEach(this::add);
+        return this;
+    }
+
+    public StatisticDelta copy() {
+        return new StatisticDelta(changes.copy());
+    }
+
+    public long cents(CategoryKey key) {
+        int keyId = CategoryDictionary.find(key);
+        return keyId == CategoryDictionary.NONE ? 0L : changes.get(keyId, 0L);
+    }
+
+    public long remove(int keyId) {//returns the removed change, 0 if there was no change of the category
+        return changes.remove(keyId, 0L);
+    }
+
+    public void forEach(ObjLongConsumer<CategoryKey> action) {
+        changes.forEach((keyId, cents) -> action.accept(CategoryDictionary.keyOf(keyId), cents));
+    }
+
+    public boolean hasDecrease() {
+        return changes.anyValueLessThan(0L);
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public int size() {
+        return changes.size();
+    }
+
+    public static CategoryDTO toCategory(CategoryKey key, long cents) {
+        return new CategoryDTO(key.name(), Cents.toBigDecimal(cents), key.units());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("StatisticDelta{");
+        forEach((key, cents) -> builder.append(key).append('=').append(Cents.toBigDecimal(cents)).append(", "));
+        if (!changes.isEmpty()) {
+            builder.setLength(builder.length() - 2);
+        }
+        return builder.append('}').toString();
+    }
+}
@@ -1,11 +1,30 @@
 package online.strongnation.business.model.statistic;
 
 import online.strongnation.business.model.dto.CategoryDTO;
+import online.strongnation.business.model.entity.CategoryEntity;
 
-import java.util.List;
+import java.util.Collection;
 
 public interface StatisticEntity {
-    List<? extends CategoryHolder> getCategories();
+    Collection<CategoryEntity> getCategories();
 
     void addCategory(CategoryDTO category);
+
+    //null if there is no category with the name and units, owners of many categories look it up by an index
+    default CategoryEntity getCategory(CategoryKey key) {
+        for (CategoryEntity category : getCategories()) {
+            if (key.equals(CategoryKey.of(category))) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    default void removeCategory(CategoryEntity category) {
+        getCategories().remove(category);
+    }
+
+    default void clearCategories() {
+        getCategories().clear();
+    }
 }
@@ -1,7 +0,0 @@
-package online.strongnation.business.repository;
-
-import online.strongnation.business.model.entity.CategoryEntity;
-import org.springframework.data.jpa.repository.JpaRepository;
-
-public interface CategoryRepository extends JpaRepository<CategoryEntity, Long> {
-}
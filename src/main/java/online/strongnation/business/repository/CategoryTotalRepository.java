@@ -0,0 +1,18 @@
+package online.strongnation.business.repository;
+
+import java.math.BigDecimal;
+
+//every statement touches only the category table of the owner, units are passed as '' when null
+//(owner, name, units) is a unique key of the table, so the upsert is atomic for concurrent writers,
+//databases without INSERT ... ON CONFLICT lock the owner row and then update or insert
+public interface CategoryTotalRepository {
+    int upsertCategory(Long ownerId, String name, String units, BigDecimal delta);
+
+    Long lockOwner(Long ownerId);
+
+    int addToCategory(Long ownerId, String name, String units, BigDecimal delta);
+
+    int insertCategory(Long ownerId, String name, String units, BigDecimal number);
+
+    int deleteNonPositiveCategories(Long ownerId);
+}
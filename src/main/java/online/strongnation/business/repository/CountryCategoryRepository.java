@@ -0,0 +1,39 @@
+package online.strongnation.business.repository;
+
+import online.strongnation.business.model.entity.Country;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.math.BigDecimal;
+
+public interface CountryCategoryRepository extends Repository<Country, Long>, CategoryTotalRepository {
+
+    @Override
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO country_category_amount AS t (country_id, name, units, number)" +
+            " VALUES (:ownerId, :name, :units, :delta)" +
+            " ON CONFLICT (country_id, name, units) DO UPDATE SET number = t.number + EXCLUDED.number", nativeQuery = true)
+    int upsertCategory(Long ownerId, String name, String units, BigDecimal delta);
+
+    @Override
+    @Query(value = "SELECT id FROM country WHERE id = :ownerId FOR UPDATE", nativeQuery = true)
+    Long lockOwner(Long ownerId);
+
+    @Override
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE country_category_amount SET number = number + :delta" +
+            " WHERE country_id = :ownerId AND name = :name AND units = :units", nativeQuery = true)
+    int addToCategory(Long ownerId, String name, String units, BigDecimal delta);
+
+    @Override
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO country_category_amount (country_id, name, units, number)" +
+            " VALUES (:ownerId, :name, :units, :number)", nativeQuery = true)
+    int insertCategory(Long ownerId, String name, String units, BigDecimal number);
+
+    @Override
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM country_category_amount WHERE country_id = :ownerId AND number <= 0", nativeQuery = true)
+    int deleteNonPositiveCategories(Long ownerId);
+}
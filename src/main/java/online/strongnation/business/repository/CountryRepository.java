@@ -1,7 +1,11 @@
 package online.strongnation.business.repository;
 
+import online.strongnation.business.model.LocationName;
 import online.strongnation.business.model.dto.CountryDTO;
 import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.model.statistic.CategoryAmount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -11,25 +15,83 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
 
+import static online.strongnation.business.config.NameProperties.toLookupName;
+
 @Repository
 public interface CountryRepository extends JpaRepository<Country, Long> {
     Optional<Country> findCountryByName(String name);
 
-    Optional<Country> findCountryByNameIgnoreCase(String name);
+    //case-insensitive lookups compare lookup names, so they use the unique index of the lookup name
+
+    Optional<Country> findCountryByLookupName(String lookupName);
+
+    default Optional<Country> findCountryByNameIgnoreCase(String name) {
+        return findCountryByLookupName(toLookupName(name));
+    }
+
+    boolean existsCountryByLookupName(String lookupName);
+
+    default boolean existsCountryByNameIgnoreCase(String name) {
+        return existsCountryByLookupName(toLookupName(name));
+    }
 
-    boolean existsCountryByNameIgnoreCase(String name);
+    @Query("select c.id from Country c where c.lookupName = :lookupName")
+    Optional<Long> getIdByLookupName(String lookupName);
 
-    @Query("select c.id from Country c where upper(c.name) = upper(:name)")
-    Optional<Long> getIdByNameIgnoreCase(String name);
+    default Optional<Long> getIdByNameIgnoreCase(String name) {
+        return getIdByLookupName(toLookupName(name));
+    }
 
     @Modifying
-    @Query("update Country c set c.name = :new where lower(c.name) = lower(:old)")
-    void updateNameOfCountry(@Param("old") String oldName, @Param("new") String newName);
+    @Query("update Country c set c.name = :new, c.lookupName = :newLookup where c.lookupName = :old")
+    void updateNameOfCountryByLookupName(@Param("old") String oldLookupName, @Param("new") String newName,
+                                         @Param("newLookup") String newLookupName);
+
+    default void updateNameOfCountry(String oldName, String newName) {
+        updateNameOfCountryByLookupName(toLookupName(oldName), newName, toLookupName(newName));
+    }
+
+    @Modifying
+    @Query("update Country c set c.name = :newName, c.lookupName = :newLookupName where c.id = :id")
+    void updateNameAndLookupNameOfCountryById(Long id, String newName, String newLookupName);
+
+    default void updateNameOfCountryById(Long id, String newName) {
+        updateNameAndLookupNameOfCountryById(id, newName, toLookupName(newName));
+    }
 
     @Query("select new online.strongnation.business.model.dto.CountryDTO(c)" +
-            " from Country c where upper(c.name) = upper(:name)")
-    Optional<CountryDTO> findCountryDTOByNameIgnoreCase(String name);
+            " from Country c where c.lookupName = :lookupName")
+    Optional<CountryDTO> findCountryDTOByLookupName(String lookupName);
+
+    default Optional<CountryDTO> findCountryDTOByNameIgnoreCase(String name) {
+        return findCountryDTOByLookupName(toLookupName(name));
+    }
+
+    @Query("select new online.strongnation.business.model.dto.CountryDTO(c) from Country c where c.id = :id")
+    Optional<CountryDTO> findCountryDTOById(Long id);
+
+    @EntityGraph(attributePaths = "categories")
+    @Query("SELECT c FROM Country c WHERE c.id = :id")
+    Optional<Country> findWithCategoriesById(Long id);
+
+    @Query("SELECT new online.strongnation.business.model.LocationName(c.id, c.name, reg.id, reg.name)" +
+            " FROM Country c LEFT JOIN c.regions reg")
+    List<LocationName> findAllLocationNames();
+
+    @Query("select c from Country c where c.lookupName is null")
+    List<Country> findAllWithoutLookupName();
 
     @Query("select new online.strongnation.business.model.dto.CountryDTO(c) from Country c")
     List<CountryDTO> findAllDTO();
-}
\ No newline at end of file
+
+    @Query("SELECT c.id FROM Country c WHERE c.id > :id ORDER BY c.id")
+    List<Long> findIdsAfter(Long id, Pageable pageable);
+
+    @Query("SELECT new online.strongnation.business.model.statistic.CategoryAmount(cat.name, cat.units, cat.number)" +
+            " FROM Country c JOIN c.categories cat WHERE c.id = :id")
+    List<CategoryAmount> findCategoryAmountsByCountryId(Long id);
+
+    @Query("SELECT new online.strongnation.business.model.statistic.CategoryAmount(cat.name, cat.units, SUM(cat.number))" +
+            " FROM Country c JOIN c.categories cat GROUP BY cat.name, cat.units")
+    List<CategoryAmount> sumAllCategoryAmounts();
+}
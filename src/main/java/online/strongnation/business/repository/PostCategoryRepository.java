@@ -1,7 +0,0 @@
-package online.strongnation.business.repository;
-
-import online.strongnation.business.model.entity.PostCategory;
-import org.springframework.data.jpa.repository.JpaRepository;
-
-public interface PostCategoryRepository extends JpaRepository<PostCategory, Long> {
-}
@@ -0,0 +1,13 @@
+package online.strongnation.business.repository;
+
+import online.strongnation.business.model.PostCursor;
+import online.strongnation.business.model.PostFilter;
+import online.strongnation.business.model.dto.GetPostResponseByCountryDTO;
+
+import java.util.List;
+
+public interface PostQueryRepository {
+    //posts after the cursor ordered by date and id, both descending, the cursor can be null
+    List<GetPostResponseByCountryDTO> findGetPostResponseByCountryDTOByFilter(PostFilter filter, PostCursor after,
+                                                                              int limit);
+}
@@ -0,0 +1,77 @@
+package online.strongnation.business.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import online.strongnation.business.model.PostCursor;
+import online.strongnation.business.model.PostFilter;
+import online.strongnation.business.model.dto.GetPostResponseByCountryDTO;
+import online.strongnation.business.model.entity.CategoryEntity;
+import online.strongnation.business.model.entity.Post;
+import online.strongnation.business.model.entity.Region;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+//only the given filters become predicates, so the database gets one query that its indexes can serve
+public class PostQueryRepositoryImpl implements PostQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<GetPostResponseByCountryDTO> findGetPostResponseByCountryDTOByFilter(PostFilter filter,
+                                                                                     PostCursor after,
+                                                                                     int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<GetPostResponseByCountryDTO> query = builder.createQuery(GetPostResponseByCountryDTO.class);
+        Root<Post> post = query.from(Post.class);
+        Join<Post, Region> region = post.join("region");
+        Path<LocalDateTime> date = post.get("date");
+        Path<Long> id = post.get("id");
+        List<Predicate> where = new ArrayList<>();
+        where.add(builder.equal(region.get("country").get("id"), filter.countryId()));
+        if (filter.regionId() != null) {
+            where.add(builder.equal(region.get("id"), filter.regionId()));
+        }
+        if (filter.from() != null) {
+            where.add(builder.greaterThanOrEqualTo(date, filter.from()));
+        }
+        if (filter.to() != null) {
+            where.add(builder.lessThan(date, filter.to()));
+        }
+        if (filter.important() != null) {
+            where.add(builder.equal(post.get("important"), filter.important()));
+        }
+        if (filter.category() != null || filter.minAmount() != null) {
+            where.add(builder.exists(categoryOf(builder, query, post, filter)));
+        }
+        if (after != null) {
+            where.add(builder.or(builder.lessThan(date, after.date()),
+                    builder.and(builder.equal(date, after.date()), builder.lessThan(id, after.id()))));
+        }
+        query.select(builder.construct(GetPostResponseByCountryDTO.class,
+                        id, post.get("description"), post.get("link"), date, post.get("important"),
+                        region.get("name")))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(builder.desc(date), builder.desc(id));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private static Subquery<Integer> categoryOf(CriteriaBuilder builder, CriteriaQuery<?> query, Root<Post> post,
+                                                PostFilter filter) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<Post> correlated = subquery.correlate(post);
+        Join<Post, CategoryEntity> category = correlated.join("categories");
+        List<Predicate> where = new ArrayList<>(2);
+        if (filter.category() != null) {
+            where.add(builder.equal(category.get("name"), filter.category()));
+        }
+        if (filter.minAmount() != null) {
+            where.add(builder.greaterThanOrEqualTo(category.<BigDecimal>get("number"), filter.minAmount()));
+        }
+        return subquery.select(builder.literal(1)).where(where.toArray(Predicate[]::new));
+    }
+}
@@ -1,39 +1,159 @@
 package online.strongnation.business.repository;
 
+import jakarta.persistence.QueryHint;
+import online.strongnation.business.model.PostCursor;
+import online.strongnation.business.model.dto.GetImportantPostResponse;
 import online.strongnation.business.model.dto.GetPostResponse;
 import online.strongnation.business.model.dto.GetPostResponseByCountryDTO;
 import online.strongnation.business.model.dto.PostDTO;
 import online.strongnation.business.model.entity.Post;
-import online.strongnation.business.model.entity.Region;
+import online.strongnation.business.model.statistic.CategoryAmount;
+import online.strongnation.business.model.statistic.DatedCategoryAmount;
+import online.strongnation.business.search.IndexedPost;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>, PostQueryRepository {
 
-    @Query("SELECT new online.strongnation.business.model.dto.GetPostResponse(post)" +
-            " FROM Post post JOIN post.region reg WHERE reg.id = :id")
+    @Query("SELECT new online.strongnation.business.model.dto.GetPostResponse(" +
+            "post.id, post.description, post.link, post.date, post.important)" +
+            " FROM Post post JOIN post.region reg WHERE reg.id = :id ORDER BY post.date DESC, post.id DESC")
     List<GetPostResponse> findGetPostResponseAllByRegionId(Long id);
 
-    @Query("SELECT new online.strongnation.business.model.dto.GetPostResponseByCountryDTO(post)" +
-            " FROM Post post JOIN post.region.country c WHERE c.id = :id")
+    @Query("SELECT new online.strongnation.business.model.dto.GetPostResponseByCountryDTO(" +
+            "post.id, post.description, post.link, post.date, post.important, reg.name)" +
+            " FROM Post post JOIN post.region reg WHERE reg.country.id = :id ORDER BY post.date DESC, post.id DESC")
     List<GetPostResponseByCountryDTO> findAllGetPostResponseByCountryDTObyCountryId(Long id);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new online.strongnation.business.model.dto.GetPostResponseByCountryDTO(" +
+            "post.id, post.description, post.link, post.date, post.important, reg.name)" +
+            " FROM Post post JOIN post.region reg WHERE reg.country.id = :id ORDER BY post.date DESC, post.id DESC")
+    Stream<GetPostResponseByCountryDTO> streamGetPostResponseByCountryDTOByCountryId(Long id);
+
+    @Query("SELECT new online.strongnation.business.model.dto.GetPostResponse(" +
+            "post.id, post.description, post.link, post.date, post.important)" +
+            " FROM Post post WHERE post.region.id = :id ORDER BY post.date DESC, post.id DESC")
+    List<GetPostResponse> findGetPostResponsePageByRegionId(Long id, Pageable pageable);
+
+    @Query("SELECT new online.strongnation.business.model.dto.GetPostResponse(" +
+            "post.id, post.description, post.link, post.date, post.important)" +
+            " FROM Post post WHERE post.region.id = :id" +
+            " AND (post.date < :date OR (post.date = :date AND post.id < :postId))" +
+            " ORDER BY post.date DESC, post.id DESC")
+    List<GetPostResponse> findGetPostResponsePageByRegionIdAfter(Long id, LocalDateTime date, Long postId,
+                                                                 Pageable pageable);
+
+    @Query("SELECT new online.strongnation.business.model.dto.GetPostResponseByCountryDTO(" +
+            "post.id, post.description, post.link, post.date, post.important, reg.name)" +
+            " FROM Post post JOIN post.region reg WHERE reg.country.id = :id ORDER BY post.date DESC, post.id DESC")
+    List<GetPostResponseByCountryDTO> findGetPostResponseByCountryDTOPageByCountryId(Long id, Pageable pageable);
+
+    @Query("SELECT new online.strongnation.business.model.dto.GetPostResponseByCountryDTO(" +
+            "post.id, post.description, post.link, post.date, post.important, reg.name)" +
+            " FROM Post post JOIN post.region reg WHERE reg.country.id = :id" +
+            " AND (post.date < :date OR (post.date = :date AND post.id < :postId))" +
+            " ORDER BY post.date DESC, post.id DESC")
+    List<GetPostResponseByCountryDTO> findGetPostResponseByCountryDTOPageByCountryIdAfter(Long id, LocalDateTime date,
+                                                                                          Long postId,
+                                                                                          Pageable pageable);
+
+    @Query("SELECT new online.strongnation.business.model.dto.GetPostResponseByCountryDTO(" +
+            "post.id, post.description, post.link, post.date, post.important, reg.name)" +
+            " FROM Post post JOIN post.region reg WHERE post.id IN :ids")
+    List<GetPostResponseByCountryDTO> findGetPostResponseByCountryDTOByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new online.strongnation.business.model.dto.GetPostResponseByCountryDTO(" +
+            "post.id, post.description, post.link, post.date, post.important, reg.name)" +
+            " FROM Post post JOIN post.region reg WHERE reg.country.id = :countryId" +
+            " AND (:regionId IS NULL OR reg.id = :regionId) AND post.date >= :from AND post.date < :to" +
+            " AND LOWER(post.description) LIKE :pattern ORDER BY post.date DESC, post.id DESC")
+    List<GetPostResponseByCountryDTO> findGetPostResponseByCountryDTOByDescriptionLike(Long countryId, Long regionId,
+                                                                                       LocalDateTime from,
+                                                                                       LocalDateTime to,
+                                                                                       String pattern,
+                                                                                       Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new online.strongnation.business.search.IndexedPost(" +
+            "post.id, post.description, post.date, reg.id, reg.country.id) FROM Post post JOIN post.region reg")
+    Stream<IndexedPost> streamIndexedPosts();
+
+    @Query("SELECT new online.strongnation.business.search.IndexedPost(" +
+            "post.id, post.description, post.date, reg.id, reg.country.id)" +
+            " FROM Post post JOIN post.region reg WHERE post.id IN :ids")
+    List<IndexedPost> findIndexedPostsByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new online.strongnation.business.model.dto.GetImportantPostResponse(" +
+            "post.id, post.description, post.link, post.date, reg.name, c.name)" +
+            " FROM Post post JOIN post.region reg JOIN reg.country c WHERE post.id IN :ids")
+    List<GetImportantPostResponse> findGetImportantPostResponseByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new online.strongnation.business.model.PostCursor(post.date, post.id)" +
+            " FROM Post post WHERE post.important = true")
+    List<PostCursor> findCursorsOfImportantPosts();
+
+    @Query("SELECT new online.strongnation.business.model.PostCursor(post.date, post.id)" +
+            " FROM Post post WHERE post.important = true AND post.id IN :ids")
+    List<PostCursor> findCursorsOfImportantPostsByIdIn(Collection<Long> ids);
+
     @Query("SELECT post FROM Post post JOIN post.region reg WHERE reg.id = :id")
     List<Post> findAllByRegionId(Long id);
 
+    @Query("SELECT DISTINCT post FROM Post post LEFT JOIN FETCH post.categories" +
+            " LEFT JOIN FETCH post.postPhoto WHERE post.region.id = :id")
+    List<Post> findAllWithCategoriesAndPhotoByRegionId(Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new online.strongnation.business.model.statistic.DatedCategoryAmount(post.date, c.name, c.units, c.number)" +
+            " FROM Post post JOIN post.categories c WHERE post.region.id = :id")
+    Stream<DatedCategoryAmount> streamDatedCategoryAmountsByRegionId(Long id);
+
+    long countByRegionId(Long id);
+
+    @Query("SELECT COUNT(c) FROM Post post JOIN post.categories c")
+    long countCategories();
+
+    @Query("SELECT MAX(post.date) FROM Post post WHERE post.region.id = :id")
+    Optional<LocalDateTime> findLatestPostDateByRegionId(Long id);
+
+    @Query("SELECT MAX(post.date) FROM Post post WHERE post.region.id = :id AND post.id <> :postId")
+    Optional<LocalDateTime> findLatestPostDateByRegionIdExcept(Long id, Long postId);
+
+    @Query("SELECT new online.strongnation.business.model.statistic.CategoryAmount(c.name, c.units, SUM(c.number))" +
+            " FROM Post post JOIN post.categories c WHERE post.region.id = :id" +
+            " GROUP BY c.name, c.units")
+    List<CategoryAmount> sumCategoryAmountsByRegionId(Long id);
+
     @Query("select new online.strongnation.business.model.dto.PostDTO(p) from Post p where p.id = :id")
     Optional<PostDTO> findPostDTOById(Long id);
 
-    @Query("SELECT reg FROM Post p JOIN p.region reg WHERE p.id = :id")
-    Optional<Region> findRegionOfPostById(Long id);
+    //the bag of post categories is the only collection here, a joined set would repeat its rows
+    @EntityGraph(attributePaths = {"categories", "region"})
+    @Query("SELECT p FROM Post p WHERE p.id = :id")
+    Optional<Post> findWithCategoriesAndRegionById(Long id);
+
+    @Query("SELECT p.region.country.id FROM Post p WHERE p.id = :id")
+    Optional<Long> findCountryIdOfPostById(Long id);
 
     @Modifying
     @Query("update Post p set p.important = :important where p.id = :id")
     void setImportantOfPostById(Long id, Boolean important);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM post_category_amount WHERE post_id IN (:ids)", nativeQuery = true)
+    int deleteCategoriesByPostIdIn(Collection<Long> ids);
 }
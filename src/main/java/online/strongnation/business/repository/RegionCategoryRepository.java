@@ -1,7 +1,39 @@
 package online.strongnation.business.repository;
 
-import online.strongnation.business.model.entity.RegionCategory;
-import org.springframework.data.jpa.repository.JpaRepository;
+import online.strongnation.business.model.entity.Region;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
 
-public interface RegionCategoryRepository extends JpaRepository<RegionCategory, Long> {
+import java.math.BigDecimal;
+
+public interface RegionCategoryRepository extends Repository<Region, Long>, CategoryTotalRepository {
+
+    @Override
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO region_category_amount AS t (region_id, name, units, number)" +
+            " VALUES (:ownerId, :name, :units, :delta)" +
+            " ON CONFLICT (region_id, name, units) DO UPDATE SET number = t.number + EXCLUDED.number", nativeQuery = true)
+    int upsertCategory(Long ownerId, String name, String units, BigDecimal delta);
+
+    @Override
+    @Query(value = "SELECT id FROM region WHERE id = :ownerId FOR UPDATE", nativeQuery = true)
+    Long lockOwner(Long ownerId);
+
+    @Override
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE region_category_amount SET number = number + :delta" +
+            " WHERE region_id = :ownerId AND name = :name AND units = :units", nativeQuery = true)
+    int addToCategory(Long ownerId, String name, String units, BigDecimal delta);
+
+    @Override
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO region_category_amount (region_id, name, units, number)" +
+            " VALUES (:ownerId, :name, :units, :number)", nativeQuery = true)
+    int insertCategory(Long ownerId, String name, String units, BigDecimal number);
+
+    @Override
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM region_category_amount WHERE region_id = :ownerId AND number <= 0", nativeQuery = true)
+    int deleteNonPositiveCategories(Long ownerId);
 }
@@ -1,9 +1,14 @@
 package online.strongnation.business.repository;
 
+import jakarta.persistence.LockModeType;
 import online.strongnation.business.model.dto.RegionDTO;
 import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.model.statistic.CategoryAmount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import online.strongnation.business.model.entity.Region;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -11,28 +16,76 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
 
+import static online.strongnation.business.config.NameProperties.toLookupName;
+
 @Repository
 public interface RegionRepository extends JpaRepository<Region, Long> {
     Optional<Region> findFirstByName(String name);
 
     boolean existsRegionByName(String name);
 
+    //case-insensitive lookups compare lookup names, a region is found by the unique index of its country and name
+
     @Query("SELECT COUNT(reg)>0 FROM Region reg JOIN reg.country c" +
-            " WHERE LOWER(reg.name) = LOWER(:region) AND LOWER(c.name)=LOWER(:country)")
-    boolean existsRegionInCountryByNamesIgnoringCase(String country, String region);
+            " WHERE reg.lookupName = :region AND c.lookupName = :country")
+    boolean existsRegionInCountryByLookupNames(String country, String region);
+
+    default boolean existsRegionInCountryByNamesIgnoringCase(String country, String region) {
+        return existsRegionInCountryByLookupNames(toLookupName(country), toLookupName(region));
+    }
+
+    @Query("SELECT reg.id FROM Region reg WHERE reg.country.id = :countryId AND reg.lookupName = :lookupName")
+    Optional<Long> getIdByCountryIdAndLookupName(Long countryId, String lookupName);
+
+    @Query("SELECT reg.name FROM Region reg WHERE reg.country.id = :id")
+    List<String> findNamesByCountryId(Long id);
 
     @Query("SELECT new online.strongnation.business.model.dto.RegionDTO(reg)" +
             " FROM Region reg JOIN reg.country c " +
-            "WHERE UPPER(c.name) = UPPER(:country) AND UPPER(reg.name) = UPPER(:region)")
-    Optional<RegionDTO> findRegionDTOInCountryByNamesIgnoringCase(String country, String region);
+            "WHERE c.lookupName = :country AND reg.lookupName = :region")
+    Optional<RegionDTO> findRegionDTOInCountryByLookupNames(String country, String region);
+
+    default Optional<RegionDTO> findRegionDTOInCountryByNamesIgnoringCase(String country, String region) {
+        return findRegionDTOInCountryByLookupNames(toLookupName(country), toLookupName(region));
+    }
 
+    @EntityGraph(attributePaths = "categories")
     @Query("SELECT reg FROM Region reg JOIN reg.country c " +
-            "WHERE UPPER(c.name) = UPPER(:country) AND UPPER(reg.name) = UPPER(:region)")
-    Optional<Region> findRegionInCountryByNamesIgnoringCase(String country, String region);
+            "WHERE c.lookupName = :country AND reg.lookupName = :region")
+    Optional<Region> findRegionInCountryByLookupNames(String country, String region);
 
+    default Optional<Region> findRegionInCountryByNamesIgnoringCase(String country, String region) {
+        return findRegionInCountryByLookupNames(toLookupName(country), toLookupName(region));
+    }
+
+    //the categories of the country are read by a second query, joined here they would multiply the region rows
+    @EntityGraph(attributePaths = {"categories", "country"})
+    @Query("SELECT reg FROM Region reg WHERE reg.id = :id")
+    Optional<Region> findWithCategoriesAndCountryById(Long id);
+
+    @EntityGraph(attributePaths = "country")
+    @Query("SELECT reg FROM Region reg WHERE reg.id = :id")
+    Optional<Region> findWithCountryById(Long id);
+
+    //writers of posts bump the counter of their region first, the row stays locked until they commit
     @Modifying
-    @Query("update Region reg set reg.name = :newName where reg.id = :id")
-    void updateNameOfRegionById(Long id, String newName);
+    @Query("UPDATE Region reg SET reg.postWrites = reg.postWrites + 1 WHERE reg.id = :id")
+    void countPostWrite(Long id);
+
+    @Query("SELECT reg.postWrites FROM Region reg WHERE reg.id = :id")
+    Optional<Long> findPostWritesById(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT reg FROM Region reg")
+    List<Region> findAllForUpdate();
+
+    @Modifying
+    @Query("update Region reg set reg.name = :newName, reg.lookupName = :newLookupName where reg.id = :id")
+    void updateNameAndLookupNameOfRegionById(Long id, String newName, String newLookupName);
+
+    default void updateNameOfRegionById(Long id, String newName) {
+        updateNameAndLookupNameOfRegionById(id, newName, toLookupName(newName));
+    }
 
     @Query("SELECT new online.strongnation.business.model.dto.RegionDTO(reg)" +
             " FROM Region reg WHERE reg.id = :id")
@@ -40,9 +93,38 @@ public interface RegionRepository extends JpaRepository<Region, Long> {
 
     @Query("SELECT new online.strongnation.business.model.dto.RegionDTO(reg)" +
             " FROM Region reg JOIN reg.country c " +
-            "WHERE UPPER(c.name) = UPPER(:country)")
-    List<RegionDTO> findAllRegionDTOByCountryNameIgnoringCase(String country);
+            "WHERE c.lookupName = :country")
+    List<RegionDTO> findAllRegionDTOByCountryLookupName(String country);
+
+    default List<RegionDTO> findAllRegionDTOByCountryNameIgnoringCase(String country) {
+        return findAllRegionDTOByCountryLookupName(toLookupName(country));
+    }
+
+    @Query("SELECT new online.strongnation.business.model.dto.RegionDTO(reg)" +
+            " FROM Region reg WHERE reg.country.id = :id")
+    List<RegionDTO> findAllRegionDTOByCountryId(Long id);
+
+    @Query("SELECT reg FROM Region reg WHERE reg.lookupName IS NULL ORDER BY reg.id")
+    List<Region> findWithoutLookupName(Pageable pageable);
 
     @Query("SELECT c FROM Region reg JOIN reg.country c WHERE reg.id = :id")
     Optional<Country> findCountryOfRegionById(Long id);
+
+    @Query("SELECT reg.country.id FROM Region reg WHERE reg.id = :id")
+    Optional<Long> findCountryIdOfRegionById(Long id);
+
+    @Query("SELECT reg.id FROM Region reg")
+    List<Long> findAllIds();
+
+    @Query("SELECT reg.id FROM Region reg WHERE reg.id > :id ORDER BY reg.id")
+    List<Long> findIdsAfter(Long id, Pageable pageable);
+
+    @Query("SELECT new online.strongnation.business.model.statistic.CategoryAmount(c.name, c.units, c.number)" +
+            " FROM Region reg JOIN reg.categories c WHERE reg.id = :id")
+    List<CategoryAmount> findCategoryAmountsByRegionId(Long id);
+
+    @Query("SELECT new online.strongnation.business.model.statistic.CategoryAmount(c.name, c.units, SUM(c.number))" +
+            " FROM Region reg JOIN reg.categories c WHERE reg.country.id = :id" +
+            " GROUP BY c.name, c.units")
+    List<CategoryAmount> sumCategoryAmountsByCountryId(Long id);
 }
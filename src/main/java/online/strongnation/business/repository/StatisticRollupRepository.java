@@ -0,0 +1,33 @@
+package online.strongnation.business.repository;
+
+import online.strongnation.business.model.entity.StatisticRollup;
+import online.strongnation.business.model.statistic.RollupGranularity;
+import online.strongnation.business.model.statistic.RollupScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface StatisticRollupRepository extends JpaRepository<StatisticRollup, Long> {
+    List<StatisticRollup> findAllByScopeAndOwnerIdAndGranularityAndBucket(RollupScope scope, Long ownerId,
+                                                                          RollupGranularity granularity,
+                                                                          LocalDate bucket);
+
+    List<StatisticRollup> findAllByScopeAndOwnerId(RollupScope scope, Long ownerId);
+
+    List<StatisticRollup> findAllByScopeAndOwnerIdAndGranularityAndBucketBetweenOrderByBucketAscIdAsc(
+            RollupScope scope, Long ownerId, RollupGranularity granularity, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM StatisticRollup r WHERE r.scope = :scope AND r.ownerId = :ownerId")
+    void deleteAllByScopeAndOwnerId(RollupScope scope, Long ownerId);
+
+    @Modifying
+    @Query("DELETE FROM StatisticRollup r WHERE r.scope = online.strongnation.business.model.statistic.RollupScope.REGION" +
+            " AND r.ownerId IN (SELECT reg.id FROM Country c JOIN c.regions reg WHERE c.id = :countryId)")
+    void deleteAllOfRegionsByCountryId(Long countryId);
+}
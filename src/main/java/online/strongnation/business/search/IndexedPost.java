@@ -0,0 +1,7 @@
+package online.strongnation.business.search;
+
+import java.time.LocalDateTime;
+
+//the part of a post that is needed to index and filter it
+public record IndexedPost(Long id, String description, LocalDateTime date, Long regionId, Long countryId) {
+}
@@ -0,0 +1,162 @@
+package online.strongnation.business.search;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//inverted index over descriptions of posts: term -> (post id -> term frequency)
+public class PostIndex {
+
+    public record Filter(Long countryId, Long regionId, LocalDateTime from, LocalDateTime to) {
+        //from is inclusive, to is exclusive, nulls are not checked
+        boolean test(Document document) {
+            return (countryId == null || countryId.equals(document.countryId))
+                    && (regionId == null || regionId.equals(document.regionId))
+                    && (from == null || !document.date.isBefore(from))
+                    && (to == null || document.date.isBefore(to));
+        }
+    }
+
+    public record Hit(Long id, double score, LocalDateTime date) {
+    }
+
+    private record Document(Long countryId, Long regionId, LocalDateTime date, String[] terms, int length) {
+    }
+
+    private static final Comparator<Hit> RANK = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Hit::date)
+            .thenComparing(Hit::id);//the newer post wins a tie
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        final String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean isPartOfTerm = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (isPartOfTerm && start < 0) {
+                start = i;
+            } else if (!isPartOfTerm && start >= 0) {
+                if (i - start > 1) {//single letters only add noise
+                    terms.add(lower.substring(start, i));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    public void put(IndexedPost post) {
+        List<String> terms = terms(post.description());
+        Map<String, Integer> frequencies = new HashMap<>();
+        terms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        Document document = new Document(post.countryId(), post.regionId(), post.date(),
+                frequencies.keySet().toArray(String[]::new), Math.max(1, terms.size()));
+        lock.writeLock().lock();
+        try {
+            removeDocument(post.id());
+            documents.put(post.id(), document);
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(post.id(), frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeAll(Filter filter) {
+        lock.writeLock().lock();
+        try {
+            List<Long> ids = documents.entrySet().stream()
+                    .filter(entry -> filter.test(entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            ids.forEach(this::removeDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeDocument(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms) {
+            Map<Long, Integer> posts = postings.get(term);
+            posts.remove(id);
+            if (posts.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    //tf-idf of the query terms, a post matches if it has any of them, the best k posts are returned first
+    public List<Hit> search(Collection<String> queryTerms, Filter filter, int k) {
+        lock.readLock().lock();
+        try {
+            final double numberOfDocuments = documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : new HashSet<>(queryTerms)) {
+                Map<Long, Integer> posts = postings.get(term);
+                if (posts == null) {
+                    continue;
+                }
+                final double idf = Math.log(1 + numberOfDocuments / posts.size());
+                posts.forEach((id, frequency) -> {
+                    Document document = documents.get(id);
+                    if (filter.test(document)) {
+                        double weight = (1 + Math.log(frequency)) * idf / Math.sqrt(document.length);
+                        scores.merge(id, weight, Double::sum);
+                    }
+                });
+            }
+            PriorityQueue<Hit> best = new PriorityQueue<>(k + 1, RANK);
+            scores.forEach((id, score) -> {
+                best.add(new Hit(id, score, documents.get(id).date));
+                if (best.size() > k) {
+                    best.poll();
+                }
+            });
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(RANK.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
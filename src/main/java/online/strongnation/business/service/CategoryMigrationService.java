@@ -0,0 +1,7 @@
+package online.strongnation.business.service;
+
+import online.strongnation.business.model.dto.CategoryMigrationReport;
+
+public interface CategoryMigrationService {
+    CategoryMigrationReport migrate();//copies categories of the old join tables into the tables of their owners
+}
@@ -0,0 +1,11 @@
+package online.strongnation.business.service;
+
+import online.strongnation.business.model.dto.CategoryDTO;
+
+import java.util.List;
+
+public interface GlobalStatisticService {
+    List<CategoryDTO> totals();//categories of all countries summed up
+
+    void reload();
+}
@@ -0,0 +1,10 @@
+package online.strongnation.business.service;
+
+import online.strongnation.business.model.dto.GetImportantPostResponse;
+import online.strongnation.business.model.dto.PostPage;
+
+public interface ImportantPostService {
+    PostPage<GetImportantPostResponse> page(Integer size, String cursor);//important posts of all countries
+
+    void reload();
+}
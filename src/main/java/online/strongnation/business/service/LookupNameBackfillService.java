@@ -0,0 +1,5 @@
+package online.strongnation.business.service;
+
+public interface LookupNameBackfillService {
+    int backfill();//sets lookup names of countries and regions saved before the column existed
+}
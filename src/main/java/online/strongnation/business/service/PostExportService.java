@@ -0,0 +1,7 @@
+package online.strongnation.business.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface PostExportService {
+    StreamingResponseBody exportOfCountry(String countryName);//JSON array of all posts of the country
+}
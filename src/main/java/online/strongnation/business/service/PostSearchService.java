@@ -0,0 +1,19 @@
+package online.strongnation.business.service;
+
+import online.strongnation.business.model.dto.GetPostResponseByCountryDTO;
+import online.strongnation.business.model.dto.PostSearchBenchmark;
+
+import java.util.List;
+
+public interface PostSearchService {
+    //region, from, to and limit are optional, dates have format yyyy-MM-dd and both are inclusive
+    List<GetPostResponseByCountryDTO> search(String countryName, String regionName, String query,
+                                             String from, String to, Integer limit);
+
+    List<GetPostResponseByCountryDTO> searchByScan(String countryName, String regionName, String query,
+                                                   String from, String to, Integer limit);//without the index
+
+    PostSearchBenchmark benchmark(String countryName, String query);
+
+    void reload();
+}
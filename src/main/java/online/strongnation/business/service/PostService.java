@@ -3,6 +3,8 @@ package online.strongnation.business.service;
 import online.strongnation.business.model.dto.GetPostResponse;
 import online.strongnation.business.model.dto.GetPostResponseByCountryDTO;
 import online.strongnation.business.model.dto.PostDTO;
+import online.strongnation.business.model.dto.PostPage;
+import online.strongnation.business.model.dto.PostQueryRequest;
 
 import java.util.List;
 
@@ -11,12 +13,22 @@ public interface PostService {
 
     PostDTO create(PostDTO post, Long id);
 
+    List<PostDTO> createAll(List<PostDTO> posts, String countryName);//region of each post is taken from the post
+
     List<GetPostResponse> all(String countryName, String regionName);
 
     List<GetPostResponseByCountryDTO> all(String countryName);
 
     List<GetPostResponse> all(Long id);//regionId
 
+    PostPage<GetPostResponse> page(String countryName, String regionName, Integer size, String cursor);
+
+    PostPage<GetPostResponseByCountryDTO> page(String countryName, Integer size, String cursor);
+
+    PostPage<GetPostResponse> page(Long id, Integer size, String cursor);//regionId
+
+    PostPage<GetPostResponseByCountryDTO> query(PostQueryRequest request);//all filters except country are optional
+
     PostDTO get(Long id);
 
     PostDTO update(PostDTO post);
@@ -0,0 +1,15 @@
+package online.strongnation.business.service;
+
+import online.strongnation.business.model.statistic.StatisticDelta;
+import online.strongnation.business.model.statistic.StatisticEntity;
+import online.strongnation.business.model.statistic.StatisticModel;
+
+public interface StatisticDeltaService {
+    StatisticDelta ofNewChild(StatisticModel<?> child);
+
+    StatisticDelta ofUpdatedChild(StatisticModel<?> old, StatisticModel<?> updated);
+
+    StatisticDelta ofDeletedChild(StatisticModel<?> child);
+
+    void apply(StatisticDelta delta, StatisticEntity... chain);//from the nearest parent up to the root
+}
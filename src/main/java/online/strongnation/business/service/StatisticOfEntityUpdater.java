@@ -1,8 +1,16 @@
 package online.strongnation.business.service;
 
+import online.strongnation.business.model.statistic.StatisticDelta;
 import online.strongnation.business.model.statistic.StatisticEntity;
 import online.strongnation.business.model.statistic.StatisticResult;
 
 public interface StatisticOfEntityUpdater {
     void update(StatisticEntity updated, StatisticResult statistic);
+
+    void update(StatisticEntity updated, StatisticDelta delta);
+
+    //false when totals of regions and countries are changed in the database, their categories are not loaded for writes then
+    default boolean updatesLoadedTotals() {
+        return true;
+    }
 }
@@ -0,0 +1,7 @@
+package online.strongnation.business.service;
+
+import online.strongnation.business.model.dto.StatisticRebuildReport;
+
+public interface StatisticRebuildService {
+    StatisticRebuildReport rebuild(boolean dryRun);//recomputes region and country totals from categories of posts
+}
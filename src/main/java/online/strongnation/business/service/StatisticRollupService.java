@@ -0,0 +1,23 @@
+package online.strongnation.business.service;
+
+import online.strongnation.business.model.dto.StatisticRollupDTO;
+import online.strongnation.business.model.statistic.RollupChanges;
+
+import java.util.List;
+
+public interface StatisticRollupService {
+    void apply(RollupChanges changes);
+
+    int rebuild(RollupChanges computed);//replaces rollups that differ from the computed ones, returns changed buckets
+
+    void removeRegion(Long regionId, Long countryId);//subtracts rollups of the region from its country
+
+    void removeCountry(Long countryId);
+
+    void removeAll();
+
+    List<StatisticRollupDTO> seriesOfCountry(String countryName, String granularity, String from, String to);
+
+    List<StatisticRollupDTO> seriesOfRegion(String countryName, String regionName,
+                                            String granularity, String from, String to);
+}
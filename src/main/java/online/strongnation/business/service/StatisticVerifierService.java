@@ -0,0 +1,10 @@
+package online.strongnation.business.service;
+
+import online.strongnation.business.model.dto.StatisticVerificationReport;
+import online.strongnation.business.model.dto.StatisticVerifierMetrics;
+
+public interface StatisticVerifierService {
+    StatisticVerificationReport verify();//checks the next sample of regions and countries within the budget
+
+    StatisticVerifierMetrics metrics();
+}
@@ -0,0 +1,118 @@
+package online.strongnation.business.service.implementation;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import online.strongnation.business.model.dto.CategoryMigrationReport;
+import online.strongnation.business.model.event.StatisticReplacedEvent;
+import online.strongnation.business.service.CategoryMigrationService;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+//Categories were rows of the category table linked to posts, regions and countries by post_category,
+//region_category and country_category. They are copied into post_category_amount, region_category_amount
+//and country_category_amount once all beans exist, before the web server accepts requests, so no post
+//is written for an owner before its old categories are there. The copy is done once, the row of category_migration
+//keeps totals that later reach zero from being copied again; owners with rows in the new tables are skipped
+//in case the copy was done by hand before. Post categories are copied row by row in their order, totals of regions
+//and countries are unique by name and units, so their duplicates are summed.
+//The old tables are only read, so the previous version can still run on them. Once the copy is checked they are
+//dropped by hand: DROP TABLE post_category, region_category, country_category, category.
+@Service
+public class CategoryMigrationServiceImpl implements CategoryMigrationService, SmartInitializingSingleton {
+
+    private record Source(String links, String owner, String target) {
+    }
+
+    private static final Source POSTS = new Source("post_category", "post_id", "post_category_amount");
+    private static final Source REGIONS = new Source("region_category", "region_id", "region_category_amount");
+    private static final Source COUNTRIES = new Source("country_category", "country_id", "country_category_amount");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate transaction;
+
+    public CategoryMigrationServiceImpl(ApplicationEventPublisher publisher,
+                                        PlatformTransactionManager transactionManager) {
+        this.publisher = publisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrate();
+    }
+
+    @Override
+    public CategoryMigrationReport migrate() {
+        final long start = System.nanoTime();
+        CategoryMigrationReport report = transaction.execute(status -> {
+            final boolean firstRun = markMigrated();
+            final boolean oldSchemaFound = tableExists("category");
+            if (!firstRun || !oldSchemaFound) {
+                return CategoryMigrationReport.builder()
+                        .oldSchemaFound(oldSchemaFound)
+                        .alreadyMigrated(!firstRun)
+                        .postCategories(0)
+                        .regionCategories(0)
+                        .countryCategories(0)
+                        .build();
+            }
+            return CategoryMigrationReport.builder()
+                    .oldSchemaFound(true)
+                    .alreadyMigrated(false)
+                    .postCategories(copyPosts())
+                    .regionCategories(copyTotals(REGIONS))
+                    .countryCategories(copyTotals(COUNTRIES))
+                    .build();
+        });
+        report = report.toBuilder().totalMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).build();
+        if (report.getPostCategories() + report.getRegionCategories() + report.getCountryCategories() > 0) {
+            publisher.publishEvent(new StatisticReplacedEvent());
+        }
+        return report;
+    }
+
+    //false if an earlier run has already marked the copy as done
+    private boolean markMigrated() {
+        return entityManager.createNativeQuery("INSERT INTO category_migration (id, migrated_at)" +
+                        " SELECT 1, CURRENT_TIMESTAMP WHERE NOT EXISTS (SELECT 1 FROM category_migration)")
+                .executeUpdate() > 0;
+    }
+
+    //every linked category is a row of the post, duplicates included, in the order of the old category ids
+    private int copyPosts() {
+        return copy(POSTS, "c.number, ROW_NUMBER() OVER (PARTITION BY l.post_id ORDER BY c.id, l.id) - 1", "",
+                ", category_order");
+    }
+
+    private int copyTotals(Source source) {
+        return copy(source, "SUM(c.number)", " GROUP BY l." + source.owner + ", c.name, COALESCE(c.units, '')", "");
+    }
+
+    private int copy(Source source, String values, String groupBy, String columns) {
+        if (!tableExists(source.links)) {
+            return 0;
+        }
+        return entityManager.createNativeQuery("INSERT INTO " + source.target +
+                        " (" + source.owner + ", name, units, number" + columns + ")" +
+                        " SELECT l." + source.owner + ", c.name, COALESCE(c.units, ''), " + values +
+                        " FROM " + source.links + " l JOIN category c ON c.id = l.category_id" +
+                        " WHERE NOT EXISTS (SELECT 1 FROM " + source.target + " t" +
+                        " WHERE t." + source.owner + " = l." + source.owner + ")" + groupBy)
+                .executeUpdate();
+    }
+
+    private boolean tableExists(String name) {
+        Number count = (Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM information_schema.tables" +
+                        " WHERE LOWER(table_name) = :name AND LOWER(table_schema) = LOWER(CURRENT_SCHEMA)")
+                .setParameter("name", name)
+                .getSingleResult();
+        return count.intValue() > 0;
+    }
+}
@@ -2,46 +2,40 @@ package online.strongnation.business.service.implementation;
 
 import online.strongnation.business.model.Category;
 import online.strongnation.business.model.dto.CategoryDTO;
+import online.strongnation.business.model.statistic.IntLongHashMap;
+import online.strongnation.business.model.statistic.StatisticDelta;
+import online.strongnation.business.model.statistic.StatisticEntity;
 
-import java.util.*;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class CategoryUtils {
 
-    private static final CategoryDTOComparator comparator = new CategoryDTOComparator();
+    public static final long NOT_FOUND = -1;
 
     public static Map<String, CategoryDTO> getCategoryNameMap(List<? extends CategoryDTO> list) {
         return list.stream()
                 .collect(Collectors.toMap(CategoryDTO::getName, Function.identity()));
     }
 
-    public static <T extends Category> Map<Category, T> getCategoryMap(List<T> list) {
-        return list.stream()
-                .collect(Collectors.toMap(
-                        Function.identity(),
-                        Function.identity(),
-                        (a, b) -> a,
-                        () -> new TreeMap<>(comparator)
-                ));
-    }
-
-
-    public static final class CategoryDTOComparator implements Comparator<Category> {
-        @Override
-        public int compare(Category o1, Category o2) {
-            int name = o1.getName().compareTo(o2.getName());
-            if (name != 0) {
-                return name;
+    //id of category in CategoryDictionary -> index of its first occurrence in the list
+    public static IntLongHashMap getCategoryIndexMap(List<? extends Category> list) {
+        IntLongHashMap map = new IntLongHashMap(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            int keyId = list.get(i).keyId();
+            if (!map.containsKey(keyId)) {
+                map.put(keyId, i);
             }
-            return compareNullable(o1.getUnits(), o2.getUnits());
         }
+        return map;
     }
 
-    private static <T extends Comparable<T>> int compareNullable(T a, T b) {
-        return
-                a == null ?
-                        (b == null ? 0 : Integer.MIN_VALUE) :
-                        (b == null ? Integer.MAX_VALUE : a.compareTo(b));
+
+    //the list is cleared, not replaced: it is owned by hibernate because of orphanRemoval
+    public static void replaceCategories(StatisticEntity entity, StatisticDelta totals) {
+        entity.clearCategories();
+        totals.forEach((key, cents) -> entity.addCategory(StatisticDelta.toCategory(key, cents)));
     }
 }
@@ -1,13 +1,23 @@
 package online.strongnation.business.service.implementation;
 
 import lombok.AllArgsConstructor;
+import online.strongnation.business.cache.DtoCache;
+import online.strongnation.business.cache.NameResolver;
+import online.strongnation.business.cache.LruTtlCache.Tagged;
 import online.strongnation.business.exception.CountryNotFoundException;
 import online.strongnation.business.exception.IllegalCountryException;
 import online.strongnation.business.repository.CountryRepository;
 import online.strongnation.business.service.CountryService;
 import online.strongnation.business.service.PostPhotoService;
+import online.strongnation.business.service.StatisticRollupService;
 import online.strongnation.business.model.dto.CountryDTO;
 import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.model.event.CountryChangedEvent;
+import online.strongnation.business.model.event.CountryStatisticChangedEvent;
+import online.strongnation.business.model.event.RegionsRemovedEvent;
+import online.strongnation.business.model.event.StatisticReplacedEvent;
+import online.strongnation.business.model.statistic.StatisticDelta;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,26 +31,35 @@ public class CountryServiceImpl implements CountryService {
 
     private final CountryRepository countryRepository;
     private final PostPhotoService postPhotoService;
+    private final StatisticRollupService rollups;
+    private final ApplicationEventPublisher publisher;
+    private final DtoCache cache;
+    private final NameResolver names;
 
     @Override
     public CountryDTO create(final String name) {
         String clearName = checkAndNormalizeCountry(name);
-        if (countryRepository.existsCountryByNameIgnoreCase(clearName)) {
+        if (names.countryId(clearName).isPresent()) {
             throw new IllegalCountryException("Country " + name + " already exists");
         }
         Country country = new Country(clearName);
         countryRepository.save(country);
+        publisher.publishEvent(new CountryChangedEvent(country.getId()));
         return new CountryDTO(country);
     }
 
     @Override
     public CountryDTO get(final String name) {
         final String clearName = checkAndNormalizeCountry(name);
-        return getByNormalizedName(clearName);
+        return cache.getCountryByName().get(DtoCache.key(clearName), () -> {
+            CountryDTO country = getByNormalizedName(clearName);
+            return new Tagged<>(country.getId(), country);
+        });
     }
 
     private CountryDTO getByNormalizedName(final String clearName) {
-        return countryRepository.findCountryDTOByNameIgnoreCase(clearName)
+        return names.countryId(clearName)
+                .flatMap(countryRepository::findCountryDTOById)
                 .orElseThrow(() -> {
                     throw new CountryNotFoundException("Country " + clearName + " doesn't exist");
                 });
@@ -48,7 +67,7 @@ public class CountryServiceImpl implements CountryService {
 
     @Override
     public List<CountryDTO> getAll() {
-        return countryRepository.findAllDTO();
+        return cache.getAllCountries().get("", () -> new Tagged<>(null, countryRepository.findAllDTO()));
     }
 
     @Override
@@ -56,11 +75,14 @@ public class CountryServiceImpl implements CountryService {
     public CountryDTO rename(String oldName, String newName) {
         final String oldNameClear = checkAndNormalizeCountry(oldName);
         final String newNameClear = checkAndNormalizeCountry(newName);
-        if (!countryRepository.existsCountryByNameIgnoreCase(oldNameClear)) {
-            throw new CountryNotFoundException("Country " + oldNameClear + " not found");
-        }
-        countryRepository.updateNameOfCountry(oldName, newNameClear);
-        return getByNormalizedName(newNameClear);
+        final Long id = names.countryId(oldNameClear)
+                .orElseThrow(() -> new CountryNotFoundException("Country " + oldNameClear + " not found"));
+        countryRepository.updateNameOfCountryById(id, newNameClear);
+        names.evictCountry(id);
+        CountryDTO renamed = countryRepository.findCountryDTOById(id)
+                .orElseThrow(() -> new CountryNotFoundException("Country " + oldNameClear + " not found"));
+        publisher.publishEvent(new CountryChangedEvent(id));
+        return renamed;
     }
 
     @Override
@@ -68,7 +90,12 @@ public class CountryServiceImpl implements CountryService {
         final String clearName = checkAndNormalizeCountry(name);
         final CountryDTO deleted = getByNormalizedName(clearName);
         postPhotoService.deletePhotoCountryId(deleted.getId());
+        rollups.removeCountry(deleted.getId());
         countryRepository.deleteById(deleted.getId());
+        publisher.publishEvent(new CountryChangedEvent(deleted.getId()));
+        publisher.publishEvent(new CountryStatisticChangedEvent(deleted.getId(),
+                StatisticDelta.negated(deleted.getCategories())));
+        publisher.publishEvent(new RegionsRemovedEvent(deleted.getId(), null));
         return deleted;
     }
 
@@ -76,7 +103,10 @@ public class CountryServiceImpl implements CountryService {
     public List<CountryDTO> deleteAll() {
         final var all = countryRepository.findAllDTO();
         postPhotoService.deleteAll();
+        rollups.removeAll();
         countryRepository.deleteAll();
+        publisher.publishEvent(new StatisticReplacedEvent());
+        publisher.publishEvent(new RegionsRemovedEvent(null, null));
         return all;
     }
 }
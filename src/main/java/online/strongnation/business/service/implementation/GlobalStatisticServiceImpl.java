@@ -0,0 +1,129 @@
+package online.strongnation.business.service.implementation;
+
+import lombok.RequiredArgsConstructor;
+import online.strongnation.business.model.dto.CategoryDTO;
+import online.strongnation.business.model.event.CountryStatisticChangedEvent;
+import online.strongnation.business.model.event.StatisticReplacedEvent;
+import online.strongnation.business.model.statistic.Cents;
+import online.strongnation.business.model.statistic.StatisticDelta;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.service.GlobalStatisticService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+//totals are summed by the database once and then kept in memory, the delta of every committed change is merged.
+//A change is counted when its transaction starts to commit and again when it completes. A sum is kept only if
+//no change was committing while it ran: a change committed before it is in the sum and its delta went to the old
+//totals, a change committing after it is merged into the new ones. Otherwise the sum is returned but not kept,
+//and the next read sums again. Replaced statistics are summed again too
+@Service
+@RequiredArgsConstructor
+public class GlobalStatisticServiceImpl implements GlobalStatisticService {
+
+    private final CountryRepository countryRepository;
+
+    private final Object lock = new Object();
+    private final AtomicLong committing = new AtomicLong();//changes that started to commit
+    private long completed;//changes that were merged or rolled back after they started to commit, guarded by lock
+    private StatisticDelta totals;//guarded by lock, null until the totals are summed
+    private volatile List<CategoryDTO> snapshot;//null when the totals have to be summed
+
+    @Override
+    public List<CategoryDTO> totals() {
+        List<CategoryDTO> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (lock) {
+            current = snapshot;
+            return current != null ? current : load();
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        synchronized (lock) {
+            load();
+        }
+    }
+
+    private List<CategoryDTO> load() {
+        final long started = committing.get();
+        final boolean quiet = started == completed;
+        StatisticDelta loaded = StatisticDelta.empty();
+        countryRepository.sumAllCategoryAmounts()
+                .forEach(amount -> loaded.add(amount.keyId(), Cents.of(amount.number())));
+        List<CategoryDTO> categories = toCategories(loaded);
+        if (quiet && committing.get() == started) {
+            totals = loaded;
+            snapshot = categories;
+        } else {//a change committed while the sum ran may be in it or not
+            totals = null;
+            snapshot = null;
+        }
+        return categories;
+    }
+
+    @EventListener
+    public void onCountryStatisticChanged(CountryStatisticChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {//the change is already committed
+            committing.incrementAndGet();
+            complete(event.delta(), true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean counted;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committing.incrementAndGet();
+                counted = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (counted) {
+                    complete(event.delta(), status == STATUS_COMMITTED);
+                }
+            }
+        });
+    }
+
+    private void complete(StatisticDelta delta, boolean committed) {
+        synchronized (lock) {
+            if (committed && totals != null) {
+                totals.merge(delta);
+                snapshot = toCategories(totals);
+            }
+            completed++;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatisticReplaced(StatisticReplacedEvent event) {
+        synchronized (lock) {
+            totals = null;
+            snapshot = null;
+        }
+    }
+
+    private static List<CategoryDTO> toCategories(StatisticDelta totals) {
+        List<CategoryDTO> categories = new ArrayList<>(totals.size());
+        totals.forEach((key, cents) -> {
+            if (cents > 0) {
+                categories.add(StatisticDelta.toCategory(key, cents));
+            }
+        });
+        return Collections.unmodifiableList(categories);
+    }
+}
@@ -0,0 +1,130 @@
+package online.strongnation.business.service.implementation;
+
+import online.strongnation.business.config.Constants;
+import online.strongnation.business.model.PostCursor;
+import online.strongnation.business.model.dto.GetImportantPostResponse;
+import online.strongnation.business.model.dto.PostPage;
+import online.strongnation.business.model.event.PostsChangedEvent;
+import online.strongnation.business.model.event.RegionsRemovedEvent;
+import online.strongnation.business.repository.PostRepository;
+import online.strongnation.business.service.ImportantPostService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static online.strongnation.business.service.implementation.RequestParameterFixer.checkSizeOfPostPage;
+
+//only dates and ids of important posts are kept in memory, a page reads its posts by ids
+@Service
+public class ImportantPostServiceImpl implements ImportantPostService {
+
+    private static final Comparator<PostCursor> NEWEST_FIRST = Comparator.comparing(PostCursor::date)
+            .thenComparing(PostCursor::id)
+            .reversed();
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate readTransaction;
+
+    private final Object lock = new Object();//orders reloads and updates, pages read the set without it
+    private volatile ConcurrentSkipListSet<PostCursor> feed;//null until the first load
+    private volatile Map<Long, PostCursor> positions;
+
+    public ImportantPostServiceImpl(PostRepository postRepository, PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        //listeners run after the commit of the publishing transaction
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public PostPage<GetImportantPostResponse> page(Integer size, String cursor) {
+        final int checkedSize = checkSizeOfPostPage(size);
+        NavigableSet<PostCursor> current = feed;
+        if (current == null) {
+            reload();
+            current = feed;
+        }
+        if (cursor != null) {
+            current = current.tailSet(PostCursor.decode(cursor), false);
+        }
+        List<PostCursor> cursors = current.stream().limit(checkedSize + 1L).toList();
+        boolean hasNext = cursors.size() > checkedSize;
+        if (hasNext) {
+            cursors = cursors.subList(0, checkedSize);
+        }
+        if (cursors.isEmpty()) {
+            return new PostPage<>(List.of(), null);
+        }
+        Map<Long, GetImportantPostResponse> posts = postRepository
+                .findGetImportantPostResponseByIdIn(cursors.stream().map(PostCursor::id).toList())
+                .stream()
+                .collect(Collectors.toMap(GetImportantPostResponse::getId, Function.identity()));
+        List<GetImportantPostResponse> page = cursors.stream()
+                .map(c -> posts.get(c.id()))
+                .filter(Objects::nonNull)//deleted after the feed was read
+                .toList();
+        return new PostPage<>(page, hasNext ? cursors.get(checkedSize - 1).encode() : null);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        synchronized (lock) {
+            ConcurrentSkipListSet<PostCursor> loaded = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+            Map<Long, PostCursor> loadedPositions = new ConcurrentHashMap<>();
+            readTransaction.execute(status -> postRepository.findCursorsOfImportantPosts()).forEach(cursor -> {
+                loaded.add(cursor);
+                loadedPositions.put(cursor.id(), cursor);
+            });
+            positions = loadedPositions;
+            feed = loaded;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsChanged(PostsChangedEvent event) {
+        synchronized (lock) {
+            if (feed == null) {//the first load reads the committed change anyway
+                return;
+            }
+            final List<Long> ids = event.postIds();
+            final int size = Constants.MAX_NUMBER_OF_IDS_IN_BULK_DELETE;
+            for (int from = 0; from < ids.size(); from += size) {
+                List<Long> chunk = ids.subList(from, Math.min(from + size, ids.size()));
+                Map<Long, PostCursor> important = readTransaction
+                        .execute(status -> postRepository.findCursorsOfImportantPostsByIdIn(chunk))
+                        .stream()
+                        .collect(Collectors.toMap(PostCursor::id, Function.identity()));
+                chunk.forEach(id -> {
+                    PostCursor old = positions.remove(id);
+                    if (old != null) {
+                        feed.remove(old);
+                    }
+                    PostCursor cursor = important.get(id);
+                    if (cursor != null) {//date could be changed, so the post takes a new position
+                        feed.add(cursor);
+                        positions.put(id, cursor);
+                    }
+                });
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegionsRemoved(RegionsRemovedEvent event) {
+        if (feed != null) {//posts of removed regions are not known by ids, important posts are few
+            reload();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package online.strongnation.business.service.implementation;
+
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.model.entity.Region;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.repository.RegionRepository;
+import online.strongnation.business.service.LookupNameBackfillService;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static online.strongnation.business.config.NameProperties.toLookupName;
+
+//Rows saved before the lookup_name column existed have it empty and are not found by names,
+//so the column is filled once all beans exist, before the web server accepts requests.
+//New and renamed countries and regions get their lookup names when they are saved
+@Service
+public class LookupNameBackfillServiceImpl implements LookupNameBackfillService, SmartInitializingSingleton {
+
+    private static final int REGIONS_IN_TRANSACTION = 500;
+
+    private final CountryRepository countryRepository;
+    private final RegionRepository regionRepository;
+    private final TransactionTemplate transaction;
+
+    public LookupNameBackfillServiceImpl(CountryRepository countryRepository,
+                                         RegionRepository regionRepository,
+                                         PlatformTransactionManager transactionManager) {
+        this.countryRepository = countryRepository;
+        this.regionRepository = regionRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill();
+    }
+
+    @Override
+    public int backfill() {
+        int filled = transaction.execute(status -> {
+            List<Country> countries = countryRepository.findAllWithoutLookupName();
+            countries.forEach(country -> country.setLookupName(toLookupName(country.getName())));
+            return countries.size();
+        });
+        int page;
+        do {//filled regions leave the query, so the first page is read every time
+            page = transaction.execute(status -> {
+                List<Region> regions = regionRepository.findWithoutLookupName(PageRequest.of(0, REGIONS_IN_TRANSACTION));
+                regions.forEach(region -> region.setLookupName(toLookupName(region.getName())));
+                return regions.size();
+            });
+            filled += page;
+        } while (page == REGIONS_IN_TRANSACTION);
+        return filled;
+    }
+}
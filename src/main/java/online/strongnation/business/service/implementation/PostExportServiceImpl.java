@@ -0,0 +1,65 @@
+package online.strongnation.business.service.implementation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import online.strongnation.business.cache.NameResolver;
+import online.strongnation.business.exception.CountryNotFoundException;
+import online.strongnation.business.model.dto.GetPostResponseByCountryDTO;
+import online.strongnation.business.repository.PostRepository;
+import online.strongnation.business.service.PostExportService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+import static online.strongnation.business.service.implementation.RequestParameterFixer.checkAndNormalizeCountry;
+
+//rows are written to the response while they are read, so memory doesn't depend on the number of posts
+@Service
+public class PostExportServiceImpl implements PostExportService {
+
+    private final PostRepository postRepository;
+    private final NameResolver names;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTransaction;
+
+    public PostExportServiceImpl(PostRepository postRepository,
+                                 NameResolver names,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.names = names;
+        this.objectMapper = objectMapper;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public StreamingResponseBody exportOfCountry(String countryName) {
+        final String clearNameOfCountry = checkAndNormalizeCountry(countryName);
+        //checked before the response is started, so a wrong name still gets its error status
+        final Long countryId = names.countryId(clearNameOfCountry)
+                .orElseThrow(() -> new CountryNotFoundException("Country " + countryName + " doesn't exist"));
+        return out -> readTransaction.executeWithoutResult(status -> write(countryId, out));
+    }
+
+    private void write(Long countryId, OutputStream out) {
+        try (JsonGenerator generator = objectMapper.createGenerator(out);
+             Stream<GetPostResponseByCountryDTO> posts =
+                     postRepository.streamGetPostResponseByCountryDTOByCountryId(countryId)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (var iterator = posts.iterator(); iterator.hasNext(); ) {
+                generator.writeObject(iterator.next());
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package online.strongnation.business.service.implementation;
+
+import online.strongnation.business.cache.NameResolver;
+import online.strongnation.business.config.Constants;
+import online.strongnation.business.exception.CountryNotFoundException;
+import online.strongnation.business.exception.RegionNotFoundException;
+import online.strongnation.business.model.dto.GetPostResponseByCountryDTO;
+import online.strongnation.business.model.dto.PostSearchBenchmark;
+import online.strongnation.business.model.event.PostsChangedEvent;
+import online.strongnation.business.model.event.RegionsRemovedEvent;
+import online.strongnation.business.repository.PostRepository;
+import online.strongnation.business.search.IndexedPost;
+import online.strongnation.business.search.PostIndex;
+import online.strongnation.business.service.PostSearchService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static online.strongnation.business.service.implementation.RequestParameterFixer.*;
+
+//the index is built when the application is ready and follows committed changes of posts
+@Service
+public class PostSearchServiceImpl implements PostSearchService {
+
+    private static final LocalDateTime FIRST_DATE = LocalDateTime.of(1991, Month.JANUARY, 1, 0, 0);
+
+    private final PostRepository postRepository;
+    private final NameResolver names;
+    private final TransactionTemplate readTransaction;
+
+    private final PostIndex index = new PostIndex();
+    private final Object lock = new Object();//orders reloads and updates, searches only use the lock of the index
+    private volatile boolean loaded;
+
+    private record Query(List<String> terms, PostIndex.Filter filter, int limit) {
+    }
+
+    public PostSearchServiceImpl(PostRepository postRepository,
+                                 NameResolver names,
+                                 PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.names = names;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        //listeners run after the commit of the publishing transaction
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public List<GetPostResponseByCountryDTO> search(String countryName, String regionName, String query,
+                                                    String from, String to, Integer limit) {
+        if (!loaded) {
+            reload();
+        }
+        Query checked = checkQuery(countryName, regionName, query, from, to, limit);
+        List<PostIndex.Hit> hits = index.search(checked.terms, checked.filter, checked.limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, GetPostResponseByCountryDTO> posts = postRepository
+                .findGetPostResponseByCountryDTOByIdIn(hits.stream().map(PostIndex.Hit::id).toList())
+                .stream()
+                .collect(Collectors.toMap(GetPostResponseByCountryDTO::getId, Function.identity()));
+        return hits.stream().map(hit -> posts.get(hit.id())).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public List<GetPostResponseByCountryDTO> searchByScan(String countryName, String regionName, String query,
+                                                          String from, String to, Integer limit) {
+        Query checked = checkQuery(countryName, regionName, query, from, to, limit);
+        PostIndex.Filter filter = checked.filter;
+        LocalDateTime start = filter.from() == null ? FIRST_DATE : filter.from();
+        LocalDateTime end = filter.to() == null ? LocalDateTime.now().plusDays(2) : filter.to();
+        //one scan per term, a post matches if it has any of them
+        Map<Long, GetPostResponseByCountryDTO> posts = new HashMap<>();
+        new LinkedHashSet<>(checked.terms).forEach(term -> postRepository
+                .findGetPostResponseByCountryDTOByDescriptionLike(filter.countryId(), filter.regionId(),
+                        start, end, "%" + term + "%", PageRequest.of(0, checked.limit))
+                .forEach(post -> posts.put(post.getId(), post)));
+        return posts.values().stream()
+                .sorted(Comparator.comparing(GetPostResponseByCountryDTO::getDate)
+                        .thenComparing(GetPostResponseByCountryDTO::getId).reversed())
+                .limit(checked.limit)
+                .toList();
+    }
+
+    @Override
+    public PostSearchBenchmark benchmark(String countryName, String query) {
+        if (!loaded) {
+            reload();
+        }
+        Query checked = checkQuery(countryName, null, query, null, null, Constants.MAX_SIZE_OF_POST_PAGE);
+        long start = System.nanoTime();
+        int indexHits = index.search(checked.terms, checked.filter, checked.limit).size();
+        long indexNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        int scanHits = searchByScan(countryName, null, query, null, null, checked.limit).size();
+        long scanNanos = System.nanoTime() - start;
+        return PostSearchBenchmark.builder()
+                .query(query)
+                .indexedPosts(index.size())
+                .indexHits(indexHits)
+                .scanHits(scanHits)
+                .indexMicros(TimeUnit.NANOSECONDS.toMicros(indexNanos))
+                .scanMicros(TimeUnit.NANOSECONDS.toMicros(scanNanos))
+                .build();
+    }
+
+    private Query checkQuery(String countryName, String regionName, String query,
+                             String from, String to, Integer limit) {
+        final String clearNameOfCountry = checkAndNormalizeCountry(countryName);
+        final List<String> terms = checkAndSplitSearchQuery(query);
+        final LocalDate fromDate = checkSearchDate(from);
+        final LocalDate toDate = checkSearchDate(to);
+        checkSearchRange(fromDate, toDate);
+        final int checkedLimit = checkSizeOfPostPage(limit);
+        Long countryId = names.countryId(clearNameOfCountry)
+                .orElseThrow(() -> new CountryNotFoundException("Country " + countryName + " doesn't exist"));
+        Long regionId = null;
+        if (regionName != null) {
+            final String clearNameOfRegion = checkAndNormalizeRegion(regionName);
+            regionId = names.regionId(clearNameOfCountry, clearNameOfRegion)
+                    .orElseThrow(() -> new RegionNotFoundException("Region " + clearNameOfRegion + " doesn't exist"));
+        }
+        PostIndex.Filter filter = new PostIndex.Filter(countryId, regionId,
+                fromDate == null ? null : fromDate.atStartOfDay(),
+                toDate == null ? null : toDate.plusDays(1).atStartOfDay());
+        return new Query(terms, filter, checkedLimit);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        synchronized (lock) {
+            index.clear();
+            readTransaction.executeWithoutResult(status -> {
+                try (Stream<IndexedPost> posts = postRepository.streamIndexedPosts()) {
+                    posts.forEach(index::put);
+                }
+            });
+            loaded = true;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsChanged(PostsChangedEvent event) {
+        synchronized (lock) {
+            if (!loaded) {//the first load reads the committed change anyway
+                return;
+            }
+            final List<Long> ids = event.postIds();
+            final int size = Constants.MAX_NUMBER_OF_IDS_IN_BULK_DELETE;
+            for (int from = 0; from < ids.size(); from += size) {
+                List<Long> chunk = ids.subList(from, Math.min(from + size, ids.size()));
+                List<IndexedPost> posts = readTransaction.execute(status -> postRepository.findIndexedPostsByIdIn(chunk));
+                Set<Long> removed = new HashSet<>(chunk);
+                posts.forEach(post -> {
+                    removed.remove(post.id());
+                    index.put(post);
+                });
+                removed.forEach(index::remove);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegionsRemoved(RegionsRemovedEvent event) {
+        synchronized (lock) {
+            if (!loaded) {
+                return;
+            }
+            if (event.countryId() == null) {
+                index.clear();
+                return;
+            }
+            index.removeAll(new PostIndex.Filter(event.countryId(), event.regionId(), null, null));
+        }
+    }
+}
@@ -1,26 +1,42 @@
 package online.strongnation.business.service.implementation;
 
 import lombok.AllArgsConstructor;
+import online.strongnation.business.cache.NameResolver;
+import online.strongnation.business.config.Constants;
+import online.strongnation.business.model.PostCursor;
+import online.strongnation.business.model.PostFilter;
 import online.strongnation.business.exception.*;
 import online.strongnation.business.model.dto.*;
 import online.strongnation.business.model.entity.Country;
 import online.strongnation.business.model.entity.Post;
 import online.strongnation.business.model.entity.PostPhoto;
 import online.strongnation.business.model.entity.Region;
+import online.strongnation.business.model.event.CountryChangedEvent;
+import online.strongnation.business.model.event.PostsChangedEvent;
+import online.strongnation.business.model.statistic.RollupChanges;
+import online.strongnation.business.model.statistic.StatisticDelta;
 import online.strongnation.business.model.statistic.StatisticResult;
-import online.strongnation.business.repository.CountryRepository;
-import online.strongnation.business.repository.PostRepository;
-import online.strongnation.business.repository.RegionRepository;
+import online.strongnation.business.repository.*;
 import online.strongnation.business.service.PostPhotoService;
 import online.strongnation.business.service.PostService;
+import online.strongnation.business.service.StatisticDeltaService;
 import online.strongnation.business.service.StatisticOfEntityUpdater;
+import online.strongnation.business.service.StatisticRollupService;
 import online.strongnation.business.service.StatisticService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
-import java.util.LinkedList;
-import java.util.List;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static online.strongnation.business.service.implementation.RequestParameterFixer.*;
 
@@ -32,44 +48,57 @@ public class PostServiceImpl implements PostService {
     private final PostRepository postRepository;
     private final StatisticOfEntityUpdater updater;
     private final StatisticService statistic;
+    private final StatisticDeltaService statisticDelta;
     private final PostPhotoService postPhotoService;
+    private final PostPhotoRepository postPhotoRepository;
+    private final StatisticRollupService rollups;
+    private final ApplicationEventPublisher publisher;
+    private final NameResolver names;
 
     private record Location(Country country, Region region) {
     }
 
+    //locations are loaded with the categories of the region and the country, the statistic of both is changed anyway
     private Location getLocationByNames(String clearNameOfCountry, String clearNameOfRegion) {
-        Country country = countryRepository.findCountryByNameIgnoreCase(clearNameOfCountry)
+        names.countryId(clearNameOfCountry)
                 .orElseThrow(() -> new CountryNotFoundException("Country " + clearNameOfCountry + " doesn't exist"));
-        Region region = regionRepository.findRegionInCountryByNamesIgnoringCase(clearNameOfCountry, clearNameOfRegion)
+        Long regionId = names.regionId(clearNameOfCountry, clearNameOfRegion)
                 .orElseThrow(() -> new RegionNotFoundException("Region " + clearNameOfRegion + " doesn't exist"));
-        return new Location(country, region);
+        return getLocationByRegionId(regionId);
     }
 
     private Location getLocationByRegionId(Long id) {
-        Region region = regionRepository.findById(id)
+        Region region = findRegionForWrite(id)
                 .orElseThrow(() -> new RegionNotFoundException("Region with id: " + id + " doesn't exist"));
-        Country country = regionRepository.findCountryOfRegionById(id)
-                .orElseThrow(() -> {
-                    String message = "Region with id: " + id + " doesn't belong to any country...";
-                    throw new IllegalRegionException(message);
-                });
+        if (region.getCountry() == null) {
+            throw new IllegalRegionException("Region with id: " + id + " doesn't belong to any country...");
+        }
+        final Long countryId = region.getCountry().getId();
+        Country country = findCountryForWrite(countryId)//the managed country gets its categories
+                .orElseThrow(() -> new CountryNotFoundException("Country with id: " + countryId + " doesn't exist"));
         return new Location(country, region);
     }
 
-    private Location getLocationByPostId(Long id) {
-        Region region = postRepository.findRegionOfPostById(id)
-                .orElseThrow(() -> {
-                    String message = "Post with id: " +
-                            id + " doesn't belong to any region...";
-                    throw new IllegalPostException(message);
-                });
-        Country country = regionRepository.findCountryOfRegionById(region.getId())
-                .orElseThrow(() -> {
-                    String message = "Region with id: " +
-                            region.getId() + " doesn't belong to any country...";
-                    throw new IllegalRegionException(message);
-                });
-        return new Location(country, region);
+    //totals changed by SQL statements are not read, the region comes with its country and the country from memory.
+    //The post counter of the region is bumped first, a rebuild that aggregated the region sees the write
+    private Optional<Region> findRegionForWrite(Long id) {
+        regionRepository.countPostWrite(id);
+        return updater.updatesLoadedTotals() ? regionRepository.findWithCategoriesAndCountryById(id)
+                : regionRepository.findWithCountryById(id);
+    }
+
+    private Optional<Country> findCountryForWrite(Long id) {
+        return updater.updatesLoadedTotals() ? countryRepository.findWithCategoriesById(id)
+                : countryRepository.findById(id);
+    }
+
+    //the post, its region and its country with all their categories in three queries, one per collection
+    private Location getLocationOfPost(Post post) {
+        Region region = post.getRegion();
+        if (region == null) {
+            throw new IllegalPostException("Post with id: " + post.getId() + " doesn't belong to any region...");
+        }
+        return getLocationByRegionId(region.getId());//the same managed region gets its categories
     }
 
     @Override
@@ -85,10 +114,12 @@ public class PostServiceImpl implements PostService {
     private PostDTO create(PostDTO checkedPost, Country country, Region region) {
         Post postDAO = new Post(checkedPost);
         postDAO.setRegion(region);
-        RegionDTO oldRegion = new RegionDTO(region);
-
-        StatisticResult regionResult = statistic.addChildToParent(oldRegion, checkedPost);
-        updateParentDAOs(postDAO, region, country, oldRegion, regionResult);
+        region.countNewPosts(1, checkedPost.getDate());
+        StatisticDelta delta = statisticDelta.ofNewChild(checkedPost);
+        updateParentDAOs(postDAO, region, country, delta);
+        rollups.apply(new RollupChanges().add(region.getId(), country.getId(), checkedPost.getDate(), delta));
+        publisher.publishEvent(new CountryChangedEvent(country.getId()));
+        publisher.publishEvent(new PostsChangedEvent(List.of(postDAO.getId())));
         return new PostDTO(postDAO);
     }
 
@@ -100,31 +131,150 @@ public class PostServiceImpl implements PostService {
         return create(checkedPost, location.country, location.region);
     }
 
+    @Override
+    @Transactional
+    public List<PostDTO> createAll(final List<PostDTO> posts, String countryName) {
+        final String clearNameOfCountry = checkAndNormalizeCountry(countryName);
+        final List<PostDTO> checkedPosts = checkAndNormalizeNewPostsOfRegions(posts);
+        Country country = names.countryId(clearNameOfCountry)
+                .flatMap(this::findCountryForWrite)
+                .orElseThrow(() -> new CountryNotFoundException("Country " + clearNameOfCountry + " doesn't exist"));
+        Map<String, List<PostDTO>> postsByRegion = checkedPosts.stream()
+                .collect(Collectors.groupingBy(p -> p.getRegion().toLowerCase(), LinkedHashMap::new, Collectors.toList()));
+        List<Post> postDAOs = new ArrayList<>(checkedPosts.size());
+        List<Region> regions = new ArrayList<>(postsByRegion.size());
+        StatisticDelta countryDelta = StatisticDelta.empty();
+        RollupChanges rollupChanges = new RollupChanges();
+        postsByRegion.values().forEach(list -> {
+            final String clearNameOfRegion = list.get(0).getRegion();
+            Region region = names.regionId(clearNameOfCountry, clearNameOfRegion)
+                    .flatMap(this::findRegionForWrite)
+                    .orElseThrow(() -> new RegionNotFoundException("Region " + clearNameOfRegion +
+                            " doesn't exist. Posts are not saved"));
+            StatisticDelta regionDelta = StatisticDelta.empty();
+            list.forEach(dto -> {
+                Post postDAO = new Post(dto);
+                postDAO.setRegion(region);
+                postDAOs.add(postDAO);
+                StatisticDelta postDelta = statisticDelta.ofNewChild(dto);
+                regionDelta.merge(postDelta);
+                rollupChanges.add(region.getId(), country.getId(), dto.getDate(), postDelta);
+            });
+            statisticDelta.apply(regionDelta, region);
+            region.countNewPosts(list.size(), list.stream().map(PostDTO::getDate).max(Comparator.naturalOrder()).get());
+            countryDelta.merge(regionDelta);
+            regions.add(region);
+        });
+        statisticDelta.apply(countryDelta, country);
+        postRepository.saveAll(postDAOs);
+        regionRepository.saveAll(regions);
+        countryRepository.save(country);
+        rollups.apply(rollupChanges);
+        publisher.publishEvent(new CountryChangedEvent(country.getId()));
+        publisher.publishEvent(new PostsChangedEvent(postDAOs.stream().map(Post::getId).toList()));
+        return postDAOs.stream().map(PostDTO::new).toList();
+    }
+
     @Override
     public List<GetPostResponse> all(String countryName, String regionName) {
         final String clearNameOfCountry = checkAndNormalizeCountry(countryName);
         final String clearNameOfRegion = checkAndNormalizeRegion(regionName);
-        var region = regionRepository.findRegionDTOInCountryByNamesIgnoringCase(clearNameOfCountry, clearNameOfRegion)
+        Long regionId = names.regionId(clearNameOfCountry, clearNameOfRegion)
                 .orElseThrow(() -> new RegionNotFoundException("Region " + clearNameOfRegion + " doesn't exist"));
-        return postRepository.findGetPostResponseAllByRegionId(region.getId())
-                .stream().sorted(Comparator.comparing(GetPostResponse::getDate).reversed()).toList();
+        return postRepository.findGetPostResponseAllByRegionId(regionId);
     }
 
     @Override
     public List<GetPostResponseByCountryDTO> all(String countryName) {
         final String clearNameOfCountry = checkAndNormalizeCountry(countryName);
-        var country = countryRepository.findCountryByNameIgnoreCase(clearNameOfCountry)
+        Long countryId = names.countryId(clearNameOfCountry)
                 .orElseThrow(() -> new CountryNotFoundException("Country " + countryName + " doesn't exist"));
-        return postRepository.findAllGetPostResponseByCountryDTObyCountryId(country.getId())
-                .stream().sorted(Comparator.comparing(GetPostResponseByCountryDTO::getDate).reversed()).toList();
-
+        return postRepository.findAllGetPostResponseByCountryDTObyCountryId(countryId);
     }
 
     @Override
     public List<GetPostResponse> all(Long id) {
-        return postRepository.findGetPostResponseAllByRegionId(id)
-                .stream().sorted(Comparator.comparing(GetPostResponse::getDate).reversed()).toList();
+        return postRepository.findGetPostResponseAllByRegionId(id);
+    }
+
+    @Override
+    public PostPage<GetPostResponse> page(String countryName, String regionName, Integer size, String cursor) {
+        final String clearNameOfCountry = checkAndNormalizeCountry(countryName);
+        final String clearNameOfRegion = checkAndNormalizeRegion(regionName);
+        Long regionId = names.regionId(clearNameOfCountry, clearNameOfRegion)
+                .orElseThrow(() -> new RegionNotFoundException("Region " + clearNameOfRegion + " doesn't exist"));
+        return pageOfRegion(regionId, size, cursor);
+    }
 
+    @Override
+    public PostPage<GetPostResponseByCountryDTO> page(String countryName, Integer size, String cursor) {
+        final String clearNameOfCountry = checkAndNormalizeCountry(countryName);
+        Long countryId = names.countryId(clearNameOfCountry)
+                .orElseThrow(() -> new CountryNotFoundException("Country " + countryName + " doesn't exist"));
+        return page(size, cursor,
+                pageable -> postRepository.findGetPostResponseByCountryDTOPageByCountryId(countryId, pageable),
+                (after, pageable) -> postRepository.findGetPostResponseByCountryDTOPageByCountryIdAfter(
+                        countryId, after.date(), after.id(), pageable),
+                post -> new PostCursor(post.getDate(), post.getId()));
+    }
+
+    @Override
+    public PostPage<GetPostResponse> page(Long id, Integer size, String cursor) {
+        if (!regionRepository.existsById(id)) {
+            throw new RegionNotFoundException("Region with id: " + id + " doesn't exist");
+        }
+        return pageOfRegion(id, size, cursor);
+    }
+
+    private PostPage<GetPostResponse> pageOfRegion(Long regionId, Integer size, String cursor) {
+        return page(size, cursor,
+                pageable -> postRepository.findGetPostResponsePageByRegionId(regionId, pageable),
+                (after, pageable) -> postRepository.findGetPostResponsePageByRegionIdAfter(
+                        regionId, after.date(), after.id(), pageable),
+                post -> new PostCursor(post.getDate(), post.getId()));
+    }
+
+    @Override
+    public PostPage<GetPostResponseByCountryDTO> query(PostQueryRequest request) {
+        final String clearNameOfCountry = checkAndNormalizeCountry(request.getCountry());
+        final LocalDate from = checkSearchDate(request.getFrom());
+        final LocalDate to = checkSearchDate(request.getTo());
+        checkSearchRange(from, to);
+        final String category = request.getCategory() == null ? null
+                : checkAndNormalizeCategoryOfQuery(request.getCategory());
+        final BigDecimal minAmount = checkMinAmountOfQuery(request.getMin());
+        Long countryId = names.countryId(clearNameOfCountry)
+                .orElseThrow(() -> new CountryNotFoundException("Country " + request.getCountry() + " doesn't exist"));
+        Long regionId = null;
+        if (request.getRegion() != null) {
+            final String clearNameOfRegion = checkAndNormalizeRegion(request.getRegion());
+            regionId = names.regionId(clearNameOfCountry, clearNameOfRegion)
+                    .orElseThrow(() -> new RegionNotFoundException("Region " + clearNameOfRegion + " doesn't exist"));
+        }
+        final PostFilter filter = new PostFilter(countryId, regionId,
+                from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay(),
+                request.getImportant(), category, minAmount);
+        return page(request.getSize(), request.getCursor(),
+                pageable -> postRepository.findGetPostResponseByCountryDTOByFilter(filter, null,
+                        pageable.getPageSize()),
+                (after, pageable) -> postRepository.findGetPostResponseByCountryDTOByFilter(filter, after,
+                        pageable.getPageSize()),
+                post -> new PostCursor(post.getDate(), post.getId()));
+    }
+
+    private static <T> PostPage<T> page(Integer size, String cursor,
+                                        Function<Pageable, List<T>> first,
+                                        BiFunction<PostCursor, Pageable, List<T>> after,
+                                        Function<T, PostCursor> cursorOf) {
+        final int checkedSize = checkSizeOfPostPage(size);
+        final Pageable pageable = PageRequest.of(0, checkedSize + 1);//one more post tells if there is a next page
+        List<T> posts = cursor == null ? first.apply(pageable) : after.apply(PostCursor.decode(cursor), pageable);
+        if (posts.size() <= checkedSize) {
+            return new PostPage<>(posts, null);
+        }
+        List<T> page = posts.subList(0, checkedSize);
+        return new PostPage<>(page, cursorOf.apply(page.get(checkedSize - 1)).encode());
     }
 
     @Override
@@ -137,17 +287,19 @@ public class PostServiceImpl implements PostService {
     @Transactional
     public PostDTO update(PostDTO post) {
         final PostDTO checkedPost = checkAndNormalizeUpdatedPost(post);
-        final Post postDAO = postRepository.findById(post.getId())
+        final Post postDAO = postRepository.findWithCategoriesAndRegionById(post.getId())
                 .orElseThrow(() -> new PostNotFoundException("There is no post with id: " + post.getId()));
-        Location location = getLocationByPostId(post.getId());
+        Location location = getLocationOfPost(postDAO);
         Region region = location.region;
         if (region.getName().equalsIgnoreCase(checkedPost.getRegion())) {// region is the same
-            RegionDTO oldRegion = new RegionDTO(region);
             PostDTO old = new PostDTO(postDAO);
             updatePost(postDAO, checkedPost, old);
-            StatisticResult regionResult = statistic
-                    .updateChild(new RegionDTO(region), old, checkedPost);
-            updateParentDAOs(postDAO, region, location.country, oldRegion, regionResult);
+            countUpdatedPost(region, postDAO.getId(), old.getDate(), checkedPost.getDate());
+            StatisticDelta delta = statisticDelta.ofUpdatedChild(old, checkedPost);
+            updateParentDAOs(postDAO, region, location.country, delta);
+            updateRollups(location, old, region, checkedPost);
+            publisher.publishEvent(new CountryChangedEvent(location.country.getId()));
+            publisher.publishEvent(new PostsChangedEvent(List.of(postDAO.getId())));
             return checkedPost;
         }
         //region is changed for this post
@@ -156,32 +308,33 @@ public class PostServiceImpl implements PostService {
 
     private PostDTO movePostToAnotherRegion(Location location, Post postDAO, PostDTO newPost) {
         final Region targetRegion = getTargetRegion(location, newPost);//first, we should check if the target region exists, and then we can do the math
-        final RegionDTO oldRegion = new RegionDTO(location.region);
         final PostDTO old = new PostDTO(postDAO);
         postDAO.setRegion(null);
         updatePost(postDAO, newPost, old);
-        StatisticResult regionResult = statistic.deleteChild(oldRegion, old);
-        updater.update(location.region, regionResult);
-        StatisticResult countryResult = statistic
-                .updateChild(new CountryDTO(location.country), oldRegion, new RegionDTO(location.region));
-        updater.update(location.country, countryResult);
-
-        RegionDTO oldTargetRegion = new RegionDTO(targetRegion);
-        StatisticResult statisticResultOfRegionWithAddedPost = statistic
-                .addChildToParent(oldTargetRegion, newPost);
-        updater.update(targetRegion, statisticResultOfRegionWithAddedPost);
-        StatisticResult countryResultAfterMovingPost = statistic
-                .updateChild(new CountryDTO(location.country),
-                        oldTargetRegion, new RegionDTO(targetRegion));
-        updater.update(location.country, countryResultAfterMovingPost);
+        statisticDelta.apply(statisticDelta.ofDeletedChild(old), location.region);
+        statisticDelta.apply(statisticDelta.ofNewChild(newPost), targetRegion);
+        countDeletedPost(location.region, postDAO.getId(), old.getDate());
+        targetRegion.countNewPosts(1, newPost.getDate());
+        statisticDelta.apply(statisticDelta.ofUpdatedChild(old, newPost), location.country);//both regions are in the same country
         postDAO.setRegion(targetRegion);
         postRepository.save(postDAO);
         regionRepository.save(location.region);
         regionRepository.save(targetRegion);
         countryRepository.save(location.country);
+        updateRollups(location, old, targetRegion, newPost);
+        publisher.publishEvent(new CountryChangedEvent(location.country.getId()));
+        publisher.publishEvent(new PostsChangedEvent(List.of(postDAO.getId())));
         return newPost;
     }
 
+    private void updateRollups(Location location, PostDTO old, Region targetRegion, PostDTO newPost) {
+        //the date of post can change too, so the old post leaves its buckets and the new one enters its own
+        final Long countryId = location.country.getId();
+        rollups.apply(new RollupChanges()
+                .add(location.region.getId(), countryId, old.getDate(), statisticDelta.ofDeletedChild(old))
+                .add(targetRegion.getId(), countryId, newPost.getDate(), statisticDelta.ofNewChild(newPost)));
+    }
+
     private void updatePost(Post postDAO, PostDTO checkedPost, PostDTO old) {
         StatisticResult statisticResultOfPost = statistic.updateSelf(old, checkedPost);
         updater.update(postDAO, statisticResultOfPost);
@@ -189,8 +342,8 @@ public class PostServiceImpl implements PostService {
     }
 
     private Region getTargetRegion(Location location, PostDTO checkedPost) {
-        return regionRepository
-                .findRegionInCountryByNamesIgnoringCase(location.country.getName(), checkedPost.getRegion())
+        return names.regionId(location.country.getName(), checkedPost.getRegion())
+                .flatMap(this::findRegionForWrite)
                 .orElseThrow(() -> {
                     final String message = "There is no region with name"
                             + checkedPost.getRegion() + " in country " +
@@ -210,17 +363,33 @@ public class PostServiceImpl implements PostService {
         }
     }
 
-    private void updateParentDAOs(Post postDAO, Region region, Country country,
-                                  RegionDTO oldRegion, StatisticResult regionResult) {
-        updateParentDAOs(region, country, oldRegion, regionResult);
+    private void countDeletedPost(Region region, Long postId, LocalDateTime date) {
+        region.setPostCount(Math.max(0, region.getPostCount() - 1));
+        LocalDateTime latest = region.getLatestPostDate();
+        if (latest != null && !date.isBefore(latest)) {//the newest post is removed
+            region.setLatestPostDate(postRepository.findLatestPostDateByRegionIdExcept(region.getId(), postId)
+                    .orElse(null));
+        }
+    }
+
+    private void countUpdatedPost(Region region, Long postId, LocalDateTime oldDate, LocalDateTime newDate) {
+        LocalDateTime latest = region.getLatestPostDate();
+        if (latest == null || newDate.isAfter(latest)) {
+            region.setLatestPostDate(newDate);
+        } else if (!oldDate.isBefore(latest) && newDate.isBefore(oldDate)) {//the newest post became older
+            LocalDateTime others = postRepository.findLatestPostDateByRegionIdExcept(region.getId(), postId)
+                    .orElse(newDate);
+            region.setLatestPostDate(others.isAfter(newDate) ? others : newDate);
+        }
+    }
+
+    private void updateParentDAOs(Post postDAO, Region region, Country country, StatisticDelta delta) {
+        updateParentDAOs(region, country, delta);
         postRepository.save(postDAO);
     }
 
-    private void updateParentDAOs(Region region, Country country,
-                                  RegionDTO oldRegion, StatisticResult regionResult) {
-        updater.update(region, regionResult);
-        StatisticResult countryResult = statistic.updateChild(new CountryDTO(country), oldRegion, new RegionDTO(region));
-        updater.update(country, countryResult);
+    private void updateParentDAOs(Region region, Country country, StatisticDelta delta) {
+        statisticDelta.apply(delta, region, country);
         regionRepository.save(region);
         countryRepository.save(country);
     }
@@ -228,14 +397,17 @@ public class PostServiceImpl implements PostService {
     @Override
     @Transactional
     public PostDTO delete(Long id) {
-        final var post = postRepository.findById(id)
+        final var post = postRepository.findWithCategoriesAndRegionById(id)
                 .orElseThrow(() -> new PostNotFoundException("There is no post with id: " + id));
-        Location location = getLocationByPostId(id);
-        RegionDTO oldRegion = new RegionDTO(location.region);
+        Location location = getLocationOfPost(post);
         PostDTO oldPost = new PostDTO(post);
-        StatisticResult regionResult = statistic
-                .deleteChild(new RegionDTO(location.region), oldPost);
-        updateParentDAOs(location.region, location.country, oldRegion, regionResult);
+        StatisticDelta delta = statisticDelta.ofDeletedChild(oldPost);
+        countDeletedPost(location.region, id, oldPost.getDate());
+        updateParentDAOs(location.region, location.country, delta);
+        rollups.apply(new RollupChanges()
+                .add(location.region.getId(), location.country.getId(), oldPost.getDate(), delta));
+        publisher.publishEvent(new CountryChangedEvent(location.country.getId()));
+        publisher.publishEvent(new PostsChangedEvent(List.of(id)));
         deletePhotoIfExists(post);
         postRepository.deleteById(id);
         return oldPost;
@@ -271,29 +443,57 @@ public class PostServiceImpl implements PostService {
             throw new PostNotFoundException("There is no post with id: " + id);
         }
         postRepository.setImportantOfPostById(id, important);
+        publisher.publishEvent(new CountryChangedEvent(postRepository.findCountryIdOfPostById(id).orElse(null)));
+        publisher.publishEvent(new PostsChangedEvent(List.of(id)));
         return important;
     }
 
+    //the removed posts are the response and are collected in the same pass that sums their delta and ids,
+    //they are not streamed like exports: the body would be sent before the deletion commits
+    //and a rolled back deletion would still be reported to the client
     private List<PostDTO> deleteAll(Country country, Region region) {
-        var list = postRepository.findAllByRegionId(region.getId());
-        List<PostDTO> old = new LinkedList<>();
-        list.forEach(post -> {
-            PostDTO oldPost = new PostDTO(post);
-            old.add(oldPost);
-            StatisticResult regionResult = statistic.deleteChild(new RegionDTO(region), oldPost);
-            RegionDTO oldRegion = new RegionDTO(region);
-            updater.update(region, regionResult);
-            StatisticResult countryResult = statistic
-                    .updateChild(new CountryDTO(country), oldRegion, new RegionDTO(region));
-            updater.update(country, countryResult);
-            deletePhotoIfExists(post);
-            postRepository.deleteById(post.getId());
+        var posts = postRepository.findAllWithCategoriesAndPhotoByRegionId(region.getId());
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+        List<PostDTO> old = new ArrayList<>(posts.size());
+        StatisticDelta delta = StatisticDelta.empty();
+        List<Long> postIds = new ArrayList<>(posts.size());
+        List<PostPhoto> photos = new ArrayList<>();
+        for (Post post : posts) {
+            PostDTO removed = new PostDTO(post);
+            old.add(removed);
+            delta.merge(statisticDelta.ofDeletedChild(removed));
+            postIds.add(post.getId());
+            if (post.getPostPhoto() != null) {
+                photos.add(post.getPostPhoto());
+            }
+        }
+        region.setPostCount(0L);
+        region.setLatestPostDate(null);
+        updateParentDAOs(region, country, delta);
+        rollups.removeRegion(region.getId(), country.getId());//the region has no posts left
+        publisher.publishEvent(new CountryChangedEvent(country.getId()));
+        List<Long> photoIds = new ArrayList<>(photos.size());
+        photos.forEach(postPhoto -> {
+            postPhotoService.deletePhotoByPostPhoto(postPhoto);
+            photoIds.add(postPhoto.getId());
         });
-        regionRepository.save(region);
-        countryRepository.save(country);
+        //post_category_amount references post, post references post_photo
+        inChunks(postIds, postRepository::deleteCategoriesByPostIdIn);
+        inChunks(postIds, postRepository::deleteAllByIdInBatch);
+        inChunks(photoIds, postPhotoRepository::deleteAllByIdInBatch);
+        publisher.publishEvent(new PostsChangedEvent(postIds));
         return old;
     }
 
+    private static void inChunks(List<Long> ids, Consumer<List<Long>> action) {
+        final int size = Constants.MAX_NUMBER_OF_IDS_IN_BULK_DELETE;
+        for (int from = 0; from < ids.size(); from += size) {
+            action.accept(ids.subList(from, Math.min(from + size, ids.size())));
+        }
+    }
+
     private void deletePhotoIfExists(Post post) {
         PostPhoto postPhoto = post.getPostPhoto();
         if (postPhoto != null) {
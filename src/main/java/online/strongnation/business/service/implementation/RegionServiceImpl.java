@@ -1,25 +1,33 @@
 package online.strongnation.business.service.implementation;
 
 import lombok.AllArgsConstructor;
+import online.strongnation.business.cache.DtoCache;
+import online.strongnation.business.cache.NameResolver;
+import online.strongnation.business.cache.LruTtlCache.Tagged;
 import online.strongnation.business.exception.RegionNotFoundException;
-import online.strongnation.business.model.statistic.StatisticResult;
 import online.strongnation.business.service.PostPhotoService;
 import online.strongnation.business.exception.CountryNotFoundException;
 import online.strongnation.business.exception.IllegalRegionException;
-import online.strongnation.business.model.dto.CountryDTO;
 import online.strongnation.business.model.dto.RegionDTO;
 import online.strongnation.business.model.entity.Country;
 import online.strongnation.business.model.entity.Region;
+import online.strongnation.business.model.event.CountryChangedEvent;
+import online.strongnation.business.model.event.RegionsRemovedEvent;
 import online.strongnation.business.repository.CountryRepository;
 import online.strongnation.business.repository.RegionRepository;
 import online.strongnation.business.service.RegionService;
-import online.strongnation.business.service.StatisticOfEntityUpdater;
-import online.strongnation.business.service.StatisticService;
+import online.strongnation.business.service.StatisticDeltaService;
+import online.strongnation.business.service.StatisticRollupService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static online.strongnation.business.service.implementation.RequestParameterFixer.checkAndNormalizeCountry;
 import static online.strongnation.business.service.implementation.RequestParameterFixer.checkAndNormalizeRegion;
@@ -30,26 +38,31 @@ public class RegionServiceImpl implements RegionService {
 
     private final RegionRepository regionRepository;
     private final CountryRepository countryRepository;
-    private final StatisticService statistic;
-    private final StatisticOfEntityUpdater updater;
+    private final StatisticDeltaService statisticDelta;
     private final PostPhotoService postPhotoService;
+    private final StatisticRollupService rollups;
+    private final ApplicationEventPublisher publisher;
+    private final DtoCache cache;
+    private final NameResolver names;
 
     @Override
     public RegionDTO create(final String countryName, final String name) {
         String clearCountryName = checkAndNormalizeCountry(countryName);
         String clearRegionName = checkAndNormalizeRegion(name);
         Country country = findCountryByName(clearCountryName);
-        if (regionRepository.existsRegionInCountryByNamesIgnoringCase(clearCountryName, clearRegionName)) {
+        if (names.regionId(clearCountryName, clearRegionName).isPresent()) {
             throw new IllegalRegionException("Region " + name + " already exists");
         }
         Region region = new Region(clearRegionName);
         region.setCountry(country);
         regionRepository.save(region);
+        publisher.publishEvent(new CountryChangedEvent(country.getId()));
         return new RegionDTO(region);
     }
 
     private Country findCountryByName(String name) {
-        return countryRepository.findCountryByNameIgnoreCase(name)
+        return names.countryId(name)
+                .flatMap(countryRepository::findById)
                 .orElseThrow(() -> {
                     throw new CountryNotFoundException("Country " + name + " doesn't exist");
                 });
@@ -60,9 +73,13 @@ public class RegionServiceImpl implements RegionService {
         String clearCountryName = checkAndNormalizeCountry(countryName);
         List<String> clearedRegions = names.stream().map(RequestParameterFixer::checkAndNormalizeRegion).toList();
         Country country = findCountryByName(clearCountryName);
+        //one query for all names of the country instead of one per new region
+        final Set<String> present = regionRepository.findNamesByCountryId(country.getId()).stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toCollection(HashSet::new));
         final ArrayList<Region> regions = new ArrayList<>(clearedRegions.size());
         clearedRegions.forEach(s -> {
-            if (regionRepository.existsRegionInCountryByNamesIgnoringCase(clearCountryName, s)) {
+            if (!present.add(s.toLowerCase(Locale.ROOT))) {//names repeated in the list are rejected too
                 throw new IllegalRegionException("Region " + s + " is already present. Regions are not saved");
             }
             Region r = new Region(s);
@@ -70,6 +87,7 @@ public class RegionServiceImpl implements RegionService {
             regions.add(r);
         });
         regionRepository.saveAll(regions);
+        publisher.publishEvent(new CountryChangedEvent(country.getId()));
         return regions.stream().map(RegionDTO::new).toList();
     }
 
@@ -77,11 +95,15 @@ public class RegionServiceImpl implements RegionService {
     public RegionDTO get(String countryName, String name) {
         String clearCountryName = checkAndNormalizeCountry(countryName);
         String clearRegionName = checkAndNormalizeRegion(name);
-        return findRegionInCountryByNames(clearCountryName, clearRegionName);
+        return cache.getRegionByNames().get(DtoCache.key(clearCountryName, clearRegionName), () -> {
+            RegionDTO region = findRegionInCountryByNames(clearCountryName, clearRegionName);
+            return new Tagged<>(names.countryId(clearCountryName).orElse(null), region);
+        });
     }
 
     private RegionDTO findRegionInCountryByNames(String countryName, String name) {
-        return regionRepository.findRegionDTOInCountryByNamesIgnoringCase(countryName, name)
+        return names.regionId(countryName, name)
+                .flatMap(regionRepository::findRegionDTOById)
                 .orElseThrow(() -> {
                     String message = "Region " + name + " in country " + countryName + " not found";
                     throw new RegionNotFoundException(message);
@@ -90,6 +112,13 @@ public class RegionServiceImpl implements RegionService {
 
     @Override
     public RegionDTO get(Long id) {
+        return cache.getRegionById().get(id, () -> {
+            RegionDTO region = findRegionById(id);
+            return new Tagged<>(regionRepository.findCountryIdOfRegionById(id).orElse(null), region);
+        });
+    }
+
+    private RegionDTO findRegionById(Long id) {
         return regionRepository.findRegionDTOById(id)
                 .orElseThrow(() -> {
                     String message = "Region with id:" + id + " not found";
@@ -100,7 +129,11 @@ public class RegionServiceImpl implements RegionService {
     @Override
     public List<RegionDTO> all(String countryName) {
         String clearCountryName = checkAndNormalizeCountry(countryName);
-        return regionRepository.findAllRegionDTOByCountryNameIgnoringCase(clearCountryName);
+        return cache.getRegionsOfCountry().get(DtoCache.key(clearCountryName), () -> {
+            Long countryId = names.countryId(clearCountryName).orElse(null);
+            return new Tagged<>(countryId, countryId == null ? List.of()
+                    : regionRepository.findAllRegionDTOByCountryId(countryId));
+        });
     }
 
     @Override
@@ -111,6 +144,9 @@ public class RegionServiceImpl implements RegionService {
         String clearNewRegionName = checkAndNormalizeRegion(newName);
         RegionDTO region = findRegionInCountryByNames(clearCountryName, clearOldRegionName);
         regionRepository.updateNameOfRegionById(region.getId(), clearNewRegionName);
+        names.evictRegion(region.getId());
+        publisher.publishEvent(new CountryChangedEvent(regionRepository.findCountryIdOfRegionById(region.getId())
+                .orElse(null)));
         return region.toBuilder().name(clearNewRegionName).build();
     }
 
@@ -118,8 +154,10 @@ public class RegionServiceImpl implements RegionService {
     @Transactional
     public RegionDTO rename(Long id, String newName) {
         String clearNewRegionName = checkAndNormalizeRegion(newName);
-        RegionDTO region = get(id);
+        RegionDTO region = findRegionById(id);
         regionRepository.updateNameOfRegionById(region.getId(), clearNewRegionName);
+        names.evictRegion(region.getId());
+        publisher.publishEvent(new CountryChangedEvent(regionRepository.findCountryIdOfRegionById(id).orElse(null)));
         return region.toBuilder().name(clearNewRegionName).build();
     }
 
@@ -129,26 +167,30 @@ public class RegionServiceImpl implements RegionService {
         String clearCountryName = checkAndNormalizeCountry(countryName);
         String clearRegionName = checkAndNormalizeRegion(name);
         RegionDTO regionDTO = findRegionInCountryByNames(clearCountryName, clearRegionName);
-        Country country = countryRepository.findCountryByName(clearCountryName).orElseThrow(CountryNotFoundException::new);
-        StatisticResult result = statistic.deleteChild(new CountryDTO(country), regionDTO);
-        updater.update(country, result);
+        Country country = findCountryByName(clearCountryName);
+        statisticDelta.apply(statisticDelta.ofDeletedChild(regionDTO), country);
         countryRepository.save(country);
+        rollups.removeRegion(regionDTO.getId(), country.getId());
         postPhotoService.deletePhotoByRegionId(regionDTO.getId());
         regionRepository.deleteById(regionDTO.getId());
+        publisher.publishEvent(new CountryChangedEvent(country.getId()));
+        publisher.publishEvent(new RegionsRemovedEvent(country.getId(), regionDTO.getId()));
         return regionDTO;
     }
 
     @Override
     @Transactional
     public RegionDTO delete(Long id) {
-        RegionDTO regionDTO = get(id);
+        RegionDTO regionDTO = findRegionById(id);
         Country country = regionRepository.findCountryOfRegionById(id)
                 .orElseThrow(IllegalRegionException::new);
         postPhotoService.deletePhotoByRegionId(regionDTO.getId());
         regionRepository.deleteById(regionDTO.getId());
-        StatisticResult result = statistic.deleteChild(new CountryDTO(country), regionDTO);
-        updater.update(country, result);
+        statisticDelta.apply(statisticDelta.ofDeletedChild(regionDTO), country);
         countryRepository.save(country);
+        rollups.removeRegion(regionDTO.getId(), country.getId());
+        publisher.publishEvent(new CountryChangedEvent(country.getId()));
+        publisher.publishEvent(new RegionsRemovedEvent(country.getId(), id));
         return regionDTO;
     }
 
@@ -157,19 +199,17 @@ public class RegionServiceImpl implements RegionService {
     @Transactional
     public List<RegionDTO> deleteAllByCountry(String countryName) {
         String clearCountryName = checkAndNormalizeCountry(countryName);
-        Country country = countryRepository.findCountryByNameIgnoreCase(clearCountryName)
-                .orElseThrow(() -> {
-                    String message = "Country " + clearCountryName + " doesn't exist";
-                    throw new CountryNotFoundException(message);
-                });
-        List<RegionDTO> regions = regionRepository.findAllRegionDTOByCountryNameIgnoringCase(countryName);
+        Country country = findCountryByName(clearCountryName);
+        List<RegionDTO> regions = regionRepository.findAllRegionDTOByCountryId(country.getId());
         regions.forEach(r -> {
             postPhotoService.deletePhotoByRegionId(r.getId());
             regionRepository.deleteById(r.getId());
-            StatisticResult result = statistic.deleteChild(new CountryDTO(country), r);
-            updater.update(country, result);
+            statisticDelta.apply(statisticDelta.ofDeletedChild(r), country);
+            rollups.removeRegion(r.getId(), country.getId());
         });
         countryRepository.save(country);
+        publisher.publishEvent(new CountryChangedEvent(country.getId()));
+        publisher.publishEvent(new RegionsRemovedEvent(country.getId(), null));
         return regions;
     }
 }
@@ -3,17 +3,22 @@ package online.strongnation.business.service.implementation;
 import online.strongnation.business.exception.IllegalCountryException;
 import online.strongnation.business.exception.IllegalPostException;
 import online.strongnation.business.exception.IllegalRegionException;
+import online.strongnation.business.exception.IllegalStatisticException;
 import online.strongnation.business.config.Constants;
 import online.strongnation.business.config.Floats;
 import online.strongnation.business.config.NameProperties;
 import online.strongnation.business.model.dto.CategoryDTO;
 import online.strongnation.business.model.dto.PostDTO;
+import online.strongnation.business.model.statistic.RollupGranularity;
+import online.strongnation.business.search.PostIndex;
 import org.apache.commons.lang3.StringUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Objects;
 
@@ -46,12 +51,37 @@ public interface RequestParameterFixer {
         return clearName;
     }
 
+    static String toLookupName(final String name) {
+        return NameProperties.toLookupName(name);
+    }
+
     static PostDTO checkAndNormalizeNewPost(final PostDTO post) {
         checkIdOfNewPost(post.getId());
         final Boolean important = checkAndNormalizeImportantOfNewPost(post.getImportant());
         return checkAndNormalizePost(post).important(important).build();
     }
 
+    static List<PostDTO> checkAndNormalizeNewPostsOfRegions(final List<PostDTO> posts) {
+        if (posts == null || posts.isEmpty()) {
+            throw new IllegalPostException("List of posts is empty");
+        }
+        if (posts.size() > Constants.MAX_NUMBER_OF_POSTS_IN_BATCH) {
+            String message = "There is too many posts. Allowed: "
+                    + Constants.MAX_NUMBER_OF_POSTS_IN_BATCH +
+                    " Actual: " + posts.size();
+            throw new IllegalPostException(message);
+        }
+        return posts.stream().map(RequestParameterFixer::checkAndNormalizeNewPostOfRegion).toList();
+    }
+
+    static PostDTO checkAndNormalizeNewPostOfRegion(final PostDTO post) {
+        if (post == null) {
+            throw new IllegalPostException("Post is null");
+        }
+        final String regionName = checkAndNormalizeRegion(post.getRegion());
+        return checkAndNormalizeNewPost(post).toBuilder().region(regionName).build();
+    }
+
     static Boolean checkAndNormalizeImportantOfNewPost(Boolean important) {
         return important != null && important;
     }
@@ -199,4 +229,91 @@ public interface RequestParameterFixer {
             throw new IllegalPostException(message);
         }
     }
+
+    static RollupGranularity checkRollupGranularity(final String granularity) {
+        if (granularity == null) {
+            throw new IllegalStatisticException("Granularity is null");
+        }
+        try {
+            return RollupGranularity.valueOf(granularity.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStatisticException("Unknown granularity: " + granularity);
+        }
+    }
+
+    static LocalDate checkRollupDate(final String date) {
+        if (date == null) {
+            throw new IllegalStatisticException("Date is null");
+        }
+        try {
+            return LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalStatisticException("Date should have format yyyy-MM-dd: " + date);
+        }
+    }
+
+    static void checkRollupRange(RollupGranularity granularity, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalStatisticException("Start of the range is after its end");
+        }
+        if (granularity.bucketsBetween(from, to) > Constants.MAX_NUMBER_OF_ROLLUP_BUCKETS) {
+            throw new IllegalStatisticException("Too many buckets in the range, max is " +
+                    Constants.MAX_NUMBER_OF_ROLLUP_BUCKETS);
+        }
+    }
+
+    static int checkSizeOfPostPage(final Integer size) {
+        if (size == null) {
+            return Constants.DEFAULT_SIZE_OF_POST_PAGE;
+        }
+        if (size < 1 || size > Constants.MAX_SIZE_OF_POST_PAGE) {
+            throw new IllegalPostException("Size of page should be from 1 to " + Constants.MAX_SIZE_OF_POST_PAGE);
+        }
+        return size;
+    }
+
+    static List<String> checkAndSplitSearchQuery(final String query) {
+        if (query == null) {
+            throw new IllegalPostException("Search query is null");
+        }
+        if (query.length() > NameProperties.POST_DESCRIPTION_LENGTH) {
+            throw new IllegalPostException("Too long search query");
+        }
+        List<String> terms = PostIndex.terms(query);
+        if (terms.isEmpty()) {
+            throw new IllegalPostException("Search query has no words");
+        }
+        return terms;
+    }
+
+    static LocalDate checkSearchDate(final String date) {
+        if (date == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalPostException("Date should have format yyyy-MM-dd: " + date);
+        }
+    }
+
+    static void checkSearchRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalPostException("Start of the range is after its end");
+        }
+    }
+
+    static String checkAndNormalizeCategoryOfQuery(final String name) {
+        return checkAndNormalizeNameOfCategory(name);
+    }
+
+    static BigDecimal checkMinAmountOfQuery(final BigDecimal min) {
+        if (min == null) {
+            return null;
+        }
+        if (min.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalPostException("Minimal number of category is less than zero: " + min);
+        }
+        return min;
+    }
 }
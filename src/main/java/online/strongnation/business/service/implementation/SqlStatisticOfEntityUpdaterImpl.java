@@ -0,0 +1,134 @@
+package online.strongnation.business.service.implementation;
+
+import online.strongnation.business.model.entity.CategoryUnitsConverter;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.model.entity.Region;
+import online.strongnation.business.model.statistic.CategoryKey;
+import online.strongnation.business.model.statistic.Cents;
+import online.strongnation.business.model.statistic.StatisticDelta;
+import online.strongnation.business.model.statistic.StatisticEntity;
+import online.strongnation.business.model.statistic.StatisticResult;
+import online.strongnation.business.repository.CategoryTotalRepository;
+import online.strongnation.business.repository.CountryCategoryRepository;
+import online.strongnation.business.repository.RegionCategoryRepository;
+import online.strongnation.business.service.StatisticOfEntityUpdater;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.util.HashMap;
+import java.util.Map;
+
+//totals of regions and countries are changed in place by "number = number + :delta" statements,
+//loaded entities are not touched and stay stale until the end of the transaction,
+//PostgreSQL adds every entry with one INSERT ... ON CONFLICT, other databases (H2 in tests) serialize writers on the owner row
+@Service
+@ConditionalOnProperty(name = "statistic.update.mode", havingValue = "sql")
+public class SqlStatisticOfEntityUpdaterImpl implements StatisticOfEntityUpdater {
+
+    private final RegionCategoryRepository regionCategoryRepository;
+    private final CountryCategoryRepository countryCategoryRepository;
+    private final StatisticOfEntityUpdater entityUpdater = new StatisticOfEntityUpdaterImpl();//posts are rewritten anyway
+    private final boolean upsert;
+
+    public SqlStatisticOfEntityUpdaterImpl(RegionCategoryRepository regionCategoryRepository,
+                                           CountryCategoryRepository countryCategoryRepository,
+                                           DataSource dataSource) {
+        this.regionCategoryRepository = regionCategoryRepository;
+        this.countryCategoryRepository = countryCategoryRepository;
+        this.upsert = supportsUpsert(dataSource);
+    }
+
+    private static boolean supportsUpsert(DataSource dataSource) {
+        try {
+            return "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(dataSource,
+                    DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void update(StatisticEntity updated, StatisticResult statistic) {
+        if (getTotalRepository(updated) == null) {
+            entityUpdater.update(updated, statistic);
+            return;
+        }
+        update(updated, toDelta(updated, statistic));
+    }
+
+    private StatisticDelta toDelta(StatisticEntity updated, StatisticResult statistic) {
+        StatisticDelta delta = StatisticDelta.of(statistic.newCategories());
+        if (statistic.updatedCategories().isEmpty() && statistic.excessiveCategories().isEmpty()) {
+            return delta;
+        }
+        Map<CategoryKey, Long> stored = new HashMap<>();
+        updated.getCategories().forEach(category -> stored.put(CategoryKey.of(category), Cents.of(category.getNumber())));
+        statistic.updatedCategories().forEach(category -> {
+            CategoryKey key = CategoryKey.of(category);
+            delta.add(key, Cents.subtract(Cents.of(category.getNumber()), stored.getOrDefault(key, 0L)));
+        });
+        statistic.excessiveCategories().forEach(category -> {
+            CategoryKey key = CategoryKey.of(category);
+            Long number = stored.get(key);
+            if (number != null) {
+                delta.add(key, Cents.negate(number));
+            }
+        });
+        return delta;
+    }
+
+    @Override
+    public void update(StatisticEntity updated, StatisticDelta delta) {
+        CategoryTotalRepository totals = getTotalRepository(updated);
+        if (totals == null) {
+            entityUpdater.update(updated, delta);
+            return;
+        }
+        if (delta.isEmpty()) {
+            return;
+        }
+        final Long ownerId = getId(updated);
+        if (!upsert) {
+            totals.lockOwner(ownerId);
+        }
+        delta.forEach((key, cents) -> {
+            BigDecimal number = Cents.toBigDecimal(cents);
+            if (upsert) {
+                totals.upsertCategory(ownerId, key.name(), unitsOf(key), number);
+            } else if (totals.addToCategory(ownerId, key.name(), unitsOf(key), number) == 0) {
+                totals.insertCategory(ownerId, key.name(), unitsOf(key), number);
+            }
+        });
+        if (delta.hasDecrease()) {
+            totals.deleteNonPositiveCategories(ownerId);
+        }
+    }
+
+    @Override
+    public boolean updatesLoadedTotals() {
+        return false;
+    }
+
+        private CategoryTotalRepository getTotalRepository(StatisticEntity entity) {
+        if (entity instanceof Region) {
+            return regionCategoryRepository;
+        }
+        if (entity instanceof Country) {
+            return countryCategoryRepository;
+        }
+        return null;
+    }
+
+    private static Long getId(StatisticEntity entity) {
+        return entity instanceof Region region ? region.getId() : ((Country) entity).getId();
+    }
+
+    private static String unitsOf(CategoryKey key) {
+        return key.units() == null ? CategoryUnitsConverter.NO_UNITS : key.units();
+    }
+}
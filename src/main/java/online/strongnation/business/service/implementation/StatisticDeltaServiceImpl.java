@@ -0,0 +1,61 @@
+package online.strongnation.business.service.implementation;
+
+import lombok.AllArgsConstructor;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.model.event.CountryStatisticChangedEvent;
+import online.strongnation.business.model.statistic.StatisticDelta;
+import online.strongnation.business.model.statistic.StatisticEntity;
+import online.strongnation.business.model.statistic.StatisticModel;
+import online.strongnation.business.service.StatisticDeltaService;
+import online.strongnation.business.service.StatisticOfEntityUpdater;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+public class StatisticDeltaServiceImpl implements StatisticDeltaService {
+
+    private final StatisticOfEntityUpdater updater;
+    private final ApplicationEventPublisher publisher;
+
+    @Override
+    public StatisticDelta ofNewChild(StatisticModel<?> child) {
+        if (child == null) {
+            return StatisticDelta.empty();
+        }
+        return StatisticDelta.of(child.getCategories());
+    }
+
+    @Override
+    public StatisticDelta ofUpdatedChild(StatisticModel<?> old, StatisticModel<?> updated) {
+        if (updated == null) {
+            return StatisticDelta.empty();
+        }
+        StatisticDelta delta = ofNewChild(updated);
+        if (old != null) {
+            delta.merge(StatisticDelta.negated(old.getCategories()));
+        }
+        return delta;
+    }
+
+    @Override
+    public StatisticDelta ofDeletedChild(StatisticModel<?> child) {
+        if (child == null) {
+            return StatisticDelta.empty();
+        }
+        return StatisticDelta.negated(child.getCategories());
+    }
+
+    @Override
+    public void apply(StatisticDelta delta, StatisticEntity... chain) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        for (StatisticEntity parent : chain) {
+            updater.update(parent, delta);
+            if (parent instanceof Country country) {
+                publisher.publishEvent(new CountryStatisticChangedEvent(country.getId(), delta.copy()));
+            }
+        }
+    }
+}
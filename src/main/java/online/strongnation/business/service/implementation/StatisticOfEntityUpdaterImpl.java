@@ -1,37 +1,52 @@
 package online.strongnation.business.service.implementation;
 
-import online.strongnation.business.model.Category;
 import online.strongnation.business.model.entity.CategoryEntity;
-import online.strongnation.business.model.statistic.CategoryHolder;
+import online.strongnation.business.model.statistic.CategoryKey;
+import online.strongnation.business.model.statistic.Cents;
+import online.strongnation.business.model.statistic.StatisticDelta;
 import online.strongnation.business.model.statistic.StatisticEntity;
 import online.strongnation.business.model.statistic.StatisticResult;
-import online.strongnation.business.model.dto.CategoryDTO;
 import online.strongnation.business.service.StatisticOfEntityUpdater;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Map;
-
 @Service
+@ConditionalOnProperty(name = "statistic.update.mode", havingValue = "entity", matchIfMissing = true)
 public class StatisticOfEntityUpdaterImpl implements StatisticOfEntityUpdater {
+    //every category of the statistic or the delta is looked up by its name and units, the collection is not scanned
     @Override
     public void update(StatisticEntity updated, StatisticResult statistic) {
-        Map<Category, CategoryDTO> updateMap = CategoryUtils.getCategoryMap(statistic.updatedCategories());
-        Map<Category, CategoryDTO> excessive = CategoryUtils.getCategoryMap(statistic.excessiveCategories());
-        List<? extends CategoryHolder> categories = updated.getCategories();
-        var iterator = categories.iterator();
-        while (iterator.hasNext()) {
-            CategoryEntity next = iterator.next().getCategoryEntity();
-            CategoryDTO updatedCategory = updateMap.get(next);
-            if (updatedCategory != null) {
-                next.setNumber(updatedCategory.getNumber());
-                continue;
+        statistic.updatedCategories().forEach(category -> {
+            CategoryEntity stored = updated.getCategory(CategoryKey.of(category));
+            if (stored != null) {
+                stored.setNumber(category.getNumber());
             }
-            CategoryDTO deletedCategory = excessive.get(next);
-            if (deletedCategory != null) {
-                iterator.remove();
+        });
+        statistic.excessiveCategories().forEach(category -> {
+            CategoryEntity stored = updated.getCategory(CategoryKey.of(category));
+            if (stored != null) {
+                updated.removeCategory(stored);
             }
-        }
+        });
         statistic.newCategories().forEach(updated::addCategory);
     }
+
+    @Override
+    public void update(StatisticEntity updated, StatisticDelta delta) {
+        delta.forEach((key, change) -> {
+            CategoryEntity stored = updated.getCategory(key);
+            if (stored == null) {
+                if (change > 0) {
+                    updated.addCategory(StatisticDelta.toCategory(key, change));
+                }
+                return;
+            }
+            long number = Cents.add(Cents.of(stored.getNumber()), change);
+            if (number > 0) {
+                stored.setNumber(Cents.toBigDecimal(number));
+            } else {
+                updated.removeCategory(stored);
+            }
+        });
+    }
 }
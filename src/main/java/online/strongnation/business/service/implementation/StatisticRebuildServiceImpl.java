@@ -0,0 +1,225 @@
+package online.strongnation.business.service.implementation;
+
+import online.strongnation.business.exception.IllegalStatisticException;
+import online.strongnation.business.model.dto.StatisticDifference;
+import online.strongnation.business.model.dto.StatisticRebuildReport;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.model.entity.Region;
+import online.strongnation.business.model.event.StatisticReplacedEvent;
+import online.strongnation.business.model.statistic.Cents;
+import online.strongnation.business.model.statistic.DatedCategoryAmount;
+import online.strongnation.business.model.statistic.RollupBucket;
+import online.strongnation.business.model.statistic.RollupChanges;
+import online.strongnation.business.model.statistic.RollupGranularity;
+import online.strongnation.business.model.statistic.RollupScope;
+import online.strongnation.business.model.statistic.StatisticDelta;
+import online.strongnation.business.model.statistic.StatisticEntity;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.repository.PostRepository;
+import online.strongnation.business.repository.RegionRepository;
+import online.strongnation.business.service.StatisticRebuildService;
+import online.strongnation.business.service.StatisticRollupService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+//post_category_amount is the ground truth, region_category_amount, country_category_amount and the daily
+//and monthly rollups of statistic_rollup are recomputed from it.
+//Every writer of posts bumps post_writes of its region, and the counter is read before the region is aggregated.
+//The swap locks all regions, so writers in progress commit first and new ones wait, and it is aborted
+//if a counter moved: a post written after the aggregation would be overwritten by older totals
+@Service
+public class StatisticRebuildServiceImpl implements StatisticRebuildService {
+
+    private final PostRepository postRepository;
+    private final RegionRepository regionRepository;
+    private final CountryRepository countryRepository;
+    private final StatisticRollupService rollups;
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int parallelism;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public StatisticRebuildServiceImpl(PostRepository postRepository,
+                                       RegionRepository regionRepository,
+                                       CountryRepository countryRepository,
+                                       StatisticRollupService rollups,
+                                       ApplicationEventPublisher publisher,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${statistic.rebuild.parallelism:0}") int parallelism) {
+        this.postRepository = postRepository;
+        this.regionRepository = regionRepository;
+        this.countryRepository = countryRepository;
+        this.rollups = rollups;
+        this.publisher = publisher;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    private record RegionTotals(Long regionId, long postWrites, long posts, LocalDateTime latestPostDate, StatisticDelta categories,
+                                RollupChanges rollups) {
+    }
+
+    private static final class Changes {
+        private final List<StatisticDifference> differences = new ArrayList<>();
+        private int regions;
+        private int countries;
+        private int changedRegions;
+        private int changedCountries;
+        private int changedCounters;
+        private int changedRollups;
+    }
+
+    @Override
+    public StatisticRebuildReport rebuild(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStatisticException("Statistics are already being rebuilt");
+        }
+        try {
+            final long start = System.nanoTime();
+            Map<Long, RegionTotals> computed = aggregate(regionRepository.findAllIds());
+            final long aggregationNanos = System.nanoTime() - start;
+            Changes changes = writeTransaction.execute(status -> {
+                Changes result = compareAndSwap(computed, dryRun);
+                if (dryRun) {
+                    status.setRollbackOnly();
+                } else if (result.changedRegions + result.changedCountries + result.changedCounters > 0) {
+                    publisher.publishEvent(new StatisticReplacedEvent());
+                }
+                return result;
+            });
+            final long totalNanos = System.nanoTime() - start;
+            final long posts = computed.values().stream().mapToLong(RegionTotals::posts).sum();
+            return StatisticRebuildReport.builder()
+                    .dryRun(dryRun)
+                    .countries(changes.countries)
+                    .regions(changes.regions)
+                    .posts(posts)
+                    .changedRegions(changes.changedRegions)
+                    .changedCountries(changes.changedCountries)
+                    .changedRollups(changes.changedRollups)
+                    .aggregationMillis(TimeUnit.NANOSECONDS.toMillis(aggregationNanos))
+                    .totalMillis(TimeUnit.NANOSECONDS.toMillis(totalNanos))
+                    .postsPerSecond(aggregationNanos == 0 ? 0 : posts * 1e9 / aggregationNanos)
+                    .differences(changes.differences)
+                    .build();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Map<Long, RegionTotals> aggregate(List<Long> regionIds) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> regionIds.parallelStream()
+                            .map(this::aggregateRegion)
+                            .collect(Collectors.toMap(RegionTotals::regionId, Function.identity())))
+                    .join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private RegionTotals aggregateRegion(Long regionId) {//one task per region, each in its own read-only transaction
+        return readTransaction.execute(status -> {
+            final long postWrites = regionRepository.findPostWritesById(regionId).orElse(0L);
+            final long posts = postRepository.countByRegionId(regionId);
+            final LocalDateTime latestPostDate = postRepository.findLatestPostDateByRegionId(regionId).orElse(null);
+            StatisticDelta categories = StatisticDelta.empty();
+            RollupChanges rollups = new RollupChanges();
+            try (Stream<DatedCategoryAmount> amounts = postRepository.streamDatedCategoryAmountsByRegionId(regionId)) {
+                amounts.forEach(amount -> {
+                    final int keyId = amount.keyId();
+                    final long cents = Cents.of(amount.number());
+                    categories.add(keyId, cents);
+                    for (RollupGranularity granularity : RollupGranularity.values()) {
+                        rollups.add(new RollupBucket(RollupScope.REGION, regionId, granularity,
+                                granularity.bucketOf(amount.date())), keyId, cents);
+                    }
+                });
+            }
+            return new RegionTotals(regionId, postWrites, posts, latestPostDate, categories, rollups);
+        });
+    }
+
+    private Changes compareAndSwap(Map<Long, RegionTotals> computed, boolean dryRun) {
+        Changes changes = new Changes();
+        RollupChanges computedRollups = new RollupChanges();
+        regionRepository.findAllForUpdate();//the managed regions are the regions of the countries below
+        for (Country country : countryRepository.findAll()) {
+            StatisticDelta countryTotals = StatisticDelta.empty();
+            for (Region region : country.getRegions()) {
+                RegionTotals totals = computed.get(region.getId());
+                if (totals == null) {//the region was created after aggregation and is locked now
+                    totals = aggregateRegion(region.getId());
+                } else if (totals.postWrites() != region.getPostWrites()) {
+                    throw new IllegalStatisticException("Posts of region " + region.getName() +
+                            " were written during the rebuild, nothing is changed. Run the rebuild again");
+                }
+                countryTotals.merge(totals.categories());
+                computedRollups.addOfRegion(country.getId(), totals.rollups());
+                if (totals.posts() != region.getPostCount()
+                        || !Objects.equals(totals.latestPostDate(), region.getLatestPostDate())) {
+                    changes.changedCounters++;
+                    if (!dryRun) {//the counters are not part of the report, they are only kept in sync with posts
+                        region.setPostCount(totals.posts());
+                        region.setLatestPostDate(totals.latestPostDate());
+                    }
+                }
+                if (compareAndSwap(region, "region", region.getId(), region.getName(),
+                        totals.categories(), changes, dryRun)) {
+                    changes.changedRegions++;
+                }
+                changes.regions++;
+            }
+            if (compareAndSwap(country, "country", country.getId(), country.getName(),
+                    countryTotals, changes, dryRun)) {
+                changes.changedCountries++;
+            }
+            changes.countries++;
+        }
+        changes.changedRollups = rollups.rebuild(computedRollups);//a dry run rolls the rewritten buckets back
+        return changes;
+    }
+
+    private boolean compareAndSwap(StatisticEntity entity, String scope, Long id, String owner,
+                                   StatisticDelta computed, Changes changes, boolean dryRun) {
+        var stored = entity.getCategories();
+        StatisticDelta storedTotals = StatisticDelta.of(stored);
+        StatisticDelta difference = computed.copy().merge(StatisticDelta.negated(stored));
+        //duplicated or non-positive rows make the stored list longer than the computed one
+        if (difference.isEmpty() && stored.size() == computed.size()) {
+            return false;
+        }
+        difference.forEach((key, cents) -> changes.differences.add(StatisticDifference.builder()
+                .scope(scope)
+                .id(id)
+                .owner(owner)
+                .name(key.name())
+                .units(key.units())
+                .stored(Cents.toBigDecimal(storedTotals.cents(key)))
+                .computed(Cents.toBigDecimal(computed.cents(key)))
+                .build()));
+        if (!dryRun) {
+            CategoryUtils.replaceCategories(entity, computed);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,153 @@
+package online.strongnation.business.service.implementation;
+
+import lombok.AllArgsConstructor;
+import online.strongnation.business.cache.NameResolver;
+import online.strongnation.business.exception.CountryNotFoundException;
+import online.strongnation.business.exception.RegionNotFoundException;
+import online.strongnation.business.model.dto.CategoryDTO;
+import online.strongnation.business.model.dto.StatisticRollupDTO;
+import online.strongnation.business.model.entity.StatisticRollup;
+import online.strongnation.business.model.statistic.*;
+import online.strongnation.business.repository.StatisticRollupRepository;
+import online.strongnation.business.service.StatisticRollupService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static online.strongnation.business.service.implementation.RequestParameterFixer.*;
+
+@Service
+@AllArgsConstructor
+public class StatisticRollupServiceImpl implements StatisticRollupService {
+
+    private final StatisticRollupRepository rollupRepository;
+    private final NameResolver names;
+
+    @Override
+    @Transactional
+    public void apply(RollupChanges changes) {
+        changes.forEach(this::apply);
+    }
+
+    private void apply(RollupBucket bucket, StatisticDelta delta) {
+        apply(bucket, delta, rollupRepository.findAllByScopeAndOwnerIdAndGranularityAndBucket(
+                bucket.scope(), bucket.ownerId(), bucket.granularity(), bucket.bucket()));
+    }
+
+    private void apply(RollupBucket bucket, StatisticDelta delta, List<StatisticRollup> rows) {
+        StatisticDelta pending = delta.copy();
+        List<StatisticRollup> changed = new ArrayList<>(rows.size());
+        List<StatisticRollup> emptied = new ArrayList<>();
+        rows.forEach(row -> {
+            long change = pending.remove(row.keyId());
+            if (change == 0) {
+                return;
+            }
+            long number = Cents.add(Cents.of(row.getNumber()), change);
+            if (number > 0) {
+                row.setNumber(Cents.toBigDecimal(number));
+                changed.add(row);
+            } else {
+                emptied.add(row);
+            }
+        });
+        pending.forEach((key, cents) -> {
+            if (cents > 0) {//a decrease of a missing row means the rollup is behind the posts, rebuild restores it
+                changed.add(new StatisticRollup(bucket, key, cents));
+            }
+        });
+        rollupRepository.saveAll(changed);
+        rollupRepository.deleteAll(emptied);
+    }
+
+    //rollups follow the posts only from the moment they were introduced, the rebuild backfills them
+    //and repairs buckets that drifted, the difference of every bucket is applied to its loaded rows
+    @Override
+    @Transactional
+    public int rebuild(RollupChanges computed) {
+        Map<RollupBucket, List<StatisticRollup>> stored = new HashMap<>();
+        RollupChanges difference = new RollupChanges();
+        computed.forEach(difference::add);
+        rollupRepository.findAll().forEach(row -> {
+            RollupBucket bucket = row.rollupBucket();
+            stored.computeIfAbsent(bucket, b -> new ArrayList<>()).add(row);
+            difference.add(bucket, StatisticDelta.negated(List.of(row)));
+        });
+        int[] changedBuckets = {0};
+        difference.forEach((bucket, delta) -> {
+            apply(bucket, delta, stored.getOrDefault(bucket, List.of()));
+            changedBuckets[0]++;
+        });
+        return changedBuckets[0];
+    }
+
+    @Override
+    @Transactional
+    public void removeRegion(Long regionId, Long countryId) {
+        List<StatisticRollup> rows = rollupRepository.findAllByScopeAndOwnerId(RollupScope.REGION, regionId);
+        if (rows.isEmpty()) {
+            return;
+        }
+        RollupChanges changes = new RollupChanges();
+        rows.forEach(row -> {
+            RollupBucket bucket = new RollupBucket(RollupScope.COUNTRY, countryId, row.getGranularity(), row.getBucket());
+            changes.add(bucket, StatisticDelta.negated(List.of(row)));
+        });
+        apply(changes);
+        rollupRepository.deleteAllInBatch(rows);
+    }
+
+    @Override
+    @Transactional
+    public void removeCountry(Long countryId) {
+        rollupRepository.deleteAllOfRegionsByCountryId(countryId);
+        rollupRepository.deleteAllByScopeAndOwnerId(RollupScope.COUNTRY, countryId);
+    }
+
+    @Override
+    @Transactional
+    public void removeAll() {
+        rollupRepository.deleteAllInBatch();
+    }
+
+    @Override
+    public List<StatisticRollupDTO> seriesOfCountry(String countryName, String granularity, String from, String to) {
+        final String clearCountryName = checkAndNormalizeCountry(countryName);
+        Long countryId = names.countryId(clearCountryName)
+                .orElseThrow(() -> new CountryNotFoundException("Country " + clearCountryName + " doesn't exist"));
+        return series(RollupScope.COUNTRY, countryId, granularity, from, to);
+    }
+
+    @Override
+    public List<StatisticRollupDTO> seriesOfRegion(String countryName, String regionName,
+                                                   String granularity, String from, String to) {
+        final String clearCountryName = checkAndNormalizeCountry(countryName);
+        final String clearRegionName = checkAndNormalizeRegion(regionName);
+        Long regionId = names.regionId(clearCountryName, clearRegionName)
+                .orElseThrow(() -> new RegionNotFoundException("Region " + clearRegionName + " doesn't exist"));
+        return series(RollupScope.REGION, regionId, granularity, from, to);
+    }
+
+    private List<StatisticRollupDTO> series(RollupScope scope, Long ownerId,
+                                            String granularityName, String fromText, String toText) {
+        final RollupGranularity granularity = checkRollupGranularity(granularityName);
+        final LocalDate from = checkRollupDate(fromText);
+        final LocalDate to = checkRollupDate(toText);
+        checkRollupRange(granularity, from, to);
+        List<StatisticRollup> rows = rollupRepository
+                .findAllByScopeAndOwnerIdAndGranularityAndBucketBetweenOrderByBucketAscIdAsc(
+                        scope, ownerId, granularity, granularity.bucketOf(from), to);
+        Map<LocalDate, List<CategoryDTO>> buckets = new LinkedHashMap<>();
+        rows.forEach(row -> buckets.computeIfAbsent(row.getBucket(), b -> new ArrayList<>())
+                .add(new CategoryDTO(row.getName(), row.getNumber(), row.getUnits())));
+        return buckets.entrySet().stream()
+                .map(e -> new StatisticRollupDTO(e.getKey(), e.getValue()))
+                .toList();
+    }
+}
@@ -1,6 +1,7 @@
 package online.strongnation.business.service.implementation;
 
-import online.strongnation.business.model.Category;
+import online.strongnation.business.model.statistic.Cents;
+import online.strongnation.business.model.statistic.IntLongHashMap;
 import online.strongnation.business.model.statistic.StatisticModel;
 import online.strongnation.business.model.statistic.StatisticResult;
 import online.strongnation.business.service.StatisticService;
@@ -16,9 +17,6 @@ import static online.strongnation.business.service.implementation.CategoryUtils.
 @Service
 public class StatisticServiceImpl implements StatisticService {
 
-    private static final CategoryDTOComparator comparator = new CategoryDTOComparator();
-
-
     private static final StatisticResult emptyStatistic = StatisticResult.builder()
             .updatedCategories(List.of())
             .excessiveCategories(List.of())
@@ -52,11 +50,12 @@ public class StatisticServiceImpl implements StatisticService {
     private <Parent extends StatisticModel<?>, Child extends StatisticModel<Parent>>
     void groupCategoriesOfNewChild(Parent parent, Child child,
                                    List<CategoryDTO> updated, List<CategoryDTO> newCategories) {
-        Map<Category, CategoryDTO> parentCategories = getCategoryMap(parent.getCategories());
+        List<CategoryDTO> parentList = parent.getCategories();
+        IntLongHashMap parentCategories = getCategoryIndexMap(parentList);
         for (var i : child.getCategories()) {
-            var categoryDTO = parentCategories.remove(i);
-            if (categoryDTO != null) {
-                updated.add(categoryDTO.addNumber(i));
+            long index = parentCategories.remove(i.keyId(), NOT_FOUND);
+            if (index != NOT_FOUND) {
+                updated.add(parentList.get((int) index).addNumber(i));
                 continue;
             }
             newCategories.add(i);
@@ -111,20 +110,22 @@ public class StatisticServiceImpl implements StatisticService {
                                        List<CategoryDTO> updatedCategories,
                                        List<CategoryDTO> newCategories,
                                        List<CategoryDTO> excessiveCategories) {
-        Map<Category, CategoryDTO> oldMap = getCategoryMap(old.getCategories());
-        Set<CategoryDTO> presentCategoryInNewModel = new TreeSet<>(comparator);
+        List<CategoryDTO> oldList = old.getCategories();
+        IntLongHashMap oldMap = getCategoryIndexMap(oldList);
+        IntLongHashMap presentCategoryInNewModel = new IntLongHashMap(oldList.size());
         for (var i : updated.getCategories()) {
-            var oldCategory = oldMap.get(i);
-            if (oldCategory != null) {
+            long index = oldMap.get(i.keyId(), NOT_FOUND);
+            if (index != NOT_FOUND) {
+                var oldCategory = oldList.get((int) index);
                 Optional<BigDecimal> number = selfUpdateNumber(oldCategory.getNumber(), i.getNumber());
                 number.ifPresent(m -> updatedCategories.add(oldCategory.updateNumber(m)));
-                presentCategoryInNewModel.add(oldCategory);
+                presentCategoryInNewModel.put(i.keyId(), index);
                 continue;
             }
             newCategories.add(i);
         }
-        old.getCategories().forEach(c -> {
-            if (!presentCategoryInNewModel.remove(c)) {
+        oldList.forEach(c -> {
+            if (presentCategoryInNewModel.remove(c.keyId(), NOT_FOUND) == NOT_FOUND) {
                 excessiveCategories.add(c);
             }
         });
@@ -141,9 +142,11 @@ public class StatisticServiceImpl implements StatisticService {
                                         List<CategoryDTO> updatedCategories,
                                         List<CategoryDTO> newCategories,
                                         List<CategoryDTO> excessiveCategories) {
-        Map<Category, CategoryDTO> oldMap = getCategoryMap(old.getCategories());
-        Map<Category, CategoryDTO> parentMap = getCategoryMap(parent.getCategories());
-        Set<CategoryDTO> analyzed = new HashSet<>();
+        List<CategoryDTO> oldList = old.getCategories();
+        List<CategoryDTO> parentList = parent.getCategories();
+        IntLongHashMap oldMap = getCategoryIndexMap(oldList);
+        IntLongHashMap parentMap = getCategoryIndexMap(parentList);
+        IntLongHashMap analyzed = new IntLongHashMap(oldList.size());
         BiConsumer<BigDecimal, CategoryDTO> categoryAnalizator = (m, parentCategory) -> {
             if (m.compareTo(BigDecimal.ZERO) <= 0) {
                 excessiveCategories.add(parentCategory);
@@ -152,19 +155,24 @@ public class StatisticServiceImpl implements StatisticService {
             }
         };
         for (var i : updated.getCategories()) {
-            var parentCategory = parentMap.remove(i);
-            if (parentCategory != null) {
-                var oldCategory = oldMap.remove(i);
+            long parentIndex = parentMap.remove(i.keyId(), NOT_FOUND);
+            if (parentIndex != NOT_FOUND) {
+                var parentCategory = parentList.get((int) parentIndex);
+                long oldIndex = oldMap.remove(i.keyId(), NOT_FOUND);
+                var oldCategory = oldIndex == NOT_FOUND ? null : oldList.get((int) oldIndex);
                 Optional<BigDecimal> number = updateNumber(parentCategory, oldCategory, i);
                 number.ifPresent(m -> categoryAnalizator.accept(m, parentCategory));
-                analyzed.add(oldCategory);
+                if (oldCategory != null) {
+                    analyzed.put(i.keyId(), oldIndex);
+                }
                 continue;
             }
             newCategories.add(i);
         }
-        old.getCategories().forEach(c -> {
-            if (!analyzed.remove(c)) {
-                var parentCategory = parentMap.remove(c);
+        oldList.forEach(c -> {
+            if (analyzed.remove(c.keyId(), NOT_FOUND) == NOT_FOUND) {
+                long parentIndex = parentMap.remove(c.keyId(), NOT_FOUND);
+                var parentCategory = parentIndex == NOT_FOUND ? null : parentList.get((int) parentIndex);
                 BigDecimal number = updateNumberWhenChildDeletedCategory(parentCategory, c);
                 categoryAnalizator.accept(number, c);
             }
@@ -178,7 +186,7 @@ public class StatisticServiceImpl implements StatisticService {
 
     private BigDecimal updateNumberWhenChildDeletedCategory(BigDecimal parent,
                                                             BigDecimal child) {
-        return parent.subtract(child);
+        return Cents.toBigDecimal(Cents.subtract(Cents.of(parent), Cents.of(child)));
     }
 
     private Optional<BigDecimal> updateNumber(CategoryDTO parent, CategoryDTO old, CategoryDTO updated) {
@@ -187,18 +195,19 @@ public class StatisticServiceImpl implements StatisticService {
     }
 
     private Optional<BigDecimal> updateNumber(BigDecimal parent, BigDecimal old, BigDecimal updated) {
-        if (parent.compareTo(BigDecimal.ZERO) == 0) {
-            if (updated.compareTo(BigDecimal.ZERO) == 0) {
+        final long parentCents = Cents.of(parent);
+        final long updatedCents = Cents.of(updated);
+        if (parentCents == 0) {
+            if (updatedCents == 0) {
                 return Optional.empty();
             }
             return Optional.of(updated);
         }
-        int compare = old.compareTo(updated);
-        return switch (compare) {
-            case 1 -> Optional.of(parent.subtract(old.subtract(updated)));
-            case -1 -> Optional.of(parent.add(updated.subtract(old)));// old less than updated
-            default -> Optional.empty();
-        };
+        final long difference = Cents.subtract(updatedCents, Cents.of(old));
+        if (difference == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Cents.toBigDecimal(Cents.add(parentCents, difference)));
     }
 
     private StatisticResult onlyNewData(List<CategoryDTO> newCategories) {
@@ -236,13 +245,15 @@ public class StatisticServiceImpl implements StatisticService {
     private <Parent extends StatisticModel<?>, Child extends StatisticModel<Parent>>
     void groupCategoriesOfDeletedChild(Parent parent, Child child,
                                        List<CategoryDTO> updated, List<CategoryDTO> excessive) {
-        Map<Category, CategoryDTO> parentCategories = getCategoryMap(parent.getCategories());
+        List<CategoryDTO> parentList = parent.getCategories();
+        IntLongHashMap parentCategories = getCategoryIndexMap(parentList);
         for (var i : child.getCategories()) {
-            var parentCategory = parentCategories.get(i);
-            if (parentCategory != null) {
-                BigDecimal newNumber = parentCategory.getNumber().subtract(i.getNumber());
-                if (newNumber.compareTo(BigDecimal.ZERO) > 0) {
-                    updated.add(parentCategory.updateNumber(newNumber));
+            long index = parentCategories.get(i.keyId(), NOT_FOUND);
+            if (index != NOT_FOUND) {
+                var parentCategory = parentList.get((int) index);
+                long newNumber = Cents.subtract(Cents.of(parentCategory.getNumber()), Cents.of(i.getNumber()));
+                if (newNumber > 0) {
+                    updated.add(parentCategory.updateNumber(Cents.toBigDecimal(newNumber)));
                     continue;
                 }
                 excessive.add(parentCategory);
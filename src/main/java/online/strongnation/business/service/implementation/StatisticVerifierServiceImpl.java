@@ -0,0 +1,263 @@
+package online.strongnation.business.service.implementation;
+
+import online.strongnation.business.exception.IllegalStatisticException;
+import online.strongnation.business.model.dto.StatisticDifference;
+import online.strongnation.business.model.dto.StatisticVerificationReport;
+import online.strongnation.business.model.dto.StatisticVerifierMetrics;
+import online.strongnation.business.model.event.StatisticReplacedEvent;
+import online.strongnation.business.model.statistic.CategoryAmount;
+import online.strongnation.business.model.statistic.Cents;
+import online.strongnation.business.model.statistic.StatisticDelta;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.repository.PostRepository;
+import online.strongnation.business.repository.RegionRepository;
+import online.strongnation.business.service.StatisticDeltaService;
+import online.strongnation.business.service.StatisticVerifierService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+//walks over regions and countries in id order, a bounded sample per run, and compares stored totals
+//with sums of child rows: categories of posts for regions, categories of regions for countries
+@Service
+public class StatisticVerifierServiceImpl implements StatisticVerifierService {
+
+    private static final int MAX_NUMBER_OF_DIFFERENCES_IN_REPORT = 100;
+
+    private final PostRepository postRepository;
+    private final RegionRepository regionRepository;
+    private final CountryRepository countryRepository;
+    private final StatisticDeltaService statisticDelta;
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int regionsPerRun;
+    private final int countriesPerRun;
+    private final long millisPerRun;
+    private final boolean autoRepair;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong regionCursor = new AtomicLong(0);//id of the last checked region
+    private final AtomicLong countryCursor = new AtomicLong(0);
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder regionsChecked = new LongAdder();
+    private final LongAdder countriesChecked = new LongAdder();
+    private final LongAdder mismatchedRegions = new LongAdder();
+    private final LongAdder mismatchedCountries = new LongAdder();
+    private final LongAdder repaired = new LongAdder();
+    private final LongAdder budgetExhaustedRuns = new LongAdder();
+    private volatile StatisticVerificationReport lastReport;
+
+    public StatisticVerifierServiceImpl(PostRepository postRepository,
+                                        RegionRepository regionRepository,
+                                        CountryRepository countryRepository,
+                                        StatisticDeltaService statisticDelta,
+                                        ApplicationEventPublisher publisher,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${statistic.verifier.regions-per-run:50}") int regionsPerRun,
+                                        @Value("${statistic.verifier.countries-per-run:10}") int countriesPerRun,
+                                        @Value("${statistic.verifier.millis-per-run:2000}") long millisPerRun,
+                                        @Value("${statistic.verifier.auto-repair:false}") boolean autoRepair) {
+        this.postRepository = postRepository;
+        this.regionRepository = regionRepository;
+        this.countryRepository = countryRepository;
+        this.statisticDelta = statisticDelta;
+        this.publisher = publisher;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.regionsPerRun = regionsPerRun;
+        this.countriesPerRun = countriesPerRun;
+        this.millisPerRun = millisPerRun;
+        this.autoRepair = autoRepair;
+    }
+
+    private record Check(boolean mismatch, List<StatisticDifference> differences) {
+    }
+
+    @Override
+    public StatisticVerificationReport verify() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStatisticException("Statistics are already being verified");
+        }
+        try {
+            StatisticVerificationReport report = verifySample();
+            runs.increment();
+            regionsChecked.add(report.getRegionsChecked());
+            countriesChecked.add(report.getCountriesChecked());
+            mismatchedRegions.add(report.getMismatchedRegions());
+            mismatchedCountries.add(report.getMismatchedCountries());
+            repaired.add(report.getRepaired());
+            if (report.getBudgetExhausted()) {
+                budgetExhaustedRuns.increment();
+            }
+            lastReport = report;
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private StatisticVerificationReport verifySample() {
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(millisPerRun);
+        List<StatisticDifference> differences = new ArrayList<>();
+        boolean exhausted = false;
+        int regions = 0;
+        int countries = 0;
+        int regionMismatches = 0;
+        int countryMismatches = 0;
+        int repairs = 0;
+        for (Long id : nextSample(regionCursor, regionsPerRun, regionRepository::findIdsAfter)) {
+            if (System.nanoTime() > deadline) {
+                exhausted = true;
+                break;
+            }
+            Check check = readTransaction.execute(status -> checkRegion(id));
+            regionCursor.set(id);
+            regions++;
+            if (check.mismatch()) {
+                regionMismatches++;
+                addDifferences(differences, check);
+                if (autoRepair) {
+                    writeTransaction.executeWithoutResult(status -> repairRegion(id));
+                    repairs++;
+                }
+            }
+        }
+        //countries are checked after regions, so they are compared with already repaired regions
+        for (Long id : exhausted ? List.<Long>of() : nextSample(countryCursor, countriesPerRun, countryRepository::findIdsAfter)) {
+            if (System.nanoTime() > deadline) {
+                exhausted = true;
+                break;
+            }
+            Check check = readTransaction.execute(status -> checkCountry(id));
+            countryCursor.set(id);
+            countries++;
+            if (check.mismatch()) {
+                countryMismatches++;
+                addDifferences(differences, check);
+                if (autoRepair) {
+                    writeTransaction.executeWithoutResult(status -> repairCountry(id));
+                    repairs++;
+                }
+            }
+        }
+        return StatisticVerificationReport.builder()
+                .date(LocalDateTime.now())
+                .regionsChecked(regions)
+                .countriesChecked(countries)
+                .mismatchedRegions(regionMismatches)
+                .mismatchedCountries(countryMismatches)
+                .repaired(repairs)
+                .budgetExhausted(exhausted)
+                .millis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .differences(differences)
+                .build();
+    }
+
+    private static List<Long> nextSample(AtomicLong cursor, int size, BiFunction<Long, Pageable, List<Long>> idsAfter) {
+        if (size <= 0) {
+            return List.of();
+        }
+        List<Long> ids = idsAfter.apply(cursor.get(), PageRequest.of(0, size));
+        if (ids.isEmpty() && cursor.get() > 0) {//the end is reached, start from the beginning
+            cursor.set(0);
+            ids = idsAfter.apply(0L, PageRequest.of(0, size));
+        }
+        return ids;
+    }
+
+    private static void addDifferences(List<StatisticDifference> differences, Check check) {
+        for (StatisticDifference difference : check.differences()) {
+            if (differences.size() == MAX_NUMBER_OF_DIFFERENCES_IN_REPORT) {
+                return;
+            }
+            differences.add(difference);
+        }
+    }
+
+    private Check checkRegion(Long id) {
+        return compare("region", id, regionRepository.findCategoryAmountsByRegionId(id),
+                totalsOf(postRepository.sumCategoryAmountsByRegionId(id)));
+    }
+
+    private Check checkCountry(Long id) {
+        return compare("country", id, countryRepository.findCategoryAmountsByCountryId(id),
+                totalsOf(regionRepository.sumCategoryAmountsByCountryId(id)));
+    }
+
+    private static Check compare(String scope, Long id, List<CategoryAmount> storedRows, StatisticDelta computed) {
+        StatisticDelta stored = totalsOf(storedRows);
+        StatisticDelta difference = computed.copy();
+        storedRows.forEach(row -> difference.add(row.keyId(), Cents.negate(Cents.of(row.number()))));
+        //duplicated or non-positive rows make the stored list longer than the computed one
+        if (difference.isEmpty() && storedRows.size() == computed.size()) {
+            return new Check(false, List.of());
+        }
+        List<StatisticDifference> differences = new ArrayList<>(difference.size());
+        difference.forEach((key, cents) -> differences.add(StatisticDifference.builder()
+                .scope(scope)
+                .id(id)
+                .name(key.name())
+                .units(key.units())
+                .stored(Cents.toBigDecimal(stored.cents(key)))
+                .computed(Cents.toBigDecimal(computed.cents(key)))
+                .build()));
+        return new Check(true, differences);
+    }
+
+    private static StatisticDelta totalsOf(List<CategoryAmount> rows) {
+        StatisticDelta totals = StatisticDelta.empty();
+        rows.forEach(row -> totals.add(row.keyId(), Cents.of(row.number())));
+        return totals;
+    }
+
+    private void repairRegion(Long id) {//the country gets the same change as the region to stay equal to the sum of regions
+        regionRepository.findById(id).ifPresent(region -> {
+            StatisticDelta computed = totalsOf(postRepository.sumCategoryAmountsByRegionId(id));
+            StatisticDelta difference = computed.copy();
+            region.getCategories().forEach(difference::subtract);
+            CategoryUtils.replaceCategories(region, computed);
+            regionRepository.save(region);
+            regionRepository.findCountryOfRegionById(id)
+                    .ifPresent(country -> statisticDelta.apply(difference, country));
+        });
+    }
+
+    private void repairCountry(Long id) {
+        countryRepository.findById(id).ifPresent(country -> {
+            CategoryUtils.replaceCategories(country, totalsOf(regionRepository.sumCategoryAmountsByCountryId(id)));
+            countryRepository.save(country);
+            publisher.publishEvent(new StatisticReplacedEvent());
+        });
+    }
+
+    @Override
+    public StatisticVerifierMetrics metrics() {
+        return StatisticVerifierMetrics.builder()
+                .runs(runs.sum())
+                .regionsChecked(regionsChecked.sum())
+                .countriesChecked(countriesChecked.sum())
+                .mismatchedRegions(mismatchedRegions.sum())
+                .mismatchedCountries(mismatchedCountries.sum())
+                .repaired(repaired.sum())
+                .budgetExhaustedRuns(budgetExhaustedRuns.sum())
+                .autoRepair(autoRepair)
+                .lastReport(lastReport)
+                .build();
+    }
+}
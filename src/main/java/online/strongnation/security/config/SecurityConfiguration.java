@@ -38,6 +38,7 @@ public class SecurityConfiguration {
                 .requestMatchers(HttpMethod.GET, "/api/v2/post-photo/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/v2/slider-photo/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/v2/post/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/v2/statistic/rollup/**").permitAll()
                 .requestMatchers("/api/v2/auth/authenticate").permitAll()
                 .anyRequest().authenticated()
                 .and()
@@ -39,7 +39,10 @@ public enum ApplicationUserPermission {
     //app
     PROPERTIES_READ("properties:read"),
 
-    LOGS_READ("logs:read");
+    LOGS_READ("logs:read"),
+
+    //statistic
+    STATISTIC_REBUILD("statistic:rebuild");
 
     public static final String UPDATE_PERMISSION_POSTFIX = ":update";
 
@@ -17,11 +17,11 @@ public enum Role {
     DEVELOPER(DEVELOPER_CREATE, DEVELOPER_READ, DEVELOPER_UPDATE, DEVELOPER_DELETE, Set.of(POST_WRITE, POST_DELETE_ALL,
             COUNTRY_WRITE, REGION_WRITE,
             ADMIN_CREATE, ADMIN_READ, ADMIN_DELETE, ADMIN_UPDATE,
-            LOGS_READ, SLIDER_WRITE, UPDATE_SELF, DELETE_SELF)),
+            LOGS_READ, STATISTIC_REBUILD, SLIDER_WRITE, UPDATE_SELF, DELETE_SELF)),
     MASTER(MASTER_CREATE, MASTER_READ, MASTER_UPDATE, MASTER_DELETE, Set.of(POST_WRITE, POST_DELETE_ALL,
             COUNTRY_WRITE, REGION_WRITE,
             ADMIN_CREATE, ADMIN_READ, ADMIN_DELETE, ADMIN_UPDATE,
-            LOGS_READ,
+            LOGS_READ, STATISTIC_REBUILD,
             DEVELOPER_CREATE, DEVELOPER_READ,
             DEVELOPER_DELETE, DEVELOPER_UPDATE,
             PROPERTIES_READ, SLIDER_WRITE, UPDATE_SELF
@@ -3,6 +3,7 @@ package online.strongnation.security.model;
 import jakarta.persistence.*;
 import lombok.*;
 import online.strongnation.business.config.NameProperties;
+import online.strongnation.business.config.Sequences;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -22,7 +23,7 @@ public class User implements UserDetails {
     @SequenceGenerator(
             name = "user_sequence",
             sequenceName = "user_sequence",
-            allocationSize = 1
+            allocationSize = Sequences.ALLOCATION_SIZE
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -0,0 +1,3 @@
+-- one row once the old category tables are copied, so totals that later reach zero are not copied again on restart
+-- can be run any number of times
+CREATE TABLE IF NOT EXISTS category_migration (id integer PRIMARY KEY, migrated_at timestamp NOT NULL);
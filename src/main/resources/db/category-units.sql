@@ -0,0 +1,33 @@
+-- runs before Hibernate starts on PostgreSQL, so the unique keys (owner, name, units) of the totals can be added:
+-- categories without units get '' units and repeated names and units of an owner are summed into their first row.
+-- Every statement can be run any number of times, missing tables are created as Hibernate creates them
+CREATE TABLE IF NOT EXISTS region_category_amount (region_id bigint NOT NULL, name varchar(100) NOT NULL,
+    number decimal(38,2) DEFAULT '0.00' NOT NULL, units varchar(10));
+CREATE TABLE IF NOT EXISTS country_category_amount (country_id bigint NOT NULL, name varchar(100) NOT NULL,
+    number decimal(38,2) DEFAULT '0.00' NOT NULL, units varchar(10));
+
+UPDATE region_category_amount SET units = '' WHERE units IS NULL;
+UPDATE region_category_amount t SET number = d.total
+FROM (SELECT ctid AS row_id,
+             ROW_NUMBER() OVER (PARTITION BY region_id, name, units ORDER BY ctid) AS n,
+             COUNT(*) OVER (PARTITION BY region_id, name, units) AS copies,
+             SUM(number) OVER (PARTITION BY region_id, name, units) AS total
+      FROM region_category_amount) d
+WHERE t.ctid = d.row_id AND d.n = 1 AND d.copies > 1;
+DELETE FROM region_category_amount t
+USING (SELECT ctid AS row_id, ROW_NUMBER() OVER (PARTITION BY region_id, name, units ORDER BY ctid) AS n
+       FROM region_category_amount) d
+WHERE t.ctid = d.row_id AND d.n > 1;
+
+UPDATE country_category_amount SET units = '' WHERE units IS NULL;
+UPDATE country_category_amount t SET number = d.total
+FROM (SELECT ctid AS row_id,
+             ROW_NUMBER() OVER (PARTITION BY country_id, name, units ORDER BY ctid) AS n,
+             COUNT(*) OVER (PARTITION BY country_id, name, units) AS copies,
+             SUM(number) OVER (PARTITION BY country_id, name, units) AS total
+      FROM country_category_amount) d
+WHERE t.ctid = d.row_id AND d.n = 1 AND d.copies > 1;
+DELETE FROM country_category_amount t
+USING (SELECT ctid AS row_id, ROW_NUMBER() OVER (PARTITION BY country_id, name, units ORDER BY ctid) AS n
+       FROM country_category_amount) d
+WHERE t.ctid = d.row_id AND d.n > 1;
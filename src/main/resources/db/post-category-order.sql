@@ -0,0 +1,12 @@
+-- runs before Hibernate starts on PostgreSQL: categories of a post were a bag without identity,
+-- now every row is keyed by its post and category_order, rows of an older version get their order by row ids.
+-- Every statement can be run any number of times, a missing table is created as Hibernate creates it
+CREATE TABLE IF NOT EXISTS post_category_amount (post_id bigint NOT NULL, name varchar(100) NOT NULL,
+    number decimal(38,2) DEFAULT '0.00' NOT NULL, units varchar(10), category_order integer NOT NULL);
+ALTER TABLE post_category_amount ADD COLUMN IF NOT EXISTS category_order integer;
+UPDATE post_category_amount p SET category_order = r.n
+FROM (SELECT ctid AS row_id, ROW_NUMBER() OVER (PARTITION BY post_id ORDER BY ctid) - 1 AS n
+      FROM post_category_amount) r
+WHERE p.ctid = r.row_id AND p.category_order IS NULL;
+ALTER TABLE post_category_amount ALTER COLUMN category_order SET NOT NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS post_category_amount_order_key ON post_category_amount (post_id, category_order);
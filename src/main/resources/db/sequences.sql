@@ -0,0 +1,9 @@
+-- runs before Hibernate starts, so sequences created with the old allocation size match the entities again
+-- every statement can be run any number of times, a new database gets its sequences from Hibernate
+ALTER SEQUENCE IF EXISTS country_sequence INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS region_sequence INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS post_sequence INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS post_photo_sequence INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS slider_photo_sequence INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS statistic_rollup_sequence INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS user_sequence INCREMENT BY 50;
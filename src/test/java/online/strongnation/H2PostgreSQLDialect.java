@@ -0,0 +1,23 @@
+package online.strongnation;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
+
+//H2 passes its own version to the PostgreSQL dialect, which then refuses the CTE insert strategy
+//that Hibernate prepares for entities with pooled ids, a real PostgreSQL reports a version that supports it
+public class H2PostgreSQLDialect extends PostgreSQLDialect {
+
+    public H2PostgreSQLDialect(DialectResolutionInfo info) {
+        super(info);
+    }
+
+    @Override
+    public boolean supportsNonQueryWithCTE() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsValuesList() {
+        return true;
+    }
+}
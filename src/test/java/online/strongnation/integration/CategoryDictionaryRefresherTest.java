@@ -0,0 +1,81 @@
+package online.strongnation.integration;
+
+import online.strongnation.business.cache.CategoryDictionaryRefresher;
+import online.strongnation.business.model.dto.CategoryDTO;
+import online.strongnation.business.model.dto.CountryDTO;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.model.statistic.CategoryDictionary;
+import online.strongnation.business.model.statistic.CategoryKey;
+import online.strongnation.business.repository.CountryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest
+class CategoryDictionaryRefresherTest {
+
+    private final CategoryKey STORED = new CategoryKey("dictionary stored food", "kg");
+
+    @Autowired
+    private CategoryDictionaryRefresher refresher;
+    @Autowired
+    private CountryRepository countryRepository;
+    @Value("${statistic.category-dictionary.max-size:10000}")
+    private int maxSize;
+
+    @BeforeEach
+    void setUp() {
+        countryRepository.save(new Country(CountryDTO.builder()
+                .name("Dictionary country")
+                .categories(List.of(new CategoryDTO(STORED.name(), BigDecimal.ONE, STORED.units())))
+                .build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        refresher.limit(maxSize);
+        countryRepository.deleteAll();
+    }
+
+    @Test
+    void requestedNamesAreDroppedUnlessStored() {
+        //given
+        final int storedId = CategoryDictionary.idOf(STORED);
+        final CategoryKey requested = new CategoryKey("dictionary requested name", null);
+        CategoryDictionary.idOf(requested);
+        //when
+        refresher.refresh();
+        final int keptOnce = CategoryDictionary.find(requested);
+        refresher.refresh();
+        refresher.refresh();
+        //then
+        assertThat(keptOnce).isNotEqualTo(CategoryDictionary.NONE);//it could still be in use
+        assertThat(CategoryDictionary.find(requested)).isEqualTo(CategoryDictionary.NONE);
+        assertThat(CategoryDictionary.find(STORED)).isEqualTo(storedId);
+        assertThat(CategoryDictionary.keyOf(storedId)).isEqualTo(STORED);
+    }
+
+    @Test
+    void dictionaryKeepsAtMostTwiceItsMaxSizeOfNamesThatAreNotStored() {
+        //given
+        refresher.refresh();
+        final int stored = refresher.refresh();
+        refresher.limit(10);
+        //when
+        for (int i = 0; i < 1000; i++) {
+            CategoryDictionary.idOf(new CategoryKey("dictionary flood " + i, "kg"));
+        }
+        //then
+        assertThat(CategoryDictionary.size()).isLessThanOrEqualTo(stored + 2 * 10);
+        assertThat(CategoryDictionary.find(STORED)).isNotEqualTo(CategoryDictionary.NONE);
+        assertThat(CategoryDictionary.keyOf(CategoryDictionary.find(STORED))).isEqualTo(STORED);
+    }
+}
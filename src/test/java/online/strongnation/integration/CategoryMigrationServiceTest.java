@@ -0,0 +1,119 @@
+package online.strongnation.integration;
+
+import online.strongnation.business.model.dto.CategoryMigrationReport;
+import online.strongnation.business.model.dto.PostDTO;
+import online.strongnation.business.model.dto.RegionDTO;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.repository.RegionRepository;
+import online.strongnation.business.service.CategoryMigrationService;
+import online.strongnation.business.service.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static online.strongnation.business.service.implementation.RequestParameterFixer.checkDate;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest
+class CategoryMigrationServiceTest {
+
+    private final String COUNTRY_NAME = "Ukraine";
+    private final String KYIV = "Kyiv";
+
+    @Autowired
+    private CategoryMigrationService service;
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private RegionRepository regionRepository;
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long countryId;
+    private Long regionId;
+    private Long postId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM category_migration");//the application marked the copy done when it started
+        //the old schema: categories are rows of one table linked to their owners
+        jdbcTemplate.execute("CREATE TABLE category (id bigint PRIMARY KEY, name varchar(64) NOT NULL," +
+                " number decimal(38,2) NOT NULL, units varchar(16))");
+        jdbcTemplate.execute("CREATE TABLE post_category (id bigint PRIMARY KEY, post_id bigint, category_id bigint)");
+        jdbcTemplate.execute("CREATE TABLE region_category (id bigint PRIMARY KEY, region_id bigint, category_id bigint)");
+        jdbcTemplate.execute("CREATE TABLE country_category (id bigint PRIMARY KEY, country_id bigint, category_id bigint)");
+        Country country = new Country(COUNTRY_NAME);
+        country.setRegionsDTO(List.of(RegionDTO.builder().name(KYIV).categories(List.of()).build()));
+        country.getRegions().get(0).setPostsDTO(List.of(PostDTO.builder()
+                .description("post")
+                .link("localH0sT")
+                .date(checkDate(LocalDateTime.now()))
+                .build()));
+        countryRepository.save(country);
+        countryId = country.getId();
+        regionId = country.getRegions().get(0).getId();
+        postId = country.getRegions().get(0).getPosts().get(0).getId();
+        jdbcTemplate.update("INSERT INTO category VALUES (1, 'food', 10.10, 'kg'), (2, 'food', 10.10, 'kg')," +
+                " (3, 'food', 10.10, 'kg'), (4, 'car', 2, NULL), (5, 'car', 1, NULL), (6, 'food', 5, 'kg')");
+        jdbcTemplate.update("INSERT INTO post_category VALUES (1, ?, 1), (2, ?, 5), (3, ?, 6)", postId, postId, postId);
+        jdbcTemplate.update("INSERT INTO region_category VALUES (1, ?, 2)", regionId);
+        jdbcTemplate.update("INSERT INTO country_category VALUES (1, ?, 3), (2, ?, 4)", countryId, countryId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS post_category");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS region_category");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS country_category");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS category");
+        countryRepository.deleteAll();
+    }
+
+    @Test
+    void migrateCopiesCategoriesToTheirOwnersOnceAndKeepsTheOldRows() {
+        //when
+        CategoryMigrationReport first = service.migrate();
+        jdbcTemplate.update("DELETE FROM region_category_amount WHERE region_id = ?", regionId);//totals reached zero
+        CategoryMigrationReport second = service.migrate();
+        //then
+        assertThat(first.getOldSchemaFound()).isTrue();
+        assertThat(first.getAlreadyMigrated()).isFalse();
+        assertThat(first.getPostCategories()).isEqualTo(3);
+        assertThat(first.getRegionCategories()).isEqualTo(1);
+        assertThat(first.getCountryCategories()).isEqualTo(2);
+        assertThat(second.getAlreadyMigrated()).isTrue();
+        assertThat(second.getPostCategories() + second.getRegionCategories() + second.getCountryCategories())
+                .isEqualTo(0);
+        assertThat(regionRepository.findCategoryAmountsByRegionId(regionId).size()).isEqualTo(0);
+        var country = countryRepository.findCategoryAmountsByCountryId(countryId);
+        assertThat(country.size()).isEqualTo(2);
+        assertThat(country.stream().filter(c -> c.units() == null).count()).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM category", Long.class)).isEqualTo(6L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM country_category", Long.class)).isEqualTo(2L);
+    }
+
+    @Test
+    void migrateCopiesEveryPostCategoryInItsOrder() {
+        //when
+        service.migrate();
+        //then
+        var post = postService.get(postId).getCategories();
+        assertThat(post.size()).isEqualTo(3);
+        assertThat(post.get(0).getName()).isEqualTo("food");
+        assertThat(post.get(0).getNumber().compareTo(BigDecimal.valueOf(10.10))).isEqualTo(0);
+        assertThat(post.get(1).getName()).isEqualTo("car");
+        assertThat(post.get(1).getUnits()).isNull();
+        assertThat(post.get(2).getName()).isEqualTo("food");
+        assertThat(post.get(2).getNumber().compareTo(BigDecimal.valueOf(5))).isEqualTo(0);
+    }
+}
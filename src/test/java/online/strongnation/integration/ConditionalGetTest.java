@@ -0,0 +1,65 @@
+package online.strongnation.integration;
+
+import online.strongnation.business.service.CountryService;
+import online.strongnation.business.service.RegionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    private final String COUNTRY_NAME = "Ukraine";
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private CountryService countryService;
+    @Autowired
+    private RegionService regionService;
+
+    @BeforeEach
+    void setUp() {
+        countryService.create(COUNTRY_NAME);
+        regionService.create(COUNTRY_NAME, "Kyiv");
+    }
+
+    @AfterEach
+    void tearDown() {
+        countryService.deleteAll();
+    }
+
+    private String etagOf(String url) throws Exception {
+        return mvc.perform(get(url)).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void unchangedResourcesAreNotModified() throws Exception {
+        //given
+        final String all = "/api/v2/country/all";
+        final String regions = "/api/v2/region/all/" + COUNTRY_NAME;
+        final String allTag = etagOf(all);
+        final String regionsTag = etagOf(regions);
+        //when
+        //then
+        assertThat(allTag).isNotNull();
+        assertThat(regionsTag).isNotEqualTo(allTag);//the country is known after listing, its own version is used
+        mvc.perform(get(all).header(HttpHeaders.IF_NONE_MATCH, allTag)).andExpect(status().isNotModified());
+        mvc.perform(get(regions).header(HttpHeaders.IF_NONE_MATCH, regionsTag)).andExpect(status().isNotModified());
+        //when
+        regionService.create(COUNTRY_NAME, "Lviv");
+        //then
+        mvc.perform(get(regions).header(HttpHeaders.IF_NONE_MATCH, regionsTag)).andExpect(status().isOk());
+        mvc.perform(get(all).header(HttpHeaders.IF_NONE_MATCH, allTag)).andExpect(status().isOk());
+    }
+}
@@ -156,6 +156,23 @@ class CountryServiceTest {
         assertThat(actual).isEqualTo(expected);
     }
 
+    @Test
+    void renameByOldNameWithBlankSymbols() {
+        //given
+        final String newName = "Some new name";
+        final var expected = countryRepository
+                .findCountryDTOByNameIgnoreCase(USAName)
+                .orElseThrow(IllegalCountryException::new)
+                .toBuilder()
+                .name(newName)
+                .build();
+        //when
+        CountryDTO actual = service.rename("  " + USAName + " \t", newName);
+        //then
+        assertThat(actual).isEqualTo(expected);
+        assertThat(countryRepository.findCountryDTOByNameIgnoreCase(newName).isPresent()).isTrue();
+    }
+
     @Test
     void renameWithTooLongCountryOld() {
         //given
@@ -0,0 +1,83 @@
+package online.strongnation.integration;
+
+import online.strongnation.business.cache.DtoCache;
+import online.strongnation.business.model.dto.CategoryDTO;
+import online.strongnation.business.model.dto.CountryDTO;
+import online.strongnation.business.model.dto.PostDTO;
+import online.strongnation.business.model.dto.RegionDTO;
+import online.strongnation.business.service.CountryService;
+import online.strongnation.business.service.PostService;
+import online.strongnation.business.service.RegionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static online.strongnation.business.service.implementation.RequestParameterFixer.checkDate;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest(properties = "cache.dto.ttl-seconds=60")
+class DtoCacheTest {
+
+    private final String COUNTRY_NAME = "Ukraine";
+    private final String KYIV = "Kyiv";
+
+    private final CategoryDTO FOOD_CATEGORY = CategoryDTO.builder()
+            .name("food")
+            .number(BigDecimal.valueOf(10.10))
+            .units("kg")
+            .build();
+
+    @Autowired
+    private DtoCache cache;
+    @Autowired
+    private CountryService countryService;
+    @Autowired
+    private RegionService regionService;
+    @Autowired
+    private PostService postService;
+
+    @BeforeEach
+    void setUp() {
+        countryService.create(COUNTRY_NAME);
+        regionService.create(COUNTRY_NAME, KYIV);
+    }
+
+    @AfterEach
+    void tearDown() {
+        countryService.deleteAll();
+    }
+
+    @Test
+    void readsAreCachedUntilChange() {
+        //given
+        final long missesBefore = cache.getCountryByName().misses();
+        final long hitsBefore = cache.getCountryByName().hits();
+        CountryDTO first = countryService.get(COUNTRY_NAME);
+        CountryDTO second = countryService.get(COUNTRY_NAME.toLowerCase());
+        List<RegionDTO> regions = regionService.all(COUNTRY_NAME);
+        final PostDTO post = PostDTO.builder()
+                .date(checkDate(LocalDateTime.now()))
+                .link("localH0sT")
+                .description("post")
+                .categories(List.of(FOOD_CATEGORY))
+                .build();
+        //when
+        postService.create(post, COUNTRY_NAME, KYIV);
+        CountryDTO changed = countryService.get(COUNTRY_NAME);
+        regionService.create(COUNTRY_NAME, "Lviv");
+        //then
+        assertThat(second).isEqualTo(first);
+        assertThat(cache.getCountryByName().hits() - hitsBefore).isEqualTo(1L);
+        assertThat(cache.getCountryByName().misses() - missesBefore).isEqualTo(2L);
+        assertThat(first.getCategories().size()).isEqualTo(0);
+        assertThat(changed.getCategories()).isEqualTo(List.of(FOOD_CATEGORY));
+        assertThat(regions.size()).isEqualTo(1);
+        assertThat(regionService.all(COUNTRY_NAME).size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,156 @@
+package online.strongnation.integration;
+
+import online.strongnation.business.model.dto.CategoryDTO;
+import online.strongnation.business.model.dto.CountryDTO;
+import online.strongnation.business.model.dto.PostDTO;
+import online.strongnation.business.model.dto.RegionDTO;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.model.event.CountryStatisticChangedEvent;
+import online.strongnation.business.model.statistic.StatisticDelta;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.service.CountryService;
+import online.strongnation.business.service.GlobalStatisticService;
+import online.strongnation.business.service.PostService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static online.strongnation.business.service.implementation.CategoryUtils.getCategoryNameMap;
+import static online.strongnation.business.service.implementation.RequestParameterFixer.checkDate;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest
+class GlobalStatisticServiceTest {
+
+    private final String UKRAINE = "Ukraine";
+    private final String POLAND = "Poland";
+    private final String REGION = "Capital";
+
+    private final CategoryDTO FOOD_CATEGORY = CategoryDTO.builder()
+            .name("food")
+            .number(BigDecimal.valueOf(10.10))
+            .units("kg")
+            .build();
+    private final CategoryDTO CARS_CATEGORY = CategoryDTO.builder()
+            .name("car")
+            .number(BigDecimal.valueOf(2))
+            .build();
+
+    @Autowired
+    private GlobalStatisticService service;
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private CountryService countryService;
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private ApplicationEventPublisher publisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        List.of(UKRAINE, POLAND).forEach(name -> {
+            Country country = new Country(CountryDTO.builder()
+                    .name(name)
+                    .categories(List.of(FOOD_CATEGORY))
+                    .build());
+            country.setRegionsDTO(List.of(RegionDTO.builder().name(REGION).categories(List.of(FOOD_CATEGORY)).build()));
+            countryRepository.save(country);
+        });
+        service.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        countryRepository.deleteAll();
+        service.reload();
+    }
+
+    @Test
+    void totalsFollowCommittedChanges() {
+        //given
+        final PostDTO post = PostDTO.builder()
+                .date(checkDate(LocalDateTime.now()))
+                .link("localH0sT")
+                .description("post")
+                .categories(List.of(FOOD_CATEGORY))
+                .build();
+        //when
+        List<CategoryDTO> loaded = service.totals();
+        postService.create(post, UKRAINE, REGION);
+        List<CategoryDTO> afterCreate = service.totals();
+        countryService.delete(POLAND);
+        List<CategoryDTO> afterDelete = service.totals();
+        //then
+        assertThat(loaded).isEqualTo(List.of(FOOD_CATEGORY.updateNumber(BigDecimal.valueOf(20.20))));
+        assertThat(afterCreate).isEqualTo(List.of(FOOD_CATEGORY.updateNumber(BigDecimal.valueOf(30.30))));
+        assertThat(afterDelete).isEqualTo(List.of(FOOD_CATEGORY.updateNumber(BigDecimal.valueOf(20.20))));
+    }
+
+    @Test
+    void committedChangesAreMergedWithoutSumming() {
+        //given
+        final PostDTO post = PostDTO.builder()
+                .date(checkDate(LocalDateTime.now()))
+                .link("localH0sT")
+                .description("post")
+                .categories(List.of(FOOD_CATEGORY, CARS_CATEGORY))
+                .build();
+        service.totals();
+        postService.create(post, UKRAINE, REGION);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        //when
+        var totals = getCategoryNameMap(service.totals());
+        //then
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        assertThat(statements).isEqualTo(0L);
+        assertThat(totals.get("food")).isEqualTo(FOOD_CATEGORY.updateNumber(BigDecimal.valueOf(30.30)));
+        assertThat(totals.get("car")).isEqualTo(CARS_CATEGORY);
+    }
+
+    @Test
+    void changeCommittedBeforeReloadIsCountedOnce() {
+        //given
+        Long ukraineId = countryRepository.findCountryByNameIgnoreCase(UKRAINE).orElseThrow().getId();
+        //when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Country ukraine = countryRepository.findWithCategoriesById(ukraineId).orElseThrow();
+            ukraine.addCategory(CARS_CATEGORY);
+            countryRepository.save(ukraine);
+            publisher.publishEvent(new CountryStatisticChangedEvent(ukraineId, StatisticDelta.of(List.of(CARS_CATEGORY))));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {//sums the committed change before its delta is merged
+                    CompletableFuture.runAsync(service::reload).join();
+                }
+            });
+        });
+        var totals = getCategoryNameMap(service.totals());
+        //then
+        assertThat(totals.size()).isEqualTo(2);
+        assertThat(totals.get("food")).isEqualTo(FOOD_CATEGORY.updateNumber(BigDecimal.valueOf(20.20)));
+        assertThat(totals.get("car")).isEqualTo(CARS_CATEGORY);
+    }
+}
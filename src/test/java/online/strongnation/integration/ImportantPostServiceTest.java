@@ -0,0 +1,122 @@
+package online.strongnation.integration;
+
+import online.strongnation.business.exception.IllegalPostException;
+import online.strongnation.business.model.dto.CountryDTO;
+import online.strongnation.business.model.dto.GetImportantPostResponse;
+import online.strongnation.business.model.dto.PostDTO;
+import online.strongnation.business.model.dto.PostPage;
+import online.strongnation.business.model.dto.RegionDTO;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.service.ImportantPostService;
+import online.strongnation.business.service.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static online.strongnation.business.service.implementation.RequestParameterFixer.checkDate;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@SpringBootTest
+class ImportantPostServiceTest {
+
+    private final String UKRAINE = "Ukraine";
+    private final String POLAND = "Poland";
+    private final String CAPITAL = "Capital";
+    private final String BORDER = "Border";
+    private final LocalDateTime NOW = checkDate(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+
+    @Autowired
+    private ImportantPostService service;
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @BeforeEach
+    void setUp() {
+        List.of(UKRAINE, POLAND).forEach(name -> {
+            Country country = new Country(CountryDTO.builder().name(name).categories(List.of()).build());
+            country.setRegionsDTO(List.of(RegionDTO.builder().name(CAPITAL).categories(List.of()).build(),
+                    RegionDTO.builder().name(BORDER).categories(List.of()).build()));
+            countryRepository.save(country);
+        });
+        service.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        countryRepository.deleteAll();
+        service.reload();
+    }
+
+    private PostDTO create(String country, String region, LocalDateTime date, boolean important) {
+        return postService.create(PostDTO.builder()
+                .date(date)
+                .link("localH0sT")
+                .description("post of " + country)
+                .important(important)
+                .categories(List.of())
+                .build(), country, region);
+    }
+
+    private List<Long> ids(PostPage<GetImportantPostResponse> page) {
+        return page.getPosts().stream().map(GetImportantPostResponse::getId).toList();
+    }
+
+    @Test
+    void feedIsPagedByDateAcrossCountries() {
+        //given
+        final PostDTO newest = create(UKRAINE, CAPITAL, NOW, true);
+        final PostDTO middle = create(POLAND, CAPITAL, NOW.minusDays(1), true);
+        create(UKRAINE, BORDER, NOW.minusDays(2), false);
+        final PostDTO oldest = create(UKRAINE, BORDER, NOW.minusDays(3), true);
+        //when
+        PostPage<GetImportantPostResponse> first = service.page(2, null);
+        PostPage<GetImportantPostResponse> second = service.page(2, first.getNext());
+        //then
+        assertThat(ids(first)).isEqualTo(List.of(newest.getId(), middle.getId()));
+        assertThat(first.getPosts().get(1).getCountry()).isEqualTo(POLAND);
+        assertThat(ids(second)).isEqualTo(List.of(oldest.getId()));
+        assertThat(second.getNext()).isNull();
+    }
+
+    @Test
+    void feedFollowsImportanceUpdatesMovesAndDeletes() {
+        //given
+        final PostDTO first = create(UKRAINE, CAPITAL, NOW.minusDays(2), true);
+        final PostDTO second = create(UKRAINE, CAPITAL, NOW.minusDays(1), false);
+        final PostDTO third = create(POLAND, CAPITAL, NOW, true);
+        //when
+        postService.setImportant(second.getId(), true);
+        List<Long> afterSetImportant = ids(service.page(null, null));
+        postService.update(first.toBuilder().date(NOW.plusHours(1)).region(BORDER).build());
+        List<Long> afterMove = ids(service.page(null, null));
+        postService.delete(third.getId());
+        postService.setImportant(second.getId(), false);
+        List<Long> afterDelete = ids(service.page(null, null));
+        postService.deleteAll(UKRAINE, BORDER);
+        List<Long> afterDeleteAll = ids(service.page(null, null));
+        //then
+        assertThat(afterSetImportant).isEqualTo(List.of(third.getId(), second.getId(), first.getId()));
+        assertThat(afterMove).isEqualTo(List.of(first.getId(), third.getId(), second.getId()));
+        assertThat(afterDelete).isEqualTo(List.of(first.getId()));
+        assertThat(afterDeleteAll.isEmpty()).isTrue();
+    }
+
+    @Test
+    void wrongCursorIsRejected() {
+        //given
+        final String cursor = "not a cursor";
+        //when
+        //then
+        assertThatThrownBy(() -> service.page(10, cursor)).isInstanceOf(IllegalPostException.class);
+    }
+}
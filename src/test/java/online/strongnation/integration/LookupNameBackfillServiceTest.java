@@ -0,0 +1,70 @@
+package online.strongnation.integration;
+
+import online.strongnation.business.model.dto.RegionDTO;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.repository.RegionRepository;
+import online.strongnation.business.service.LookupNameBackfillService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest
+class LookupNameBackfillServiceTest {
+
+    private final String COUNTRY_NAME = "Ukraine";
+    private final String KYIV = "Kyiv";
+    private final String LVIV = "Lviv";
+
+    @Autowired
+    private LookupNameBackfillService service;
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private RegionRepository regionRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Country country = new Country(COUNTRY_NAME);
+        country.setRegionsDTO(List.of(RegionDTO.builder().name(KYIV).categories(List.of()).build(),
+                RegionDTO.builder().name(LVIV).categories(List.of()).build()));
+        countryRepository.save(country);
+    }
+
+    @AfterEach
+    void tearDown() {
+        countryRepository.deleteAll();
+    }
+
+    @Test
+    void lookupNamesAreSavedWithNames() {
+        //then
+        assertThat(countryRepository.getIdByNameIgnoreCase("uKRAINE").isPresent()).isTrue();
+        assertThat(regionRepository.existsRegionInCountryByNamesIgnoringCase("ukraine", "KYIV")).isTrue();
+    }
+
+    @Test
+    void backfillSetsLookupNamesOfOldRows() {
+        //given
+        jdbcTemplate.update("UPDATE region SET lookup_name = NULL");
+        jdbcTemplate.update("UPDATE country SET lookup_name = NULL");
+        assertThat(countryRepository.getIdByNameIgnoreCase(COUNTRY_NAME).isPresent()).isFalse();
+        //when
+        int filled = service.backfill();
+        //then
+        assertThat(filled).isEqualTo(3);
+        assertThat(service.backfill()).isEqualTo(0);
+        assertThat(countryRepository.getIdByNameIgnoreCase("ukraine").isPresent()).isTrue();
+        assertThat(regionRepository.findRegionDTOInCountryByNamesIgnoringCase("UKRAINE", "lviv")
+                .orElseThrow().getName()).isEqualTo(LVIV);
+    }
+}
@@ -0,0 +1,94 @@
+package online.strongnation.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import online.strongnation.business.cache.NameResolver;
+import online.strongnation.business.model.dto.CountryDTO;
+import online.strongnation.business.model.dto.RegionDTO;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.service.CountryService;
+import online.strongnation.business.service.RegionService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest
+class NameResolverTest {
+
+    private final String COUNTRY_NAME = "Ukraine";
+    private final String KYIV = "Kyiv";
+
+    @Autowired
+    private NameResolver names;
+    @Autowired
+    private CountryService countryService;
+    @Autowired
+    private RegionService regionService;
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private CountryDTO country;
+    private RegionDTO region;
+
+    @BeforeEach
+    void setUp() {
+        country = countryService.create(COUNTRY_NAME);
+        region = regionService.create(COUNTRY_NAME, KYIV);
+    }
+
+    @AfterEach
+    void tearDown() {
+        countryRepository.deleteAll();
+    }
+
+    @Test
+    void knownNamesAreResolvedWithoutQueries() {
+        //given
+        names.regionId(COUNTRY_NAME, KYIV);//read once and kept
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        //when
+        var countryId = names.countryId("UKRAINE");
+        var regionId = names.regionId("ukraine", "kyIV");
+        //then
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        assertThat(countryId.orElseThrow()).isEqualTo(country.getId());
+        assertThat(regionId.orElseThrow()).isEqualTo(region.getId());
+        assertThat(statements).isEqualTo(0L);
+    }
+
+    @Test
+    void renamedNamesAreEvicted() {
+        //given
+        names.regionId(COUNTRY_NAME, KYIV);
+        //when
+        countryService.rename(COUNTRY_NAME, "Ukraina");
+        regionService.rename("Ukraina", KYIV, "Kyiv region");
+        //then
+        assertThat(names.countryId(COUNTRY_NAME).isPresent()).isFalse();
+        assertThat(names.countryId("Ukraina").orElseThrow()).isEqualTo(country.getId());
+        assertThat(names.regionId("Ukraina", KYIV).isPresent()).isFalse();
+        assertThat(names.regionId("Ukraina", "Kyiv region").orElseThrow()).isEqualTo(region.getId());
+    }
+
+    @Test
+    void removedNamesAreEvicted() {
+        //given
+        names.regionId(COUNTRY_NAME, KYIV);
+        //when
+        countryRepository.deleteAll();
+        CountryDTO created = countryService.create(COUNTRY_NAME);
+        //then
+        assertThat(names.countryId(COUNTRY_NAME).orElseThrow()).isEqualTo(created.getId());
+        assertThat(names.regionId(COUNTRY_NAME, KYIV).isPresent()).isFalse();
+    }
+}
@@ -0,0 +1,95 @@
+package online.strongnation.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import online.strongnation.business.exception.CountryNotFoundException;
+import online.strongnation.business.model.dto.CategoryDTO;
+import online.strongnation.business.model.dto.CountryDTO;
+import online.strongnation.business.model.dto.GetPostResponseByCountryDTO;
+import online.strongnation.business.model.dto.PostDTO;
+import online.strongnation.business.model.dto.RegionDTO;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.service.PostExportService;
+import online.strongnation.business.service.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static online.strongnation.business.service.implementation.RequestParameterFixer.checkDate;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@SpringBootTest
+class PostExportServiceTest {
+
+    private final String COUNTRY_NAME = "Ukraine";
+    private final String KYIV = "Kyiv";
+    private final String LVIV = "Lviv";
+
+    private final CategoryDTO FOOD_CATEGORY = CategoryDTO.builder()
+            .name("food")
+            .number(BigDecimal.valueOf(10.10))
+            .units("kg")
+            .build();
+
+    @Autowired
+    private PostExportService service;
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        Country country = new Country(CountryDTO.builder().name(COUNTRY_NAME).categories(List.of()).build());
+        country.setRegionsDTO(List.of(RegionDTO.builder().name(KYIV).categories(List.of()).build(),
+                RegionDTO.builder().name(LVIV).categories(List.of()).build()));
+        countryRepository.save(country);
+    }
+
+    @AfterEach
+    void tearDown() {
+        countryRepository.deleteAll();
+    }
+
+    @Test
+    void exportWritesAllPostsOfCountry() throws Exception {
+        //given
+        final LocalDateTime date = checkDate(LocalDateTime.now().minusDays(30));
+        List<PostDTO> posts = IntStream.range(0, 30)
+                .mapToObj(i -> PostDTO.builder()
+                        .date(date.plusDays(i % 7))
+                        .link("localH0sT")
+                        .description("post " + i)
+                        .region(i % 2 == 0 ? KYIV : LVIV)
+                        .categories(List.of(FOOD_CATEGORY))
+                        .build())
+                .toList();
+        postService.createAll(posts, COUNTRY_NAME);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        //when
+        service.exportOfCountry(COUNTRY_NAME).writeTo(out);
+        //then
+        var exported = List.of(objectMapper.readValue(out.toByteArray(), GetPostResponseByCountryDTO[].class));
+        assertThat(exported).isEqualTo(postService.all(COUNTRY_NAME));
+        assertThat(exported.size()).isEqualTo(posts.size());
+    }
+
+    @Test
+    void exportOfUnknownCountryFailsBeforeStreaming() {
+        //given
+        //when
+        //then
+        assertThatThrownBy(() -> service.exportOfCountry("Atlantis")).isInstanceOf(CountryNotFoundException.class);
+    }
+}
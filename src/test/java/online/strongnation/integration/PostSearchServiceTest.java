@@ -0,0 +1,142 @@
+package online.strongnation.integration;
+
+import online.strongnation.business.exception.IllegalPostException;
+import online.strongnation.business.model.dto.CountryDTO;
+import online.strongnation.business.model.dto.GetPostResponseByCountryDTO;
+import online.strongnation.business.model.dto.PostDTO;
+import online.strongnation.business.model.dto.PostSearchBenchmark;
+import online.strongnation.business.model.dto.RegionDTO;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.service.PostSearchService;
+import online.strongnation.business.service.PostService;
+import online.strongnation.business.service.RegionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static online.strongnation.business.service.implementation.RequestParameterFixer.checkDate;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@SpringBootTest
+class PostSearchServiceTest {
+
+    private final String UKRAINE = "Ukraine";
+    private final String KYIV = "Kyiv";
+    private final String LVIV = "Lviv";
+    private final LocalDateTime NOW = checkDate(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+
+    @Autowired
+    private PostSearchService service;
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private RegionService regionService;
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @BeforeEach
+    void setUp() {
+        Country country = new Country(CountryDTO.builder().name(UKRAINE).categories(List.of()).build());
+        country.setRegionsDTO(List.of(RegionDTO.builder().name(KYIV).categories(List.of()).build(),
+                RegionDTO.builder().name(LVIV).categories(List.of()).build()));
+        countryRepository.save(country);
+        service.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        countryRepository.deleteAll();
+        service.reload();
+    }
+
+    private PostDTO post(String description, LocalDateTime date) {
+        return PostDTO.builder()
+                .date(date)
+                .link("localH0sT")
+                .description(description)
+                .categories(List.of())
+                .build();
+    }
+
+    private List<Long> ids(List<GetPostResponseByCountryDTO> posts) {
+        return posts.stream().map(GetPostResponseByCountryDTO::getId).toList();
+    }
+
+    @Test
+    void searchFollowsCommittedChanges() {
+        //given
+        final PostDTO drones = postService.create(post("Drones for the army", NOW), UKRAINE, KYIV);
+        final PostDTO food = postService.create(post("Food and drones", NOW.minusDays(10)), UKRAINE, LVIV);
+        final PostDTO clothes = postService.create(post("Warm clothes", NOW), UKRAINE, KYIV);
+        //when
+        List<GetPostResponseByCountryDTO> found = service.search(UKRAINE, null, "DRONES", null, null, null);
+        List<GetPostResponseByCountryDTO> ofRegion = service.search(UKRAINE, LVIV, "drones", null, null, null);
+        List<GetPostResponseByCountryDTO> ofRange = service.search(UKRAINE, null, "drones",
+                NOW.minusDays(1).toLocalDate().toString(), NOW.toLocalDate().toString(), null);
+        postService.update(clothes.toBuilder().description("Warm clothes and drones").region(KYIV).build());
+        postService.delete(drones.getId());
+        List<GetPostResponseByCountryDTO> afterChanges = service.search(UKRAINE, null, "drones", null, null, null);
+        regionService.delete(UKRAINE, LVIV);
+        List<GetPostResponseByCountryDTO> afterRegionDelete =
+                service.search(UKRAINE, null, "drones", null, null, null);
+        //then
+        assertThat(new HashSet<>(ids(found))).isEqualTo(new HashSet<>(List.of(drones.getId(), food.getId())));
+        assertThat(found.get(0).getRegion()).isNotNull();
+        assertThat(ids(ofRegion)).isEqualTo(List.of(food.getId()));
+        assertThat(ids(ofRange)).isEqualTo(List.of(drones.getId()));
+        assertThat(new HashSet<>(ids(afterChanges))).isEqualTo(new HashSet<>(List.of(clothes.getId(), food.getId())));
+        assertThat(ids(afterRegionDelete)).isEqualTo(List.of(clothes.getId()));
+    }
+
+    @Test
+    void indexFindsTheSamePostsAsScan() {
+        //given
+        final int numberOfWords = 200;
+        final Random random = new Random(42);
+        List<PostDTO> posts = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder description = new StringBuilder();
+            for (int j = 0; j < 5; j++) {
+                description.append(String.format("w%03d ", random.nextInt(numberOfWords)));
+            }
+            posts.add(post(description.toString(), NOW.minusMinutes(i)).toBuilder()
+                    .region(i % 2 == 0 ? KYIV : LVIV)
+                    .build());
+        }
+        postService.createAll(posts.subList(0, 1000), UKRAINE);
+        postService.createAll(posts.subList(1000, 2000), UKRAINE);
+        final String query = "w007";
+        //when
+        List<GetPostResponseByCountryDTO> indexed = service.search(UKRAINE, KYIV, query, null, null, 100);
+        List<GetPostResponseByCountryDTO> scanned = service.searchByScan(UKRAINE, KYIV, query, null, null, 100);
+        PostSearchBenchmark benchmark = service.benchmark(UKRAINE, query);
+        //then
+        assertThat(indexed.isEmpty()).isFalse();
+        assertThat(new HashSet<>(ids(indexed))).isEqualTo(new HashSet<>(ids(scanned)));
+        assertThat(benchmark.getIndexHits()).isEqualTo(benchmark.getScanHits());
+        assertThat(benchmark.getIndexedPosts() >= 2000).isTrue();
+    }
+
+    @Test
+    void emptyQueryIsRejected() {
+        //given
+        final String query = " - ";
+        //when
+        //then
+        assertThatThrownBy(() -> service.search(UKRAINE, null, query, null, null, null))
+                .isInstanceOf(IllegalPostException.class);
+        assertThatThrownBy(() -> service.search(UKRAINE, null, "food", "2022-02-02", "2022-01-01", null))
+                .isInstanceOf(IllegalPostException.class);
+    }
+}
@@ -1,33 +1,53 @@
 package online.strongnation.integration;
 
+import online.strongnation.business.config.Constants;
 import online.strongnation.business.config.Floats;
 import online.strongnation.business.exception.CountryNotFoundException;
+import online.strongnation.business.exception.IllegalPostException;
 import online.strongnation.business.exception.RegionNotFoundException;
 import online.strongnation.business.model.dto.CategoryDTO;
 import online.strongnation.business.model.dto.CountryDTO;
+import online.strongnation.business.model.dto.GetPostResponse;
+import online.strongnation.business.model.dto.GetPostResponseByCountryDTO;
 import online.strongnation.business.model.dto.PostDTO;
+import online.strongnation.business.model.dto.PostPage;
+import online.strongnation.business.model.dto.PostQueryRequest;
 import online.strongnation.business.model.dto.RegionDTO;
 import online.strongnation.business.model.entity.Country;
 import online.strongnation.business.model.entity.Post;
+import online.strongnation.business.model.entity.Region;
 import online.strongnation.business.repository.CountryRepository;
 import online.strongnation.business.repository.PostRepository;
 import online.strongnation.business.repository.RegionRepository;
 import online.strongnation.business.service.CountryService;
 import online.strongnation.business.service.PostService;
 import online.strongnation.business.service.RegionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.api.Trigger;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static online.strongnation.business.service.implementation.CategoryUtils.getCategoryNameMap;
 import static online.strongnation.business.service.implementation.RequestParameterFixer.checkDate;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
 @SpringBootTest
 class PostServiceTest {
@@ -155,6 +175,12 @@ class PostServiceTest {
     private RegionRepository regionRepository;
     @Autowired
     private PostRepository postRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @BeforeEach
     void setUp() {
@@ -230,6 +256,70 @@ class PostServiceTest {
                 .isEqualTo(0);
     }
 
+    @Test
+    void createAllTestCategories() {
+        //given
+        final PostDTO post = PostDTO.builder()
+                .date(checkDate(LocalDateTime.now()))
+                .link("localH0sT")
+                .description("first post some heading")
+                .categories(List.of(WASHINGTON_IN_USA_FOOD_CATEGORY))
+                .build();
+        final List<PostDTO> posts = List.of(
+                post.toBuilder().region(WASHINGTON_NAME).build(),
+                post.toBuilder().region(WARSAW_NAME.toUpperCase()).build(),
+                post.toBuilder().region(WASHINGTON_NAME).categories(List.of(WASHINGTON_IN_USA_CARS_CATEGORY)).build());
+        //when
+        List<PostDTO> actual = postService.createAll(posts, USA_NAME);
+        //then
+        assertThat(actual.size()).isEqualTo(3);
+        actual.forEach(x -> assertThat(x.getId()).isNotNull());
+        var country = countryRepository.findCountryDTOByNameIgnoreCase(USA_NAME).orElseThrow(CountryNotFoundException::new);
+        var washington = regionRepository.findRegionDTOInCountryByNamesIgnoringCase(USA_NAME, WASHINGTON_NAME)
+                .orElseThrow(RegionNotFoundException::new);
+        var warsaw = regionRepository.findRegionDTOInCountryByNamesIgnoringCase(USA_NAME, WARSAW_NAME)
+                .orElseThrow(RegionNotFoundException::new);
+        var washingtonCategoryMap = getCategoryNameMap(washington.getCategories());
+        var warsawCategoryMap = getCategoryNameMap(warsaw.getCategories());
+        var countryCategoryMap = getCategoryNameMap(country.getCategories());
+        assertThat(washingtonCategoryMap.get(FOOD).getNumber()
+                .compareTo(WASHINGTON_IN_USA_FOOD_CATEGORY.getNumber().multiply(BigDecimal.valueOf(2))))
+                .isEqualTo(0);
+        assertThat(washingtonCategoryMap.get(CARS).getNumber()
+                .compareTo(WASHINGTON_IN_USA_CARS_CATEGORY.getNumber().multiply(BigDecimal.valueOf(2))))
+                .isEqualTo(0);
+        assertThat(warsawCategoryMap.get(FOOD).getNumber()
+                .compareTo(WARSAW_IN_USA_FOOD_CATEGORY.getNumber().add(WASHINGTON_IN_USA_FOOD_CATEGORY.getNumber())))
+                .isEqualTo(0);
+        assertThat(countryCategoryMap.get(FOOD).getNumber()
+                .compareTo(USA_FOOD_CATEGORY.getNumber()
+                        .add(WASHINGTON_IN_USA_FOOD_CATEGORY.getNumber().multiply(BigDecimal.valueOf(2)))))
+                .isEqualTo(0);
+        assertThat(countryCategoryMap.get(CARS).getNumber()
+                .compareTo(USA_CARS_CATEGORY.getNumber().add(WASHINGTON_IN_USA_CARS_CATEGORY.getNumber())))
+                .isEqualTo(0);
+    }
+
+    @Test
+    void createAllWithUnknownRegionSavesNothing() {
+        //given
+        final PostDTO post = PostDTO.builder()
+                .date(checkDate(LocalDateTime.now()))
+                .link("localH0sT")
+                .description("first post some heading")
+                .categories(List.of(WASHINGTON_IN_USA_FOOD_CATEGORY))
+                .build();
+        final List<PostDTO> posts = List.of(post.toBuilder().region(WASHINGTON_NAME).build(),
+                post.toBuilder().region("Nowhere").build());
+        //when
+        //then
+        assertThatThrownBy(() -> postService.createAll(posts, USA_NAME)).isInstanceOf(RegionNotFoundException.class);
+        assertThat(postRepository.count()).isEqualTo(0L);
+        var country = countryRepository.findCountryDTOByNameIgnoreCase(USA_NAME).orElseThrow(CountryNotFoundException::new);
+        assertThat(getCategoryNameMap(country.getCategories()).get(FOOD).getNumber()
+                .compareTo(USA_FOOD_CATEGORY.getNumber())).isEqualTo(0);
+    }
+
     @Test
     void all() {
         //given
@@ -255,6 +345,248 @@ class PostServiceTest {
     }
 
 
+    @Test
+    void pagesFollowDateAndIdOrder() {
+        //given
+        final LocalDateTime date = checkDate(LocalDateTime.now().minusDays(10));
+        final PostDTO post = PostDTO.builder()
+                .link("localH0sT")
+                .description("post")
+                .categories(List.of(WASHINGTON_IN_USA_FOOD_CATEGORY))
+                .build();
+        List<PostDTO> posts = List.of(
+                post.toBuilder().date(date).region(WASHINGTON_NAME).build(),
+                post.toBuilder().date(date.plusDays(2)).region(WARSAW_NAME).build(),
+                post.toBuilder().date(date).region(WASHINGTON_NAME).build(),
+                post.toBuilder().date(date.plusDays(1)).region(WASHINGTON_NAME).build(),
+                post.toBuilder().date(date.minusDays(1)).region(WASHINGTON_NAME).build());
+        postService.createAll(posts, USA_NAME);
+        //when
+        List<GetPostResponse> regionPosts = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            PostPage<GetPostResponse> page = postService.page(USA_NAME, WASHINGTON_NAME, 3, cursor);
+            regionPosts.addAll(page.getPosts());
+            cursor = page.getNext();
+            pages++;
+        } while (cursor != null);
+        PostPage<GetPostResponseByCountryDTO> countryPage = postService.page(USA_NAME, 2, null);
+        //then
+        assertThat(pages).isEqualTo(2);
+        assertThat(regionPosts).isEqualTo(postService.all(USA_NAME, WASHINGTON_NAME));
+        assertThat(regionPosts.get(1).getId()).isGreaterThan(regionPosts.get(2).getId());
+        assertThat(countryPage.getPosts()).isEqualTo(postService.all(USA_NAME).subList(0, 2));
+        assertThat(countryPage.getPosts().get(0).getRegion()).isEqualTo(WARSAW_NAME);
+        assertThatThrownBy(() -> postService.page(USA_NAME, 2, "wrong"))
+                .isInstanceOf(IllegalPostException.class);
+        assertThatThrownBy(() -> postService.page(USA_NAME, Constants.MAX_SIZE_OF_POST_PAGE + 1, null))
+                .isInstanceOf(IllegalPostException.class);
+    }
+
+    @Test
+    void queryCombinesFilters() {
+        //given
+        final LocalDateTime now = checkDate(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        final PostDTO.PostDTOBuilder post = PostDTO.builder().link("localH0sT").description("post");
+        final PostDTO food = postService.create(post.date(now).important(true)
+                .categories(List.of(WASHINGTON_IN_USA_FOOD_CATEGORY)).build(), USA_NAME, WASHINGTON_NAME);
+        final PostDTO cars = postService.create(post.date(now.minusDays(1)).important(true)
+                .categories(List.of(WASHINGTON_IN_USA_CARS_CATEGORY)).build(), USA_NAME, WASHINGTON_NAME);
+        final PostDTO old = postService.create(post.date(now.minusDays(30)).important(false)
+                .categories(List.of(WARSAW_IN_USA_CARS_CATEGORY)).build(), USA_NAME, WARSAW_NAME);
+        final PostQueryRequest ofUsa = PostQueryRequest.builder().country(USA_NAME).build();
+        //when
+        PostPage<GetPostResponseByCountryDTO> all = postService.query(ofUsa);
+        PostPage<GetPostResponseByCountryDTO> first = postService.query(ofUsa.toBuilder().size(2).build());
+        PostPage<GetPostResponseByCountryDTO> second = postService.query(ofUsa.toBuilder().size(2)
+                .cursor(first.getNext()).build());
+        PostPage<GetPostResponseByCountryDTO> important = postService.query(ofUsa.toBuilder()
+                .important(true).build());
+        PostPage<GetPostResponseByCountryDTO> ofRegion = postService.query(ofUsa.toBuilder()
+                .region(WARSAW_NAME).build());
+        PostPage<GetPostResponseByCountryDTO> ofRange = postService.query(ofUsa.toBuilder()
+                .from(now.minusDays(2).toLocalDate().toString()).to(now.minusDays(1).toLocalDate().toString()).build());
+        PostPage<GetPostResponseByCountryDTO> manyCars = postService.query(ofUsa.toBuilder().category(CARS)
+                .min(BigDecimal.valueOf(60)).build());
+        PostPage<GetPostResponseByCountryDTO> anyCategory = postService.query(ofUsa.toBuilder()
+                .min(BigDecimal.valueOf(40)).build());
+        //then
+        assertThat(idsOf(all)).isEqualTo(List.of(food.getId(), cars.getId(), old.getId()));
+        assertThat(idsOf(first)).isEqualTo(List.of(food.getId(), cars.getId()));
+        assertThat(idsOf(second)).isEqualTo(List.of(old.getId()));
+        assertThat(idsOf(important)).isEqualTo(List.of(food.getId(), cars.getId()));
+        assertThat(idsOf(ofRegion)).isEqualTo(List.of(old.getId()));
+        assertThat(idsOf(ofRange)).isEqualTo(List.of(cars.getId()));
+        assertThat(idsOf(manyCars)).isEqualTo(List.of(old.getId()));
+        assertThat(idsOf(anyCategory)).isEqualTo(List.of(cars.getId(), old.getId()));
+        assertThatThrownBy(() -> postService.query(ofUsa.toBuilder().min(BigDecimal.valueOf(-1)).build()))
+                .isInstanceOf(IllegalPostException.class);
+    }
+
+    private List<Long> idsOf(PostPage<GetPostResponseByCountryDTO> page) {
+        return page.getPosts().stream().map(GetPostResponseByCountryDTO::getId).toList();
+    }
+
+    @Test
+    void allOfCountryLoadsRegionNamesInOneQuery() {
+        //given
+        final PostDTO post = PostDTO.builder()
+                .date(checkDate(LocalDateTime.now()))
+                .link("localH0sT")
+                .description("post")
+                .categories(List.of(WASHINGTON_IN_USA_FOOD_CATEGORY))
+                .build();
+        postService.createAll(List.of(post.toBuilder().region(WASHINGTON_NAME).build(),
+                post.toBuilder().region(WARSAW_NAME).build(),
+                post.toBuilder().region(WASHINGTON_NAME).build()), USA_NAME);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        //when
+        var actual = postService.all(USA_NAME);
+        //then
+        assertThat(actual.size()).isEqualTo(3);
+        assertThat(actual.stream().filter(p -> p.getRegion().equals(WARSAW_NAME)).count()).isEqualTo(1L);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);//posts with regions, the country id is in memory
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void postRegionAndCountryAreLoadedWithOneCollectionPerQuery() {
+        //given
+        final PostDTO post = PostDTO.builder()
+                .date(checkDate(LocalDateTime.now()))
+                .link("localH0sT")
+                .description("post")
+                .categories(List.of(WASHINGTON_IN_USA_FOOD_CATEGORY))
+                .build();
+        final Long id = postService.create(post, USA_NAME, WASHINGTON_NAME).getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        //when
+        Boolean initialized = new TransactionTemplate(transactionManager).execute(status -> {
+            Post actual = postRepository.findWithCategoriesAndRegionById(id).orElseThrow();
+            Region region = regionRepository.findWithCategoriesAndCountryById(actual.getRegion().getId())
+                    .orElseThrow();
+            Country country = countryRepository.findWithCategoriesById(region.getCountry().getId()).orElseThrow();
+            return Hibernate.isInitialized(actual.getCategories())
+                    && actual.getCategories().size() == 1
+                    && region == actual.getRegion()
+                    && Hibernate.isInitialized(region.getCategories())
+                    && country == region.getCountry()
+                    && Hibernate.isInitialized(country.getCategories())
+                    && !country.getCategories().isEmpty();
+        });
+        //then
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        assertThat(initialized).isTrue();
+        assertThat(statements).isEqualTo(3L);//the post, the region and the country, each with its categories
+    }
+
+    @Test
+    void updateDoesNotLoadCategoriesOneByOne() {
+        //given
+        final PostDTO post = PostDTO.builder()
+                .date(checkDate(LocalDateTime.now()))
+                .link("localH0sT")
+                .description("post")
+                .categories(List.of(WASHINGTON_IN_USA_FOOD_CATEGORY))
+                .build();
+        final PostDTO created = postService.create(post, USA_NAME, WASHINGTON_NAME);
+        final PostDTO changed = created.toBuilder()
+                .categories(List.of(WASHINGTON_IN_USA_FOOD_CATEGORY.toBuilder().number(BigDecimal.TEN).build()))
+                .build();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        //when
+        postService.update(changed);
+        //then
+        long lazyLoads = statistics.getCollectionFetchCount();
+        statistics.setStatisticsEnabled(false);
+        assertThat(lazyLoads).isEqualTo(0L);
+        final Long regionId = regionRepository.findRegionDTOInCountryByNamesIgnoringCase(USA_NAME, WASHINGTON_NAME)
+                .orElseThrow().getId();
+        var region = regionRepository.findCategoryAmountsByRegionId(regionId);
+        assertThat(region.stream().map(c -> c.name() + c.units()).distinct().count())
+                .isEqualTo((long) region.size());
+    }
+
+    @Test
+    void updateOfOneCategoryRewritesOnlyItsRow() {
+        //given
+        final List<CategoryDTO> categories = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            categories.add(CategoryDTO.builder().name("category " + i).number(BigDecimal.ONE).build());
+        }
+        final PostDTO post = PostDTO.builder()
+                .date(checkDate(LocalDateTime.now()))
+                .link("localH0sT")
+                .description("post")
+                .categories(categories)
+                .build();
+        final PostDTO created = postService.create(post, USA_NAME, WASHINGTON_NAME);
+        final List<CategoryDTO> changedCategories = new ArrayList<>(categories);
+        changedCategories.set(4, categories.get(4).updateNumber(BigDecimal.TEN));
+        DeletedCategoryRows.count.set(0);
+        jdbcTemplate.execute("CREATE TRIGGER post_category_amount_deleted AFTER DELETE ON post_category_amount " +
+                "FOR EACH ROW CALL \"" + DeletedCategoryRows.class.getName() + "\"");
+        //when
+        try {
+            postService.update(created.toBuilder().categories(changedCategories).build());
+        } finally {
+            jdbcTemplate.execute("DROP TRIGGER post_category_amount_deleted");
+        }
+        //then
+        assertThat(DeletedCategoryRows.count.get()).isEqualTo(0);
+        assertThat(postService.get(created.getId()).getCategories()).isEqualTo(changedCategories);
+    }
+
+    public static class DeletedCategoryRows implements Trigger {
+        static final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void fire(Connection connection, Object[] oldRow, Object[] newRow) {
+            count.incrementAndGet();
+        }
+    }
+
+    @Test
+    void createAllTakesIdsOfPostsAndCategoriesInPools() {
+        //given
+        final int numberOfPosts = 40;
+        final List<CategoryDTO> categories = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            categories.add(CategoryDTO.builder().name("category " + i).number(BigDecimal.ONE).build());
+        }
+        final PostDTO post = PostDTO.builder()
+                .date(checkDate(LocalDateTime.now()))
+                .link("localH0sT")
+                .description("post")
+                .categories(categories)
+                .region(WASHINGTON_NAME)
+                .build();
+        postService.createAll(List.of(post), USA_NAME);//categories of the region and the country are created here
+        final List<PostDTO> posts = new ArrayList<>();
+        for (int i = 0; i < numberOfPosts; i++) {
+            posts.add(post);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        //when
+        List<PostDTO> actual = postService.createAll(posts, USA_NAME);
+        //then
+        assertThat(actual.size()).isEqualTo(numberOfPosts);
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        //one nextval per post and per category of a post would take 440 statements alone
+        assertThat(statements).isLessThan(60L);
+    }
+
     @Test
     void allById() {
         //given
@@ -411,6 +743,41 @@ class PostServiceTest {
                 .compareTo(currentCountryGoldNumber)).isEqualTo(0);
     }
 
+    @Test
+    void regionCountersFollowCreateMoveAndDelete() {
+        //given
+        final LocalDateTime older = checkDate(LocalDateTime.now().minusDays(2).truncatedTo(ChronoUnit.SECONDS));
+        final LocalDateTime newer = checkDate(LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        final PostDTO first = postService.create(PostDTO.builder()
+                .date(older)
+                .link("first")
+                .description("first post")
+                .categories(List.of(WASHINGTON_IN_USA_FOOD_CATEGORY))
+                .build(), USA_NAME, WASHINGTON_NAME);
+        final PostDTO second = postService.create(PostDTO.builder()
+                .date(newer)
+                .link("second")
+                .description("second post")
+                .categories(List.of(WASHINGTON_IN_USA_CARS_CATEGORY))
+                .build(), USA_NAME, WASHINGTON_NAME);
+        final RegionDTO created = regionService.get(USA_NAME, WASHINGTON_NAME);
+        //when
+        postService.update(second.toBuilder().region(WARSAW_NAME).build());
+        final RegionDTO source = regionService.get(USA_NAME, WASHINGTON_NAME);
+        final RegionDTO target = regionService.get(USA_NAME, WARSAW_NAME);
+        postService.delete(first.getId());
+        final RegionDTO empty = regionService.get(USA_NAME, WASHINGTON_NAME);
+        //then
+        assertThat(created.getPostCount()).isEqualTo(2L);
+        assertThat(created.getLatestPostDate()).isEqualTo(newer);
+        assertThat(source.getPostCount()).isEqualTo(1L);
+        assertThat(source.getLatestPostDate()).isEqualTo(older);
+        assertThat(target.getPostCount()).isEqualTo(1L);
+        assertThat(target.getLatestPostDate()).isEqualTo(newer);
+        assertThat(empty.getPostCount()).isEqualTo(0L);
+        assertThat(empty.getLatestPostDate()).isNull();
+    }
+
     @Test
     void deleteTestCategories() {
         //given
@@ -494,6 +861,37 @@ class PostServiceTest {
     }
 
 
+    @Test
+    void deleteAllRemovesPostsAndTheirCategories() {
+        //given
+        final PostDTO post = PostDTO.builder()
+                .date(checkDate(LocalDateTime.now()))
+                .link("localH0sT")
+                .description("first post some heading")
+                .categories(List.of(WASHINGTON_IN_USA_FOOD_CATEGORY, WASHINGTON_IN_USA_CARS_CATEGORY))
+                .build();
+        postService.createAll(List.of(post.toBuilder().region(WASHINGTON_NAME).build(),
+                post.toBuilder().region(WASHINGTON_NAME).build(),
+                post.toBuilder().region(WARSAW_NAME).build()), USA_NAME);
+        //when
+        List<PostDTO> deleted = postService.deleteAll(USA_NAME, WASHINGTON_NAME);
+        //then
+        assertThat(deleted.size()).isEqualTo(2);
+        assertThat(postRepository.count()).isEqualTo(1L);
+        assertThat(postRepository.countCategories()).isEqualTo(2L);
+        var region = regionRepository.findRegionDTOInCountryByNamesIgnoringCase(USA_NAME, WASHINGTON_NAME)
+                .orElseThrow(RegionNotFoundException::new);
+        var country = countryRepository.findCountryDTOByNameIgnoreCase(USA_NAME).orElseThrow(CountryNotFoundException::new);
+        var regionCategoryMap = getCategoryNameMap(region.getCategories());
+        assertThat(regionCategoryMap.get(FOOD).getNumber()
+                .compareTo(WASHINGTON_IN_USA_FOOD_CATEGORY.getNumber())).isEqualTo(0);
+        assertThat(regionCategoryMap.get(CARS).getNumber()
+                .compareTo(WASHINGTON_IN_USA_CARS_CATEGORY.getNumber())).isEqualTo(0);
+        assertThat(getCategoryNameMap(country.getCategories()).get(FOOD).getNumber()
+                .compareTo(USA_FOOD_CATEGORY.getNumber().add(WASHINGTON_IN_USA_FOOD_CATEGORY.getNumber())))
+                .isEqualTo(0);
+    }
+
     @Test
     void updateCategoryDifficultTest() {
         //given
@@ -9,6 +9,9 @@ import online.strongnation.business.model.entity.Region;
 import online.strongnation.business.repository.CountryRepository;
 import online.strongnation.business.repository.RegionRepository;
 import online.strongnation.business.service.RegionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +21,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -39,6 +43,8 @@ class RegionServiceImplTest {
     //write tests for categories
     @Autowired
     private RegionRepository regionRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     @BeforeEach
     void setUp() {
@@ -150,6 +156,38 @@ class RegionServiceImplTest {
         }
     }
 
+    @Test
+    void createAllUsesBatchesInsteadOfStatementPerRegion() {
+        //given
+        final int numberOfRegions = 200;
+        final List<String> names = IntStream.range(0, numberOfRegions).mapToObj(i -> "Seeded region " + i).toList();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        //when
+        var actual = service.createAll(USA_NAME, names);
+        //then
+        final long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        assertThat(actual.size()).isEqualTo(numberOfRegions);
+        assertThat(regionRepository.findNamesByCountryId(countryRepository.getIdByNameIgnoreCase(USA_NAME)
+                .orElseThrow()).size()).isEqualTo(numberOfRegions + 2);
+        //country, names of its regions, 4 allocations of 50 ids and 4 insert batches
+        assertThat(statements <= 12).isTrue();
+    }
+
+    @Test
+    void createAllWithRepeatedName() {
+        //given
+        final List<String> strings = List.of("Some region 1", "Some region 2", "SOME region 1");
+        //when
+        //then
+        assertThatThrownBy(() -> service.createAll(USA_NAME, strings))
+                .isInstanceOf(IllegalRegionException.class)
+                .hasMessage("Region SOME region 1 is already present. Regions are not saved");
+        assertThat(regionRepository.existsRegionInCountryByNamesIgnoringCase(USA_NAME, "Some region 2")).isFalse();
+    }
+
     @Test
     void createAllWhenRegionAlreadyExists() {
         //given
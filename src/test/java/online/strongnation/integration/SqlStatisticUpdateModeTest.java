@@ -0,0 +1,183 @@
+package online.strongnation.integration;
+
+import online.strongnation.business.model.dto.CategoryDTO;
+import online.strongnation.business.model.dto.PostDTO;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.model.entity.Region;
+import online.strongnation.business.model.statistic.StatisticDelta;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.repository.RegionRepository;
+import online.strongnation.business.service.CountryService;
+import online.strongnation.business.service.PostService;
+import online.strongnation.business.service.RegionService;
+import online.strongnation.business.service.StatisticOfEntityUpdater;
+import online.strongnation.business.service.implementation.SqlStatisticOfEntityUpdaterImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static online.strongnation.business.service.implementation.CategoryUtils.getCategoryNameMap;
+import static online.strongnation.business.service.implementation.RequestParameterFixer.checkDate;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest(properties = "statistic.update.mode=sql")
+class SqlStatisticUpdateModeTest {
+
+    private final String COUNTRY_NAME = "Ukraine";
+    private final String KYIV = "Kyiv";
+    private final String LVIV = "Lviv";
+    private final String FOOD = "food";
+    private final String CARS = "car";
+
+    private final CategoryDTO FOOD_CATEGORY = CategoryDTO.builder()
+            .name(FOOD)
+            .number(BigDecimal.valueOf(10.10))
+            .units("kg")
+            .build();
+    private final CategoryDTO CARS_CATEGORY = CategoryDTO.builder()
+            .name(CARS)
+            .number(BigDecimal.valueOf(2))
+            .build();
+
+    @Autowired
+    private StatisticOfEntityUpdater updater;
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private CountryService countryService;
+    @Autowired
+    private RegionService regionService;
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private RegionRepository regionRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        countryService.create(COUNTRY_NAME);
+        regionService.createAll(COUNTRY_NAME, List.of(KYIV, LVIV));
+    }
+
+    @AfterEach
+    void tearDown() {
+        countryRepository.deleteAll();
+    }
+
+    private PostDTO post(List<CategoryDTO> categories) {
+        return PostDTO.builder()
+                .date(checkDate(LocalDateTime.now()))
+                .link("localH0sT")
+                .description("some heading")
+                .categories(categories)
+                .build();
+    }
+
+    @Test
+    void sqlUpdaterIsUsed() {
+        assertThat(updater instanceof SqlStatisticOfEntityUpdaterImpl).isTrue();
+    }
+
+    @Test
+    void createUpdateAndDelete() {
+        //given
+        postService.create(post(List.of(FOOD_CATEGORY, CARS_CATEGORY)), COUNTRY_NAME, KYIV);
+        PostDTO second = postService.create(post(List.of(FOOD_CATEGORY)), COUNTRY_NAME, KYIV);
+        //when
+        postService.update(post(List.of(CARS_CATEGORY)).toBuilder().id(second.getId()).region(LVIV).build());
+        //then
+        var kyiv = getCategoryNameMap(regionService.get(COUNTRY_NAME, KYIV).getCategories());
+        var lviv = getCategoryNameMap(regionService.get(COUNTRY_NAME, LVIV).getCategories());
+        var country = getCategoryNameMap(countryService.get(COUNTRY_NAME).getCategories());
+        assertThat(kyiv.get(FOOD).getNumber().compareTo(FOOD_CATEGORY.getNumber())).isEqualTo(0);
+        assertThat(kyiv.get(CARS).getNumber().compareTo(CARS_CATEGORY.getNumber())).isEqualTo(0);
+        assertThat(lviv.size()).isEqualTo(1);
+        assertThat(lviv.get(CARS).getNumber().compareTo(CARS_CATEGORY.getNumber())).isEqualTo(0);
+        assertThat(country.get(FOOD).getNumber().compareTo(FOOD_CATEGORY.getNumber())).isEqualTo(0);
+        assertThat(country.get(CARS).getNumber().compareTo(BigDecimal.valueOf(4))).isEqualTo(0);
+        //when
+        postService.delete(second.getId());
+        //then
+        assertThat(regionService.get(COUNTRY_NAME, LVIV).getCategories().isEmpty()).isTrue();
+        country = getCategoryNameMap(countryService.get(COUNTRY_NAME).getCategories());
+        assertThat(country.get(CARS).getNumber().compareTo(CARS_CATEGORY.getNumber())).isEqualTo(0);
+    }
+
+    @Test
+    void writesDoNotLoadTotalsOfRegionsAndCountries() {
+        //given
+        PostDTO created = postService.create(post(List.of(FOOD_CATEGORY, CARS_CATEGORY)), COUNTRY_NAME, KYIV);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        //when
+        postService.create(post(List.of(FOOD_CATEGORY)), COUNTRY_NAME, KYIV);
+        postService.update(post(List.of(CARS_CATEGORY)).toBuilder().id(created.getId()).region(LVIV).build());
+        postService.createAll(List.of(post(List.of(CARS_CATEGORY)).toBuilder().region(LVIV).build()), COUNTRY_NAME);
+        //then
+        long regionLoads = statistics.getCollectionStatistics(Region.class.getName() + ".categories").getLoadCount();
+        long countryLoads = statistics.getCollectionStatistics(Country.class.getName() + ".categories").getLoadCount();
+        statistics.setStatisticsEnabled(false);
+        assertThat(regionLoads).isEqualTo(0L);
+        assertThat(countryLoads).isEqualTo(0L);
+        var country = getCategoryNameMap(countryService.get(COUNTRY_NAME).getCategories());
+        assertThat(country.get(FOOD).getNumber().compareTo(FOOD_CATEGORY.getNumber())).isEqualTo(0);
+        assertThat(country.get(CARS).getNumber().compareTo(BigDecimal.valueOf(4))).isEqualTo(0);
+    }
+
+    @Test
+    void concurrentWritersOfNewCategoryAddUpInOneRow() throws Exception {
+        //given
+        final int writers = 8;
+        final Long regionId = regionService.get(COUNTRY_NAME, KYIV).getId();
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        final CyclicBarrier start = new CyclicBarrier(writers);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        //when
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    transaction.executeWithoutResult(status -> {
+                        Region region = regionRepository.findById(regionId).orElseThrow();
+                        updater.update(region, StatisticDelta.of(List.of(FOOD_CATEGORY, CARS_CATEGORY)));
+                    });
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        //then
+        var categories = regionService.get(COUNTRY_NAME, KYIV).getCategories();
+        var kyiv = getCategoryNameMap(categories);
+        assertThat(categories.size()).isEqualTo(2);
+        assertThat(kyiv.get(FOOD).getNumber().compareTo(FOOD_CATEGORY.getNumber().multiply(BigDecimal.valueOf(writers))))
+                .isEqualTo(0);
+        assertThat(kyiv.get(CARS).getNumber().compareTo(CARS_CATEGORY.getNumber().multiply(BigDecimal.valueOf(writers))))
+                .isEqualTo(0);
+    }
+}
@@ -0,0 +1,242 @@
+package online.strongnation.integration;
+
+import online.strongnation.business.exception.IllegalStatisticException;
+import online.strongnation.business.model.dto.CategoryDTO;
+import online.strongnation.business.model.dto.CountryDTO;
+import online.strongnation.business.model.dto.PostDTO;
+import online.strongnation.business.model.dto.RegionDTO;
+import online.strongnation.business.model.dto.StatisticRebuildReport;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.model.event.StatisticReplacedEvent;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.repository.RegionRepository;
+import online.strongnation.business.repository.StatisticRollupRepository;
+import online.strongnation.business.service.PostService;
+import online.strongnation.business.service.StatisticRebuildService;
+import online.strongnation.business.service.StatisticRollupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static online.strongnation.business.service.implementation.CategoryUtils.getCategoryNameMap;
+import static online.strongnation.business.service.implementation.RequestParameterFixer.checkDate;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@SpringBootTest
+@RecordApplicationEvents
+class StatisticRebuildServiceTest {
+
+    private final String COUNTRY_NAME = "Ukraine";
+    private final String KYIV = "Kyiv";
+    private final String LVIV = "Lviv";
+    private final String FOOD = "food";
+    private final String CARS = "car";
+    private final String WATER = "water";
+
+    private final CategoryDTO FOOD_CATEGORY = CategoryDTO.builder()
+            .name(FOOD)
+            .number(BigDecimal.valueOf(10.10))
+            .units("kg")
+            .build();
+    private final CategoryDTO CARS_CATEGORY = CategoryDTO.builder()
+            .name(CARS)
+            .number(BigDecimal.valueOf(2))
+            .build();
+    private final CategoryDTO STALE_FOOD_CATEGORY = FOOD_CATEGORY.updateNumber(BigDecimal.valueOf(5));
+    private final CategoryDTO STALE_WATER_CATEGORY = CategoryDTO.builder()
+            .name(WATER)
+            .number(BigDecimal.ONE)
+            .build();
+
+    @Autowired
+    private StatisticRebuildService service;
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private RegionRepository regionRepository;
+    @Autowired
+    private StatisticRollupRepository rollupRepository;
+    @Autowired
+    private StatisticRollupService rollupService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ApplicationEvents events;
+
+    @BeforeEach
+    void setUp() {
+        rollupRepository.deleteAll();
+        Country country = new Country(CountryDTO.builder()
+                .name(COUNTRY_NAME)
+                .categories(List.of(STALE_FOOD_CATEGORY, STALE_WATER_CATEGORY))
+                .build());
+        country.setRegionsDTO(List.of(
+                RegionDTO.builder().name(KYIV).categories(List.of(STALE_FOOD_CATEGORY)).build(),
+                RegionDTO.builder().name(LVIV).categories(List.of()).build()));
+        countryRepository.save(country);
+        final PostDTO post = PostDTO.builder()
+                .date(checkDate(LocalDateTime.now()))
+                .link("localH0sT")
+                .description("post")
+                .categories(List.of(FOOD_CATEGORY, CARS_CATEGORY))
+                .build();
+        postService.createAll(List.of(post.toBuilder().region(KYIV).build(),
+                post.toBuilder().region(LVIV).categories(List.of(FOOD_CATEGORY)).build(),
+                post.toBuilder().region(LVIV).categories(List.of()).build()), COUNTRY_NAME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rollupRepository.deleteAll();
+        countryRepository.deleteAll();
+    }
+
+    @Test
+    void dryRunReportsDriftWithoutChangingTotals() {
+        //given
+        //when
+        StatisticRebuildReport report = service.rebuild(true);
+        //then
+        assertThat(report.getPosts()).isEqualTo(3L);
+        assertThat(report.getRegions()).isEqualTo(2);
+        assertThat(report.getChangedRegions()).isEqualTo(1);
+        assertThat(report.getChangedCountries()).isEqualTo(1);
+        assertThat(report.getDifferences().size()).isEqualTo(3);//food of kyiv, food and water of the country
+        assertThat(report.getPostsPerSecond() > 0).isTrue();
+        var kyiv = regionRepository.findRegionDTOInCountryByNamesIgnoringCase(COUNTRY_NAME, KYIV).orElseThrow();
+        assertThat(getCategoryNameMap(kyiv.getCategories()).get(FOOD).getNumber()
+                .compareTo(FOOD_CATEGORY.getNumber().add(STALE_FOOD_CATEGORY.getNumber()))).isEqualTo(0);
+    }
+
+    @Test
+    void rebuildRestoresTotalsFromPosts() {
+        //given
+        //when
+        StatisticRebuildReport report = service.rebuild(false);
+        //then
+        assertThat(report.getChangedRegions()).isEqualTo(1);
+        var kyiv = regionRepository.findRegionDTOInCountryByNamesIgnoringCase(COUNTRY_NAME, KYIV).orElseThrow();
+        var country = countryRepository.findCountryDTOByNameIgnoreCase(COUNTRY_NAME).orElseThrow();
+        var kyivCategories = getCategoryNameMap(kyiv.getCategories());
+        var countryCategories = getCategoryNameMap(country.getCategories());
+        assertThat(kyivCategories.get(FOOD).getNumber().compareTo(FOOD_CATEGORY.getNumber())).isEqualTo(0);
+        assertThat(kyivCategories.get(CARS).getNumber().compareTo(CARS_CATEGORY.getNumber())).isEqualTo(0);
+        assertThat(countryCategories.size()).isEqualTo(2);
+        assertThat(countryCategories.get(FOOD).getNumber()
+                .compareTo(FOOD_CATEGORY.getNumber().multiply(BigDecimal.valueOf(2)))).isEqualTo(0);
+        assertThat(service.rebuild(true).getDifferences().size()).isEqualTo(0);
+    }
+
+    @Test
+    void rebuildBackfillsRollupsFromPosts() {
+        //given
+        final String today = LocalDateTime.now().toLocalDate().toString();
+        var expected = rollupService.seriesOfCountry(COUNTRY_NAME, "day", today, today);
+        rollupRepository.deleteAll();//rollups written before they were introduced
+        //when
+        StatisticRebuildReport dryRun = service.rebuild(true);
+        //then
+        assertThat(dryRun.getChangedRollups()).isEqualTo(6);//day and month of kyiv, lviv and the country
+        assertThat(rollupRepository.count()).isEqualTo(0L);
+        //when
+        StatisticRebuildReport report = service.rebuild(false);
+        //then
+        assertThat(report.getChangedRollups()).isEqualTo(6);
+        var rebuilt = rollupService.seriesOfCountry(COUNTRY_NAME, "day", today, today);
+        assertThat(expected.size()).isEqualTo(1);
+        assertThat(rebuilt.size()).isEqualTo(1);
+        assertThat(getCategoryNameMap(rebuilt.get(0).getCategories()))
+                .isEqualTo(getCategoryNameMap(expected.get(0).getCategories()));
+        assertThat(service.rebuild(true).getChangedRollups()).isEqualTo(0);
+    }
+
+    @Test
+    void rebuildOfPostCountersInvalidatesCaches() {
+        //given
+        service.rebuild(false);
+        jdbcTemplate.update("UPDATE region SET post_count = 7, latest_post_date = NULL WHERE name = ?", KYIV);
+        events.clear();
+        //when
+        StatisticRebuildReport report = service.rebuild(false);
+        //then
+        assertThat(report.getChangedRegions()).isEqualTo(0);
+        assertThat(report.getChangedCountries()).isEqualTo(0);
+        assertThat(events.stream(StatisticReplacedEvent.class).count()).isEqualTo(1L);
+        var kyiv = regionRepository.findRegionDTOInCountryByNamesIgnoringCase(COUNTRY_NAME, KYIV).orElseThrow();
+        assertThat(kyiv.getPostCount()).isEqualTo(1L);
+        assertThat(kyiv.getLatestPostDate()).isNotNull();
+    }
+
+    @Test
+    void postWrittenDuringRebuildAbortsTheSwap() throws Exception {
+        //given
+        final PostDTO post = PostDTO.builder()
+                .date(checkDate(LocalDateTime.now()))
+                .link("localH0sT")
+                .description("post")
+                .categories(List.of(CARS_CATEGORY))
+                .build();
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        final CountDownLatch written = new CountDownLatch(1);
+        final CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = executor.submit(() -> transaction.executeWithoutResult(status -> {
+                postService.create(post, COUNTRY_NAME, KYIV);
+                written.countDown();
+                try {
+                    commit.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            written.await();
+            //when
+            Future<StatisticRebuildReport> rebuild = executor.submit(() -> service.rebuild(false));
+            waitForBlockedSession();//the rebuild aggregated kyiv without the post and waits for its lock
+            commit.countDown();
+            writer.get();
+            //then
+            assertThatThrownBy(rebuild::get).hasCauseInstanceOf(IllegalStatisticException.class);
+        } finally {
+            commit.countDown();
+            executor.shutdown();
+        }
+        var kyiv = regionRepository.findRegionDTOInCountryByNamesIgnoringCase(COUNTRY_NAME, KYIV).orElseThrow();
+        assertThat(getCategoryNameMap(kyiv.getCategories()).get(CARS).getNumber()
+                .compareTo(BigDecimal.valueOf(4))).isEqualTo(0);//both posts, the stale food is not swapped either
+        assertThat(service.rebuild(false).getChangedRegions()).isEqualTo(1);
+    }
+
+    private void waitForBlockedSession() throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            Long blocked = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS WHERE BLOCKER_ID IS NOT NULL", Long.class);
+            if (blocked != null && blocked > 0) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("The rebuild is not waiting for the writer");
+    }
+}
@@ -0,0 +1,140 @@
+package online.strongnation.integration;
+
+import online.strongnation.business.exception.IllegalStatisticException;
+import online.strongnation.business.model.dto.CategoryDTO;
+import online.strongnation.business.model.dto.CountryDTO;
+import online.strongnation.business.model.dto.PostDTO;
+import online.strongnation.business.model.dto.RegionDTO;
+import online.strongnation.business.model.dto.StatisticRollupDTO;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.repository.StatisticRollupRepository;
+import online.strongnation.business.service.PostService;
+import online.strongnation.business.service.RegionService;
+import online.strongnation.business.service.StatisticRollupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@SpringBootTest
+class StatisticRollupServiceTest {
+
+    private final String COUNTRY_NAME = "Ukraine";
+    private final String KYIV = "Kyiv";
+    private final String LVIV = "Lviv";
+    private final LocalDateTime FIRST_DAY = LocalDateTime.of(2022, 3, 1, 10, 0, 0);
+    private final LocalDateTime SECOND_DAY = LocalDateTime.of(2022, 3, 15, 10, 0, 0);
+    private final LocalDateTime NEXT_MONTH = LocalDateTime.of(2022, 4, 2, 10, 0, 0);
+
+    private final CategoryDTO FOOD_CATEGORY = CategoryDTO.builder()
+            .name("food")
+            .number(BigDecimal.valueOf(10.10))
+            .units("kg")
+            .build();
+
+    @Autowired
+    private StatisticRollupService service;
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private RegionService regionService;
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private StatisticRollupRepository rollupRepository;
+
+    @BeforeEach
+    void setUp() {
+        Country country = new Country(CountryDTO.builder().name(COUNTRY_NAME).categories(List.of()).build());
+        country.setRegionsDTO(List.of(RegionDTO.builder().name(KYIV).categories(List.of()).build(),
+                RegionDTO.builder().name(LVIV).categories(List.of()).build()));
+        countryRepository.save(country);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rollupRepository.deleteAll();
+        countryRepository.deleteAll();
+    }
+
+    private PostDTO post(String region, LocalDateTime date) {
+        return PostDTO.builder()
+                .date(date)
+                .link("localH0sT")
+                .description("post")
+                .region(region)
+                .categories(List.of(FOOD_CATEGORY))
+                .build();
+    }
+
+    private List<StatisticRollupDTO> countrySeries(String granularity) {
+        return service.seriesOfCountry(COUNTRY_NAME, granularity, "2022-03-01", "2022-04-30");
+    }
+
+    private List<StatisticRollupDTO> regionSeries(String region, String granularity) {
+        return service.seriesOfRegion(COUNTRY_NAME, region, granularity, "2022-03-01", "2022-04-30");
+    }
+
+    private StatisticRollupDTO bucket(LocalDateTime date, BigDecimal number) {
+        return new StatisticRollupDTO(date.toLocalDate(), List.of(FOOD_CATEGORY.updateNumber(number)));
+    }
+
+    @Test
+    void createdPostsAreRolledUpByDayAndMonth() {
+        //given
+        //when
+        postService.createAll(List.of(post(KYIV, FIRST_DAY), post(LVIV, FIRST_DAY), post(KYIV, SECOND_DAY),
+                post(LVIV, NEXT_MONTH)), COUNTRY_NAME);
+        //then
+        assertThat(countrySeries("day")).isEqualTo(List.of(
+                bucket(FIRST_DAY, BigDecimal.valueOf(20.20)),
+                bucket(SECOND_DAY, BigDecimal.valueOf(10.10)),
+                bucket(NEXT_MONTH, BigDecimal.valueOf(10.10))));
+        assertThat(countrySeries("month")).isEqualTo(List.of(
+                bucket(FIRST_DAY, BigDecimal.valueOf(30.30)),
+                bucket(NEXT_MONTH.withDayOfMonth(1), BigDecimal.valueOf(10.10))));
+        assertThat(regionSeries(KYIV, "month")).isEqualTo(List.of(bucket(FIRST_DAY, BigDecimal.valueOf(20.20))));
+    }
+
+    @Test
+    void updateMoveAndDeleteKeepRollupsInSync() {
+        //given
+        PostDTO created = postService.create(post(KYIV, FIRST_DAY), COUNTRY_NAME, KYIV);
+        postService.create(post(LVIV, FIRST_DAY), COUNTRY_NAME, LVIV);
+        //when
+        PostDTO moved = postService.update(created.toBuilder().region(LVIV).date(NEXT_MONTH).build());
+        //then
+        assertThat(regionSeries(KYIV, "day")).isEqualTo(List.of());
+        assertThat(regionSeries(LVIV, "day")).isEqualTo(List.of(
+                bucket(FIRST_DAY, BigDecimal.valueOf(10.10)),
+                bucket(NEXT_MONTH, BigDecimal.valueOf(10.10))));
+        //when
+        postService.delete(moved.getId());
+        regionService.delete(COUNTRY_NAME, LVIV);
+        //then
+        assertThat(countrySeries("day")).isEqualTo(List.of());
+        assertThat(rollupRepository.count()).isEqualTo(0L);
+    }
+
+    @Test
+    void wrongRangeIsRejected() {
+        //given
+        //when
+        //then
+        assertThatThrownBy(() -> service.seriesOfCountry(COUNTRY_NAME, "week", "2022-03-01", "2022-04-30"))
+                .isInstanceOf(IllegalStatisticException.class);
+        assertThatThrownBy(() -> service.seriesOfCountry(COUNTRY_NAME, "day", "2022-04-30", "2022-03-01"))
+                .isInstanceOf(IllegalStatisticException.class);
+        assertThatThrownBy(() -> service.seriesOfCountry(COUNTRY_NAME, "day", "2000-01-01", "2022-03-01"))
+                .isInstanceOf(IllegalStatisticException.class);
+    }
+}
@@ -0,0 +1,115 @@
+package online.strongnation.integration;
+
+import online.strongnation.business.model.dto.CategoryDTO;
+import online.strongnation.business.model.dto.CountryDTO;
+import online.strongnation.business.model.dto.PostDTO;
+import online.strongnation.business.model.dto.RegionDTO;
+import online.strongnation.business.model.dto.StatisticVerificationReport;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.repository.CountryRepository;
+import online.strongnation.business.repository.RegionRepository;
+import online.strongnation.business.service.PostService;
+import online.strongnation.business.service.StatisticVerifierService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static online.strongnation.business.service.implementation.CategoryUtils.getCategoryNameMap;
+import static online.strongnation.business.service.implementation.RequestParameterFixer.checkDate;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest(properties = "statistic.verifier.auto-repair=true")
+class StatisticVerifierServiceTest {
+
+    private final String COUNTRY_NAME = "Ukraine";
+    private final String KYIV = "Kyiv";
+    private final String LVIV = "Lviv";
+    private final String FOOD = "food";
+
+    private final CategoryDTO FOOD_CATEGORY = CategoryDTO.builder()
+            .name(FOOD)
+            .number(BigDecimal.valueOf(10.10))
+            .units("kg")
+            .build();
+    private final CategoryDTO STALE_FOOD_CATEGORY = FOOD_CATEGORY.updateNumber(BigDecimal.valueOf(5));
+
+    @Autowired
+    private StatisticVerifierService service;
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @BeforeEach
+    void setUp() {
+        Country country = new Country(CountryDTO.builder()
+                .name(COUNTRY_NAME)
+                .categories(List.of(STALE_FOOD_CATEGORY))
+                .build());
+        country.setRegionsDTO(List.of(
+                RegionDTO.builder().name(KYIV).categories(List.of(STALE_FOOD_CATEGORY)).build(),
+                RegionDTO.builder().name(LVIV).categories(List.of()).build()));
+        countryRepository.save(country);
+        final PostDTO post = PostDTO.builder()
+                .date(checkDate(LocalDateTime.now()))
+                .link("localH0sT")
+                .description("post")
+                .categories(List.of(FOOD_CATEGORY))
+                .build();
+        postService.createAll(List.of(post.toBuilder().region(KYIV).build(),
+                post.toBuilder().region(LVIV).build()), COUNTRY_NAME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        countryRepository.deleteAll();
+    }
+
+    @Test
+    void verifyFindsAndRepairsDrift() {
+        //given
+        final long runsBefore = service.metrics().getRuns();
+        //when
+        StatisticVerificationReport report = service.verify();
+        //then
+        assertThat(report.getRegionsChecked()).isEqualTo(2);
+        assertThat(report.getCountriesChecked()).isEqualTo(1);
+        assertThat(report.getMismatchedRegions()).isEqualTo(1);
+        assertThat(report.getMismatchedCountries()).isEqualTo(0);
+        assertThat(report.getRepaired()).isEqualTo(1);
+        assertThat(report.getDifferences().size()).isEqualTo(1);
+        assertThat(report.getDifferences().get(0).getComputed().compareTo(FOOD_CATEGORY.getNumber())).isEqualTo(0);
+        var kyiv = regionRepository.findRegionDTOInCountryByNamesIgnoringCase(COUNTRY_NAME, KYIV).orElseThrow();
+        var country = countryRepository.findCountryDTOByNameIgnoreCase(COUNTRY_NAME).orElseThrow();
+        assertThat(getCategoryNameMap(kyiv.getCategories()).get(FOOD).getNumber()
+                .compareTo(FOOD_CATEGORY.getNumber())).isEqualTo(0);
+        assertThat(getCategoryNameMap(country.getCategories()).get(FOOD).getNumber()
+                .compareTo(FOOD_CATEGORY.getNumber().multiply(BigDecimal.valueOf(2)))).isEqualTo(0);
+        assertThat(service.metrics().getRuns()).isEqualTo(runsBefore + 1);
+    }
+
+    @Test
+    void verifyFindsCountryDrift() {
+        //given
+        service.verify();//regions are repaired, the country follows them
+        var country = countryRepository.findCountryByNameIgnoreCase(COUNTRY_NAME).orElseThrow();
+        country.setCategoriesDTO(List.of(STALE_FOOD_CATEGORY));
+        countryRepository.save(country);
+        //when
+        StatisticVerificationReport report = service.verify();
+        //then
+        assertThat(report.getMismatchedRegions()).isEqualTo(0);
+        assertThat(report.getMismatchedCountries()).isEqualTo(1);
+        var repaired = countryRepository.findCountryDTOByNameIgnoreCase(COUNTRY_NAME).orElseThrow();
+        assertThat(getCategoryNameMap(repaired.getCategories()).get(FOOD).getNumber()
+                .compareTo(FOOD_CATEGORY.getNumber().multiply(BigDecimal.valueOf(2)))).isEqualTo(0);
+    }
+}
@@ -0,0 +1,85 @@
+package online.strongnation.unit.cache;
+
+import online.strongnation.business.cache.LruTtlCache;
+import online.strongnation.business.cache.LruTtlCache.Tagged;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class LruTtlCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Tagged<String> load(Long tag, String value) {
+        loads.incrementAndGet();
+        return new Tagged<>(tag, value);
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        //given
+        LruTtlCache<String, String> cache = new LruTtlCache<>("test", 2, 1, TimeUnit.MINUTES, now::get);
+        cache.get("a", () -> load(1L, "a"));
+        cache.get("b", () -> load(1L, "b"));
+        cache.get("a", () -> load(1L, "a"));
+        //when
+        cache.get("c", () -> load(1L, "c"));
+        cache.get("a", () -> load(1L, "a"));
+        cache.get("b", () -> load(1L, "b"));
+        //then
+        assertThat(loads.get()).isEqualTo(4);
+        assertThat(cache.hits()).isEqualTo(2L);
+        assertThat(cache.misses()).isEqualTo(4L);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void expiredEntryIsLoadedAgain() {
+        //given
+        LruTtlCache<String, String> cache = new LruTtlCache<>("test", 10, 1, TimeUnit.SECONDS, now::get);
+        cache.get("a", () -> load(1L, "a"));
+        //when
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        cache.get("a", () -> load(1L, "a"));
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        String value = cache.get("a", () -> load(1L, "new a"));
+        //then
+        assertThat(value).isEqualTo("new a");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidationDropsEntriesOfTagAndGlobalEntries() {
+        //given
+        LruTtlCache<String, String> cache = new LruTtlCache<>("test", 10, 1, TimeUnit.MINUTES, now::get);
+        cache.get("first", () -> load(1L, "first"));
+        cache.get("second", () -> load(2L, "second"));
+        cache.get("all", () -> load(null, "all"));
+        //when
+        cache.invalidate(1L);
+        //then
+        assertThat(cache.size()).isEqualTo(1);
+        cache.get("second", () -> load(2L, "second"));
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    void loadOverlappingInvalidationIsNotStored() {
+        //given
+        LruTtlCache<String, String> cache = new LruTtlCache<>("test", 10, 1, TimeUnit.MINUTES, now::get);
+        //when
+        String stale = cache.get("a", () -> {
+            cache.invalidate(1L);//a change is committed while the old value is read
+            return load(1L, "stale");
+        });
+        String fresh = cache.get("a", () -> load(1L, "fresh"));
+        //then
+        assertThat(stale).isEqualTo("stale");
+        assertThat(fresh).isEqualTo("fresh");
+    }
+}
@@ -4,7 +4,6 @@ import online.strongnation.business.exception.CountryNotFoundException;
 import online.strongnation.business.model.dto.CategoryDTO;
 import online.strongnation.business.model.entity.CategoryEntity;
 import online.strongnation.business.model.entity.Country;
-import online.strongnation.business.model.entity.CountryCategory;
 import online.strongnation.business.repository.CountryRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +11,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -28,21 +28,18 @@ public class CountryDataSavingTest {
         Country country = new Country();
         String name = "Ukraine";
         country.setName(name);
-        CountryCategory regionCategory = new CountryCategory();
         CategoryEntity categoryEntity = new CategoryEntity();
         categoryEntity.setNumber(BigDecimal.valueOf(9.f));
         categoryEntity.setName("food");
         categoryEntity.setUnits("kg");
-        regionCategory.setCategoryEntity(categoryEntity);
 
-        country.setCategories(List.of(regionCategory));
+        country.setCategories(Set.of(categoryEntity));
         countryRepository.save(country);
         //when
         Country countrySaved = countryRepository.findCountryByName(name)
                 .orElseThrow(CountryNotFoundException::new);
         List<CategoryDTO> categories = countrySaved
                 .getCategories().stream()
-                .map(CountryCategory::getCategoryEntity)
                 .map(x -> new CategoryDTO(x.getName(), x.getNumber(), x.getUnits()))
                 .toList();
         //then
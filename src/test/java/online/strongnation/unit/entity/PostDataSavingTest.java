@@ -22,12 +22,6 @@ class PostDataSavingTest {
     @Autowired
     private RegionRepository regionRepository;
     @Autowired
-    private CategoryRepository categoryRepository;
-    @Autowired
-    private PostCategoryRepository postCategoryRepository;
-    @Autowired
-    private RegionCategoryRepository regionCategoryRepository;
-    @Autowired
     private PostPhotoRepository postPhotoRepository;
     @Autowired
     private CountryRepository countryRepository;
@@ -92,31 +86,22 @@ class PostDataSavingTest {
         post.setLink(link);
         region.setPosts(List.of(post));
 
-        PostCategory postCategory = new PostCategory();
         CategoryEntity categoryEntity = new CategoryEntity();
         categoryEntity.setNumber(BigDecimal.valueOf(9.f));
         categoryEntity.setName("food");
         categoryEntity.setUnits("kg");
-        postCategory.setCategoryEntity(categoryEntity);
-        post.setCategories(List.of(postCategory));
+        post.setCategories(List.of(categoryEntity));
         countryRepository.save(country);
 
         var postSaved = repository.findAll().get(0);
         assertThat(postSaved.getCategories()).isNotNull();
         assertThat(postSaved.getCategories().size()).isEqualTo(1);
-        PostCategory postCategorySavedInPostCollection = postSaved.getCategories().get(0);
-        assertThat(postCategorySavedInPostCollection).isEqualTo(postCategory);
-
-        CategoryEntity categoryEntity1 = categoryRepository.findAll()
-                .stream().filter(x -> categoryEntity.getName().equals(x.getName()))
-                .findFirst().orElseThrow(IllegalStateException::new);
-        assertThat(categoryEntity).isEqualTo(categoryEntity1);
+        CategoryEntity categorySavedInPostCollection = postSaved.getCategories().get(0);
+        assertThat(categorySavedInPostCollection).isEqualTo(categoryEntity);
 
-        var postCategories = postCategoryRepository.findAll();
-        assertThat(postCategories.isEmpty()).isFalse();
-        assertThat(postCategories.get(0)).isEqualTo(postCategory);
+        assertThat(repository.countCategories()).isEqualTo(1L);
 
-        var regionCategories = regionCategoryRepository.findAll();
+        var regionCategories = regionRepository.findCategoryAmountsByRegionId(postSaved.getRegion().getId());
         assertThat(regionCategories.isEmpty()).isTrue();
     }
 
@@ -3,8 +3,6 @@ package online.strongnation.unit.entity;
 import online.strongnation.business.model.entity.CategoryEntity;
 import online.strongnation.business.model.entity.Country;
 import online.strongnation.business.model.entity.Region;
-import online.strongnation.business.model.entity.RegionCategory;
-import online.strongnation.business.repository.CategoryRepository;
 import online.strongnation.business.repository.CountryRepository;
 import online.strongnation.business.repository.RegionRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -14,6 +12,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -22,8 +21,6 @@ class RegionDataSavingTest {
     @Autowired
     private RegionRepository repository;
     @Autowired
-    private CategoryRepository categoryRepository;
-    @Autowired
     private CountryRepository countryRepository;
 
     @AfterEach
@@ -58,14 +55,12 @@ class RegionDataSavingTest {
         country.setRegions(List.of(region));
         String name = "Rivne";
         region.setName(name);
-        RegionCategory regionCategory = new RegionCategory();
         CategoryEntity categoryEntity = new CategoryEntity();
         categoryEntity.setNumber(BigDecimal.valueOf(9.f));
         categoryEntity.setName("food");
         categoryEntity.setUnits("kg");
-        regionCategory.setCategoryEntity(categoryEntity);
 
-        region.setCategories(List.of(regionCategory));
+        region.setCategories(Set.of(categoryEntity));
         countryRepository.save(country);
 
         List<Region> all = repository.findAll();
@@ -76,15 +71,11 @@ class RegionDataSavingTest {
         assertThat(regionSaved.getCategories()).isNotEqualTo(null);
         assertThat(regionSaved.getCategories().size()).isEqualTo(1);
 
-        var regionCategorySaved = regionSaved.getCategories().get(0);
-
-        assertThat(regionCategorySaved.getCategoryEntity()).isNotEqualTo(null);
-        var savedCategory = regionCategorySaved.getCategoryEntity();
+        var savedCategory = regionSaved.getCategories().iterator().next();
         assertThat(savedCategory).isEqualTo(categoryEntity);
 
-        CategoryEntity categoryEntity1 = categoryRepository.findAll()
-                .stream().filter(x -> categoryEntity.getName().equals(x.getName()))
-                .findFirst().orElseThrow(IllegalStateException::new);
-        assertThat(categoryEntity).isEqualTo(categoryEntity1);
+        var amounts = repository.findCategoryAmountsByRegionId(regionSaved.getId());
+        assertThat(amounts.size()).isEqualTo(1);
+        assertThat(amounts.get(0).keyId()).isEqualTo(categoryEntity.keyId());
     }
 }
\ No newline at end of file
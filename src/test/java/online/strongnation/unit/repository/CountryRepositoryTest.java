@@ -5,7 +5,6 @@ import online.strongnation.business.model.dto.CategoryDTO;
 import online.strongnation.business.model.dto.CountryDTO;
 import online.strongnation.business.model.entity.CategoryEntity;
 import online.strongnation.business.model.entity.Country;
-import online.strongnation.business.model.entity.CountryCategory;
 import online.strongnation.business.repository.CountryRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +13,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -74,11 +74,7 @@ class CountryRepositoryTest {
                 "kg"
         );
         final var categoryDTO = new CategoryDTO(categoryInner);
-        final CountryCategory category =
-                new CountryCategory(
-                        categoryInner
-                );
-        country.setCategories(List.of(category));
+        country.setCategories(Set.of(categoryInner));
         countryRepository.save(country);
         //when
         Optional<CountryDTO> countryDTO = countryRepository.findCountryDTOByNameIgnoreCase(name);
@@ -97,11 +93,7 @@ class CountryRepositoryTest {
                 BigDecimal.valueOf(3f),
                 "kg"
         );
-        final CountryCategory category =
-                new CountryCategory(
-                        categoryInner
-                );
-        country.setCategories(List.of(category));
+        country.setCategories(Set.of(categoryInner));
         countryRepository.save(country);
         final var expected = List.of(new CountryDTO(country));
         //when
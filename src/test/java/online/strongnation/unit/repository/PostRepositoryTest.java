@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -32,7 +33,7 @@ class PostRepositoryTest {
         final String heading = "first post some heading";
         final String link = "localH0sT";
         final PostDTO post = PostDTO.builder()
-                .date(LocalDateTime.now())
+                .date(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS))
                 .link(link)
                 .description(heading)
                 .important(false)
@@ -56,7 +57,7 @@ class PostRepositoryTest {
         final String heading = "first post some heading";
         final String link = "localH0sT";
         final PostDTO post = PostDTO.builder()
-                .date(LocalDateTime.now())
+                .date(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS))
                 .link(link)
                 .description(heading)
                 .important(false)
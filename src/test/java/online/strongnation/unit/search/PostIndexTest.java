@@ -0,0 +1,82 @@
+package online.strongnation.unit.search;
+
+import online.strongnation.business.search.IndexedPost;
+import online.strongnation.business.search.PostIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class PostIndexTest {
+
+    private final LocalDateTime DATE = LocalDateTime.of(2022, 5, 1, 12, 0);
+    private final PostIndex.Filter ANY = new PostIndex.Filter(null, null, null, null);
+
+    private List<Long> ids(List<PostIndex.Hit> hits) {
+        return hits.stream().map(PostIndex.Hit::id).toList();
+    }
+
+    @Test
+    void termsAreLowerCaseWordsAndNumbers() {
+        //given
+        final String text = "Drones, 25 кг of FOOD-supplies; a x";
+        //when
+        List<String> terms = PostIndex.terms(text);
+        //then
+        assertThat(terms).isEqualTo(List.of("drones", "25", "кг", "of", "food", "supplies"));
+    }
+
+    @Test
+    void postsWithMoreMatchesAndRarerTermsAreRankedFirst() {
+        //given
+        PostIndex index = new PostIndex();
+        index.put(new IndexedPost(1L, "food for the army", DATE, 1L, 1L));
+        index.put(new IndexedPost(2L, "food and drones, drones for the army", DATE, 1L, 1L));
+        index.put(new IndexedPost(3L, "warm clothes", DATE, 1L, 1L));
+        index.put(new IndexedPost(4L, "food", DATE.minusDays(1), 1L, 1L));
+        //when
+        List<PostIndex.Hit> hits = index.search(List.of("drones", "food"), ANY, 10);
+        List<PostIndex.Hit> best = index.search(List.of("drones", "food"), ANY, 1);
+        //then
+        assertThat(ids(hits)).isEqualTo(List.of(2L, 4L, 1L));
+        assertThat(ids(best)).isEqualTo(List.of(2L));
+    }
+
+    @Test
+    void filterAndRemovalAreApplied() {
+        //given
+        PostIndex index = new PostIndex();
+        index.put(new IndexedPost(1L, "food", DATE, 1L, 1L));
+        index.put(new IndexedPost(2L, "food", DATE.minusDays(10), 2L, 1L));
+        index.put(new IndexedPost(3L, "food", DATE, 3L, 2L));
+        index.put(new IndexedPost(4L, "food", DATE, 1L, 1L));
+        //when
+        index.remove(4L);
+        List<PostIndex.Hit> ofCountry = index.search(List.of("food"), new PostIndex.Filter(1L, null, null, null), 10);
+        List<PostIndex.Hit> ofRegion = index.search(List.of("food"), new PostIndex.Filter(1L, 2L, null, null), 10);
+        List<PostIndex.Hit> ofRange = index.search(List.of("food"),
+                new PostIndex.Filter(1L, null, DATE.minusDays(1), DATE.plusDays(1)), 10);
+        index.removeAll(new PostIndex.Filter(1L, null, null, null));
+        //then
+        assertThat(ids(ofCountry)).isEqualTo(List.of(1L, 2L));
+        assertThat(ids(ofRegion)).isEqualTo(List.of(2L));
+        assertThat(ids(ofRange)).isEqualTo(List.of(1L));
+        assertThat(ids(index.search(List.of("food"), ANY, 10))).isEqualTo(List.of(3L));
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void updatedPostReplacesItsTerms() {
+        //given
+        PostIndex index = new PostIndex();
+        index.put(new IndexedPost(1L, "food", DATE, 1L, 1L));
+        //when
+        index.put(new IndexedPost(1L, "drones", DATE, 1L, 1L));
+        //then
+        assertThat(index.search(List.of("food"), ANY, 10).isEmpty()).isTrue();
+        assertThat(ids(index.search(List.of("drones"), ANY, 10))).isEqualTo(List.of(1L));
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
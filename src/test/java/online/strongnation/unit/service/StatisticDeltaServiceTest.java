@@ -0,0 +1,118 @@
+package online.strongnation.unit.service;
+
+import online.strongnation.business.exception.IllegalStatisticException;
+import online.strongnation.business.model.dto.CategoryDTO;
+import online.strongnation.business.model.dto.PostDTO;
+import online.strongnation.business.model.entity.Country;
+import online.strongnation.business.model.entity.Region;
+import online.strongnation.business.model.statistic.CategoryKey;
+import online.strongnation.business.model.statistic.Cents;
+import online.strongnation.business.model.statistic.StatisticDelta;
+import online.strongnation.business.model.statistic.StatisticEntity;
+import online.strongnation.business.service.StatisticDeltaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@SpringBootTest
+class StatisticDeltaServiceTest {
+
+    @Autowired
+    private StatisticDeltaService service;
+
+    private final String FOOD = "food";
+    private final BigDecimal NUMBER_OF_FOOD = BigDecimal.valueOf(10.10);
+    private final String FOOD_UNITS = "kg";
+
+    private final String CARS = "car";
+    private final BigDecimal NUMBER_OF_CARS = BigDecimal.valueOf(50);
+
+    private final String WATER = "water";
+    private final BigDecimal NUMBER_OF_WATER = BigDecimal.valueOf(50.25);
+    private final String WATER_UNITS = "liter";
+
+    private final CategoryDTO FOOD_CATEGORY = CategoryDTO.builder()
+            .name(FOOD)
+            .number(NUMBER_OF_FOOD)
+            .units(FOOD_UNITS)
+            .build();
+
+    private final CategoryDTO CARS_CATEGORY = CategoryDTO.builder()
+            .name(CARS)
+            .number(NUMBER_OF_CARS)
+            .build();
+
+    private final CategoryDTO WATER_CATEGORY = CategoryDTO.builder()
+            .name(WATER)
+            .number(NUMBER_OF_WATER)
+            .units(WATER_UNITS)
+            .build();
+
+    @Test
+    void ofUpdatedChildKeepsOnlyChangedCategories() {
+        //given
+        PostDTO old = PostDTO.builder().categories(List.of(FOOD_CATEGORY, CARS_CATEGORY)).build();
+        PostDTO updated = PostDTO.builder().categories(List.of(FOOD_CATEGORY,
+                CARS_CATEGORY.updateNumber(NUMBER_OF_CARS.add(BigDecimal.TEN)), WATER_CATEGORY)).build();
+        //when
+        StatisticDelta delta = service.ofUpdatedChild(old, updated);
+        //then
+        assertThat(delta.size()).isEqualTo(2);
+        assertThat(delta.cents(CategoryKey.of(CARS_CATEGORY))).isEqualTo(Cents.of(BigDecimal.TEN));
+        assertThat(delta.cents(CategoryKey.of(WATER_CATEGORY))).isEqualTo(Cents.of(NUMBER_OF_WATER));
+        assertThat(delta.cents(CategoryKey.of(FOOD_CATEGORY))).isEqualTo(0L);
+    }
+
+    @Test
+    void applyToChain() {
+        //given
+        Region region = new Region("Warsaw");
+        region.setCategoriesDTO(List.of(FOOD_CATEGORY, CARS_CATEGORY));
+        Country country = new Country("Poland");
+        country.setCategoriesDTO(List.of(FOOD_CATEGORY.updateNumber(NUMBER_OF_FOOD.multiply(BigDecimal.TEN)),
+                CARS_CATEGORY));
+        PostDTO deleted = PostDTO.builder().categories(List.of(CARS_CATEGORY, FOOD_CATEGORY)).build();
+        PostDTO created = PostDTO.builder().categories(List.of(WATER_CATEGORY)).build();
+        StatisticDelta delta = service.ofDeletedChild(deleted).merge(service.ofNewChild(created));
+        //when
+        service.apply(delta, region, country);
+        //then
+        assertThat(categoriesOf(region)).isEqualTo(List.of(WATER_CATEGORY));
+        assertThat(categoriesOf(country)).isEqualTo(List.of(
+                FOOD_CATEGORY.updateNumber(NUMBER_OF_FOOD.multiply(BigDecimal.valueOf(9))), WATER_CATEGORY));
+    }
+
+    @Test
+    void overflowIsDetected() {
+        //given
+        CategoryKey key = CategoryKey.of(CARS_CATEGORY);
+        StatisticDelta delta = StatisticDelta.empty().add(key, Long.MAX_VALUE);
+        //when
+        //then
+        assertThatThrownBy(() -> delta.add(key, 1L)).isInstanceOf(IllegalStatisticException.class);
+        assertThatThrownBy(() -> Cents.of(BigDecimal.TEN.pow(30))).isInstanceOf(IllegalStatisticException.class);
+        assertThat(delta.cents(key)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void centsRoundTrip() {
+        //given
+        BigDecimal number = new BigDecimal("12345.675");
+        //when
+        long cents = Cents.of(number);
+        //then
+        assertThat(cents).isEqualTo(1234568L);
+        assertThat(Cents.toBigDecimal(cents).compareTo(new BigDecimal("12345.68"))).isEqualTo(0);
+    }
+
+    private List<CategoryDTO> categoriesOf(StatisticEntity entity) {
+        return entity.getCategories().stream().map(CategoryDTO::new)
+                .toList();
+    }
+}
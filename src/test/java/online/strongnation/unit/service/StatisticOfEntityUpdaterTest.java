@@ -2,7 +2,8 @@ package online.strongnation.unit.service;
 
 import online.strongnation.business.model.dto.CategoryDTO;
 import online.strongnation.business.model.entity.Country;
-import online.strongnation.business.model.statistic.CategoryHolder;
+import online.strongnation.business.model.statistic.CategoryKey;
+import online.strongnation.business.model.statistic.StatisticDelta;
 import online.strongnation.business.model.statistic.StatisticResult;
 import online.strongnation.business.service.StatisticOfEntityUpdater;
 import org.junit.jupiter.api.Test;
@@ -64,11 +65,27 @@ class StatisticOfEntityUpdaterTest {
         //when
         service.update(country, statistic);
         //then
-        var categories = country.getCategories().stream().map(CategoryHolder::getCategoryEntity)
-                .map(CategoryDTO::new).toList();
+        var categories = country.getCategories().stream().map(CategoryDTO::new).toList();
         assertThat(categories.contains(UPDATED_CARS_CATEGORY)).isTrue();
         assertThat(categories.contains(CARS_CATEGORY)).isFalse();
         assertThat(categories.contains(WATER_CATEGORY)).isTrue();
         assertThat(categories.contains(FOOD_CATEGORY)).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateByDelta() {
+        //given
+        Country country = new Country("usa");
+        country.setCategoriesDTO(List.of(FOOD_CATEGORY, CARS_CATEGORY));
+        StatisticDelta delta = StatisticDelta.of(List.of(WATER_CATEGORY, CARS_CATEGORY))
+                .subtract(FOOD_CATEGORY);
+        //when
+        service.update(country, delta);
+        //then
+        var categories = country.getCategories().stream().map(CategoryDTO::new).toList();
+        assertThat(categories.size()).isEqualTo(2);
+        assertThat(categories.contains(UPDATED_CARS_CATEGORY)).isTrue();
+        assertThat(categories.contains(WATER_CATEGORY)).isTrue();
+        assertThat(country.getCategory(CategoryKey.of(FOOD_CATEGORY))).isNull();
+    }
+}
@@ -0,0 +1,97 @@
+package online.strongnation.unit.statistic;
+
+import online.strongnation.business.model.dto.CategoryDTO;
+import online.strongnation.business.model.entity.CategoryEntity;
+import online.strongnation.business.model.statistic.CategoryDictionary;
+import online.strongnation.business.model.statistic.CategoryKey;
+import online.strongnation.business.model.statistic.IntLongHashMap;
+import online.strongnation.business.model.statistic.StatisticDelta;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class IntLongHashMapTest {
+
+    @Test
+    void behavesLikeHashMap() {
+        //given
+        IntLongHashMap map = new IntLongHashMap(2);
+        Map<Integer, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            int key = 1 + random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key, -1L)).isEqualTo(expected.getOrDefault(key, -1L));
+                expected.remove(key);
+            } else {
+                map.put(key, i);
+                expected.put(key, (long) i);
+            }
+        }
+        //then
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (int key = 1; key <= 300; key++) {
+            assertThat(map.get(key, -1L)).isEqualTo(expected.getOrDefault(key, -1L));
+        }
+    }
+
+    @Test
+    void iteratesInInsertionOrder() {
+        //given
+        IntLongHashMap map = new IntLongHashMap();
+        int[] keys = {17, 3, 250, 9, 1, 64, 33, 2, 100, 7};
+        for (int key : keys) {
+            map.put(key, key * 10L);
+        }
+        map.remove(250, 0L);
+        map.remove(1, 0L);
+        //when
+        List<Integer> actual = new ArrayList<>();
+        map.forEach((key, value) -> {
+            assertThat(value).isEqualTo(key * 10L);
+            actual.add(key);
+        });
+        //then
+        assertThat(actual).isEqualTo(List.of(17, 3, 9, 64, 33, 2, 100, 7));
+    }
+
+    @Test
+    void categoryDictionaryInternsNameAndUnits() {
+        //given
+        CategoryDTO dto = new CategoryDTO("dictionary food", BigDecimal.ONE, "kg");
+        CategoryEntity entity = new CategoryEntity("dictionary food", BigDecimal.TEN, "kg");
+        CategoryDTO withoutUnits = new CategoryDTO("dictionary food", BigDecimal.ONE, null);
+        //when
+        int id = dto.keyId();
+        //then
+        assertThat(entity.keyId()).isEqualTo(id);
+        assertThat(withoutUnits.keyId()).isNotEqualTo(id);
+        assertThat(CategoryDictionary.keyOf(id).name()).isEqualTo("dictionary food");
+        entity.setUnits(null);
+        assertThat(entity.keyId()).isEqualTo(withoutUnits.keyId());
+    }
+
+    @Test
+    void lookupsOfCategoriesDoNotIntern() {
+        //given
+        CategoryKey key = new CategoryKey("never summed", "kg");
+        int size = CategoryDictionary.size();
+        //when
+        long cents = StatisticDelta.empty().cents(key);
+        //then
+        assertThat(cents).isEqualTo(0L);
+        assertThat(CategoryDictionary.find(key)).isEqualTo(CategoryDictionary.NONE);
+        assertThat(CategoryDictionary.size()).isEqualTo(size);
+        assertThat(new CategoryEntity("never summed", BigDecimal.ONE, "kg"))
+                .isEqualTo(new CategoryEntity("never summed", BigDecimal.TEN, "kg"));
+        assertThat(CategoryDictionary.size()).isEqualTo(size);
+    }
+}